@@ -3,13 +3,18 @@ package com.ecom.addressbook;
 import com.ecom.jwt.config.JwtValidationProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+// R2DBC is only used by the opt-in reactive read path, which builds its own pool (ReactiveConfig).
+// Auto-configured, it would require a URL and add a second (reactive) transaction manager
+// next to the JPA one.
+@SpringBootApplication(exclude = {R2dbcAutoConfiguration.class, R2dbcTransactionManagerAutoConfiguration.class})
 @EnableJpaAuditing
-@EnableScheduling // For JWKS cache refresh (required by jwt-validation-starter)
+@EnableScheduling // For JWKS cache refresh (required by jwt-validation-starter) and AddressArchiver
 @EnableConfigurationProperties(JwtValidationProperties.class)
 public class AddressBookApplication {
 
@@ -0,0 +1,66 @@
+package com.ecom.addressbook.cache;
+
+import com.ecom.addressbook.model.response.AddressResponse;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache for per-user address books
+ *
+ * <p>Implementations are selected in {@link com.ecom.addressbook.config.CacheConfig}.
+ * Callers never populate the cache directly: on a miss the supplied loader is
+ * invoked and its result is stored.
+ *
+ * <p>Every address book has a monotonic version that changes whenever the book is
+ * invalidated. It backs ETag / If-None-Match handling in the controller.
+ */
+public interface AddressBookCache {
+
+    /**
+     * Version reported when no consistent version is available (cache disabled,
+     * Redis unreachable). Conditional requests are not answered in that case.
+     */
+    long UNVERSIONED = 0L;
+
+    /**
+     * Get the cached address list for a key, loading it on a miss
+     *
+     * @param key Cache key (tenant, user, includeDeleted)
+     * @param loader Loads the address list from the database on a miss
+     * @return Unmodifiable list of addresses with the book version it was loaded at
+     */
+    Versioned<List<AddressResponse>> getAddresses(AddressBookCacheKey key, Supplier<List<AddressResponse>> loader);
+
+    /**
+     * Get the cached default address of a user, loading it on a miss
+     *
+     * <p>"No default address" is cached as well, so users without one do not
+     * hit the database on every checkout.
+     *
+     * @param tenantId Tenant ID
+     * @param userId Owner of the address book
+     * @param loader Loads the default address from the database on a miss
+     * @return Default address, or empty if the user has none
+     */
+    Optional<AddressResponse> getDefaultAddress(UUID tenantId, UUID userId, Supplier<Optional<AddressResponse>> loader);
+
+    /**
+     * Get the current version of a user's address book without loading it
+     *
+     * @param tenantId Tenant ID
+     * @param userId Owner of the address book
+     * @return Current version, or {@link #UNVERSIONED}
+     */
+    long getVersion(UUID tenantId, UUID userId);
+
+    /**
+     * Drop every cached view of a user's address book and advance its version
+     *
+     * @param tenantId Tenant ID
+     * @param userId Owner of the address book
+     */
+    void invalidate(UUID tenantId, UUID userId);
+}
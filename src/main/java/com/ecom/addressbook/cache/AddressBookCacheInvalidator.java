@@ -0,0 +1,86 @@
+package com.ecom.addressbook.cache;
+
+import com.ecom.addressbook.config.ReplicaDataSourceProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Invalidates cached address books when they are written
+ *
+ * <p>Invalidation also advances the address book version, so clients holding an
+ * ETag for the old state get a full response on their next conditional GET.
+ *
+ * <p>Invalidation is deferred until the surrounding transaction commits. Evicting
+ * earlier would let a concurrent reader re-populate the cache from the
+ * not-yet-committed (old) state; evicting on rollback would be wasted work.
+ *
+ * <p>With a read replica, a reader that misses right after the commit can load the
+ * pre-write state from a replica that has not replayed the write yet and cache it.
+ * Each invalidation is therefore repeated once the maximum tolerated replica lag has
+ * passed; by then any replica still serving reads has replayed the write. Until
+ * then a refilled entry can still be stale, so requests carrying a consistency token
+ * bypass the caches altogether (see AddressServiceImpl) instead of trusting them.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AddressBookCacheInvalidator {
+
+    private final AddressBookCache addressBookCache;
+    private final AddressNotFoundCache addressNotFoundCache;
+    private final ReplicaDataSourceProperties replicaProperties;
+    private final TaskScheduler taskScheduler;
+
+    /**
+     * Invalidate a user's address book once the current transaction commits
+     * (immediately if no transaction is active)
+     *
+     * @param tenantId Tenant ID
+     * @param userId Owner of the address book
+     */
+    public void invalidateAfterCommit(UUID tenantId, UUID userId) {
+        afterCommit(() -> {
+            log.debug("Invalidating cached address book for user: {}, tenant: {}", userId, tenantId);
+            addressBookCache.invalidate(tenantId, userId);
+        });
+    }
+
+    /**
+     * Drop a negative (not-found) cache entry once the current transaction commits,
+     * because the address ID now resolves to an active address
+     *
+     * @param tenantId Tenant ID of the address
+     * @param addressId Address ID that was created or restored
+     */
+    public void forgetNotFoundAfterCommit(UUID tenantId, UUID addressId) {
+        afterCommit(() -> addressNotFoundCache.forget(tenantId, addressId));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            runNowAndAfterReplicaLag(action);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                runNowAndAfterReplicaLag(action);
+            }
+        });
+    }
+
+    private void runNowAndAfterReplicaLag(Runnable action) {
+        action.run();
+        if (replicaProperties.isEnabled()) {
+            taskScheduler.schedule(action, Instant.now().plus(replicaProperties.getMaxLag()));
+        }
+    }
+}
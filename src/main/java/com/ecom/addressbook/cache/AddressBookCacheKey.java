@@ -0,0 +1,27 @@
+package com.ecom.addressbook.cache;
+
+import java.util.UUID;
+
+/**
+ * Cache key for a user's address book
+ *
+ * <p>Active-only and include-deleted views are cached separately because they
+ * come from different queries and are visible to different roles.
+ */
+public record AddressBookCacheKey(
+    /**
+     * Tenant ID the address book belongs to
+     */
+    UUID tenantId,
+
+    /**
+     * Owner of the address book
+     */
+    UUID userId,
+
+    /**
+     * Whether soft-deleted addresses are part of the cached view
+     */
+    boolean includeDeleted
+) {
+}
@@ -0,0 +1,120 @@
+package com.ecom.addressbook.cache;
+
+import com.ecom.addressbook.model.response.AddressResponse;
+import com.ecom.response.dto.ApiResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Cache of encoded GET /api/v1/address response bodies
+ *
+ * <p>Serializing {@code ApiResponse<List<AddressResponse>>} is a large share of the
+ * CPU spent on hot list reads. The UTF-8 JSON body is encoded once per address book
+ * version and the same bytes are written out for every later request, skipping
+ * Jackson and its per-request buffers.
+ *
+ * <p>Entries are keyed by (address book key, version). A write advances the version,
+ * so stale bodies are never looked up again and simply age out; no invalidation is
+ * needed. Unversioned books (caching disabled) are encoded on every request.
+ *
+ * <p>Bounded by total encoded size rather than entry count, because an address book
+ * body ranges from a few hundred bytes to tens of kilobytes.
+ *
+ * <p>Metrics: address.cache.gets{cache=address-book-response, tier=l1, result=hit|miss}.
+ */
+public class AddressBookResponseCache {
+
+    private static final String CACHE_NAME = "address-book-response";
+    private static final String TIER = "l1";
+
+    private final ObjectMapper objectMapper;
+    private final Cache<Key, byte[]> bodies;
+    private final Counter hits;
+    private final Counter misses;
+
+    /**
+     * @param objectMapper The application ObjectMapper, so cached bodies match what the
+     *                     message converters would have written
+     */
+    public AddressBookResponseCache(ObjectMapper objectMapper, Duration ttl, long maximumBytes, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.bodies = Caffeine.newBuilder()
+            .maximumWeight(maximumBytes)
+            .weigher((Key key, byte[] body) -> body.length)
+            .expireAfterWrite(ttl)
+            .build();
+        this.hits = counter("hit", meterRegistry);
+        this.misses = counter("miss", meterRegistry);
+    }
+
+    /**
+     * Encoded response body for an address book at the version it was loaded at
+     *
+     * @param key Address book the list belongs to
+     * @param book Address list and its version
+     * @param message ApiResponse message (constant per endpoint)
+     * @return UTF-8 JSON of {@code ApiResponse.success(book.value(), message)}
+     */
+    public byte[] getBody(AddressBookCacheKey key, Versioned<List<AddressResponse>> book, String message) {
+        if (!book.hasVersion()) {
+            return encode(book.value(), message);
+        }
+
+        AtomicBoolean encoded = new AtomicBoolean(false);
+        byte[] body = bodies.get(new Key(key, book.version()), k -> {
+            encoded.set(true);
+            return encode(book.value(), message);
+        });
+        (encoded.get() ? misses : hits).increment();
+        return body;
+    }
+
+    /**
+     * Encoded response body for an address book version, if already cached
+     *
+     * <p>Lets a caller that loads the list itself (the reactive read path) skip the
+     * query on a hit; on a miss it loads the list and calls {@link #getBody}.
+     *
+     * @param key Address book the list belongs to
+     * @param version Current address book version
+     * @return Cached body, or null if absent or the book is unversioned
+     */
+    public byte[] getBodyIfPresent(AddressBookCacheKey key, long version) {
+        if (version == AddressBookCache.UNVERSIONED) {
+            return null;
+        }
+        byte[] body = bodies.getIfPresent(new Key(key, version));
+        if (body != null) {
+            hits.increment();
+        }
+        return body;
+    }
+
+    private byte[] encode(List<AddressResponse> addresses, String message) {
+        try {
+            return objectMapper.writeValueAsBytes(ApiResponse.success(addresses, message));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Failed to encode address book response", e);
+        }
+    }
+
+    private static Counter counter(String result, MeterRegistry meterRegistry) {
+        return Counter.builder("address.cache.gets")
+            .tag("cache", CACHE_NAME)
+            .tag("tier", TIER)
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    private record Key(AddressBookCacheKey book, long version) {
+    }
+}
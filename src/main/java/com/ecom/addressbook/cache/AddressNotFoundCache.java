@@ -0,0 +1,183 @@
+package com.ecom.addressbook.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Short-lived negative cache for address IDs that resolved to ADDRESS_NOT_FOUND
+ *
+ * <p>Stale links and bots repeatedly request IDs that do not exist, are soft-deleted or
+ * belong to another tenant. Entries are keyed by (tenant, ID), because lookups are
+ * tenant-qualified: a miss in one tenant says nothing about the others.
+ * Remembering the miss for a few seconds lets getAddressById reject them without a
+ * database round-trip. Only the active-address lookup is covered; admin
+ * includeDeleted lookups always go to the database.
+ *
+ * <p>Entries live in a local Caffeine cache and, optionally, in Redis
+ * ({@code address-book:missing:{tenantId}:{id}}) so that one node's miss protects the others.
+ * When an ID becomes visible again it is forgotten locally, in Redis and, via
+ * pub/sub, on every other node.
+ *
+ * <p>Metrics: address.cache.gets{cache=address-not-found, tier=l1|l2, result=hit|miss}.
+ * Hits are database lookups absorbed by the cache.
+ */
+@Slf4j
+public class AddressNotFoundCache implements MessageListener {
+
+    private static final String CACHE_NAME = "address-not-found";
+    private static final String KEY_PREFIX = "address-book:missing:";
+
+    private final boolean enabled;
+    private final Cache<Key, Boolean> local;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final Duration ttl;
+    private final String channel;
+    private final Counter localHits;
+    private final Counter sharedHits;
+    private final Counter misses;
+
+    /**
+     * @param redisTemplate Redis tier, or null for a local-only negative cache
+     */
+    public AddressNotFoundCache(
+            boolean enabled,
+            Duration ttl,
+            long maximumSize,
+            @Nullable RedisTemplate<String, String> redisTemplate,
+            String channel,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.local = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(ttl)
+            .build();
+        this.redisTemplate = redisTemplate;
+        this.ttl = ttl;
+        this.channel = channel;
+        this.localHits = counter("l1", "hit", meterRegistry);
+        this.sharedHits = counter("l2", "hit", meterRegistry);
+        this.misses = counter(redisTemplate != null ? "l2" : "l1", "miss", meterRegistry);
+    }
+
+    /**
+     * Check whether an ID recently resolved to ADDRESS_NOT_FOUND within a tenant
+     */
+    public boolean isKnownMissing(UUID tenantId, UUID addressId) {
+        if (!enabled) {
+            return false;
+        }
+
+        Key key = new Key(tenantId, addressId);
+        if (local.getIfPresent(key) != null) {
+            localHits.increment();
+            return true;
+        }
+
+        if (redisTemplate != null) {
+            try {
+                if (Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX + key))) {
+                    local.put(key, Boolean.TRUE);
+                    sharedHits.increment();
+                    return true;
+                }
+            } catch (Exception e) {
+                log.warn("Negative cache read failed for address {}: {}", addressId, e.getMessage());
+            }
+        }
+
+        misses.increment();
+        return false;
+    }
+
+    /**
+     * Remember that an ID resolved to ADDRESS_NOT_FOUND within a tenant
+     */
+    public void markMissing(UUID tenantId, UUID addressId) {
+        if (!enabled) {
+            return;
+        }
+
+        Key key = new Key(tenantId, addressId);
+        local.put(key, Boolean.TRUE);
+        if (redisTemplate != null) {
+            try {
+                redisTemplate.opsForValue().set(KEY_PREFIX + key, "1", ttl);
+            } catch (Exception e) {
+                log.warn("Negative cache write failed for address {}: {}", addressId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Forget an ID everywhere because it now resolves to an active address of the tenant
+     */
+    public void forget(UUID tenantId, UUID addressId) {
+        if (!enabled) {
+            return;
+        }
+
+        Key key = new Key(tenantId, addressId);
+        local.invalidate(key);
+        if (redisTemplate != null) {
+            try {
+                redisTemplate.delete(KEY_PREFIX + key);
+                redisTemplate.convertAndSend(channel, key.toString());
+            } catch (Exception e) {
+                // Entry expires after the (short) TTL at the latest
+                log.warn("Negative cache invalidation failed for address {}: {}", addressId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Handle a forget published by any node (local tier only)
+     */
+    @Override
+    public void onMessage(@NonNull Message message, @Nullable byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            local.invalidate(Key.parse(body));
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed negative cache invalidation message: {}", body);
+        }
+    }
+
+    private static Counter counter(String tier, String result, MeterRegistry meterRegistry) {
+        return Counter.builder("address.cache.gets")
+            .tag("cache", CACHE_NAME)
+            .tag("tier", tier)
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    /**
+     * (tenant, address ID); {@code toString()} is the Redis key suffix and pub/sub message
+     */
+    private record Key(UUID tenantId, UUID addressId) {
+
+        static Key parse(String value) {
+            int separator = value.indexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Missing tenant: " + value);
+            }
+            return new Key(UUID.fromString(value.substring(0, separator)), UUID.fromString(value.substring(separator + 1)));
+        }
+
+        @Override
+        public String toString() {
+            return tenantId + ":" + addressId;
+        }
+    }
+}
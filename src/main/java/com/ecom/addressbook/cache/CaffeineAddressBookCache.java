@@ -0,0 +1,226 @@
+package com.ecom.addressbook.cache;
+
+import com.ecom.addressbook.model.response.AddressResponse;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * In-process address book cache backed by Caffeine
+ *
+ * <p>Entries are bounded by size and expire after write, so a missed invalidation
+ * can never serve stale data for longer than the configured TTL.
+ *
+ * <p>Misses are single-flight: the first reader of a missing key publishes an
+ * in-flight future and runs the load on its own thread (inside its own transaction);
+ * concurrent readers of the same key (tenant, user, includeDeleted) join that future
+ * instead of issuing the same query. A failed load is not cached, and every joined
+ * reader gets the same exception. An invalidation that races with a load removes the
+ * in-flight future, so its (possibly pre-write) result is handed to the readers
+ * already waiting but never cached.
+ *
+ * <p>Used on its own for single-node deployments (versions are then kept in this
+ * JVM), or as the L1 tier of {@link TwoTierAddressBookCache} in front of a shared
+ * tier that owns the versions.
+ *
+ * <p>Metrics (visible under /actuator/metrics):
+ * <ul>
+ *   <li>address.cache.gets{cache=address-book, tier=l1, result=hit|miss|coalesced} -
+ *       coalesced reads joined an in-flight load</li>
+ *   <li>address.cache.coalescing.ratio{cache=address-book, tier=l1} - coalesced / (miss + coalesced)</li>
+ *   <li>address.cache.evictions{cache=address-book, tier=l1} - size/TTL evictions</li>
+ *   <li>address.cache.invalidations{cache=address-book, tier=l1} - write-driven removals</li>
+ * </ul>
+ */
+public class CaffeineAddressBookCache implements AddressBookCache {
+
+    static final String CACHE_NAME = "address-book";
+    private static final String TIER = "l1";
+
+    private final AddressBookCache next;
+    private final AsyncCache<AddressBookCacheKey, Versioned<List<AddressResponse>>> addresses;
+    private final AsyncCache<AddressBookCacheKey, Optional<AddressResponse>> defaultAddresses;
+    private final Cache<AddressBookCacheKey, Long> versions;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter coalesced;
+    private final Counter invalidations;
+
+    /**
+     * Single-node cache; versions are tracked in this JVM
+     */
+    public CaffeineAddressBookCache(Duration ttl, long maximumSize, MeterRegistry meterRegistry) {
+        this(ttl, maximumSize, meterRegistry, new LocalVersions(maximumSize));
+    }
+
+    /**
+     * L1 cache in front of another tier; misses, versions and invalidations are delegated to it
+     */
+    public CaffeineAddressBookCache(Duration ttl, long maximumSize, MeterRegistry meterRegistry, AddressBookCache next) {
+        this.next = next;
+        Counter evictions = Counter.builder("address.cache.evictions")
+            .tag("cache", CACHE_NAME)
+            .tag("tier", TIER)
+            .register(meterRegistry);
+        this.addresses = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(ttl)
+            .evictionListener((key, value, cause) -> evictions.increment())
+            .buildAsync();
+        this.defaultAddresses = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(ttl)
+            .evictionListener((key, value, cause) -> evictions.increment())
+            .buildAsync();
+        this.versions = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(ttl)
+            .build();
+        this.hits = Counter.builder("address.cache.gets")
+            .tag("cache", CACHE_NAME)
+            .tag("tier", TIER)
+            .tag("result", "hit")
+            .register(meterRegistry);
+        this.misses = Counter.builder("address.cache.gets")
+            .tag("cache", CACHE_NAME)
+            .tag("tier", TIER)
+            .tag("result", "miss")
+            .register(meterRegistry);
+        this.coalesced = Counter.builder("address.cache.gets")
+            .tag("cache", CACHE_NAME)
+            .tag("tier", TIER)
+            .tag("result", "coalesced")
+            .register(meterRegistry);
+        Gauge.builder("address.cache.coalescing.ratio", this, CaffeineAddressBookCache::coalescingRatio)
+            .tag("cache", CACHE_NAME)
+            .tag("tier", TIER)
+            .register(meterRegistry);
+        this.invalidations = Counter.builder("address.cache.invalidations")
+            .tag("cache", CACHE_NAME)
+            .tag("tier", TIER)
+            .register(meterRegistry);
+    }
+
+    @Override
+    public Versioned<List<AddressResponse>> getAddresses(AddressBookCacheKey key, Supplier<List<AddressResponse>> loader) {
+        return readThrough(addresses, key, () -> {
+            Versioned<List<AddressResponse>> loaded = next.getAddresses(key, loader);
+            return new Versioned<>(loaded.version(), List.copyOf(loaded.value()));
+        });
+    }
+
+    @Override
+    public Optional<AddressResponse> getDefaultAddress(UUID tenantId, UUID userId, Supplier<Optional<AddressResponse>> loader) {
+        return readThrough(defaultAddresses, new AddressBookCacheKey(tenantId, userId, false),
+            () -> next.getDefaultAddress(tenantId, userId, loader));
+    }
+
+    @Override
+    public long getVersion(UUID tenantId, UUID userId) {
+        return versions.get(new AddressBookCacheKey(tenantId, userId, false), k -> next.getVersion(tenantId, userId));
+    }
+
+    @Override
+    public void invalidate(UUID tenantId, UUID userId) {
+        next.invalidate(tenantId, userId);
+        invalidateLocal(tenantId, userId);
+    }
+
+    /**
+     * Drop this JVM's entries for a user's address book without touching the next tier
+     * (used when another node already invalidated the shared tier)
+     */
+    public void invalidateLocal(UUID tenantId, UUID userId) {
+        AddressBookCacheKey activeKey = new AddressBookCacheKey(tenantId, userId, false);
+        addresses.synchronous().invalidate(activeKey);
+        addresses.synchronous().invalidate(new AddressBookCacheKey(tenantId, userId, true));
+        defaultAddresses.synchronous().invalidate(activeKey);
+        versions.invalidate(activeKey);
+        invalidations.increment();
+    }
+
+    private <V> V readThrough(AsyncCache<AddressBookCacheKey, V> cache, AddressBookCacheKey key, Supplier<V> loader) {
+        CompletableFuture<V> existing = cache.getIfPresent(key);
+        if (existing == null) {
+            CompletableFuture<V> flight = new CompletableFuture<>();
+            existing = cache.asMap().putIfAbsent(key, flight);
+            if (existing == null) {
+                // This reader leads: load on the calling thread, then release the followers
+                misses.increment();
+                try {
+                    V value = loader.get();
+                    flight.complete(value);
+                    return value;
+                } catch (RuntimeException | Error e) {
+                    // Failed futures are dropped by Caffeine, so the next reader retries
+                    flight.completeExceptionally(e);
+                    throw e;
+                }
+            }
+        }
+
+        (existing.isDone() ? hits : coalesced).increment();
+        try {
+            return existing.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private double coalescingRatio() {
+        double loads = misses.count() + coalesced.count();
+        return loads == 0 ? 0 : coalesced.count() / loads;
+    }
+
+    /**
+     * Terminal tier for single-node deployments: loads straight from the database
+     * and keeps versions in memory. An evicted version is re-created from
+     * {@link VersionClock}, so it still moves forward.
+     */
+    private static final class LocalVersions implements AddressBookCache {
+
+        private final Cache<AddressBookCacheKey, Long> versions;
+
+        LocalVersions(long maximumSize) {
+            this.versions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+        }
+
+        @Override
+        public Versioned<List<AddressResponse>> getAddresses(AddressBookCacheKey key, Supplier<List<AddressResponse>> loader) {
+            // Version is read before the data, so the data is never older than its version
+            long version = getVersion(key.tenantId(), key.userId());
+            return new Versioned<>(version, loader.get());
+        }
+
+        @Override
+        public Optional<AddressResponse> getDefaultAddress(UUID tenantId, UUID userId, Supplier<Optional<AddressResponse>> loader) {
+            return loader.get();
+        }
+
+        @Override
+        public long getVersion(UUID tenantId, UUID userId) {
+            return versions.get(new AddressBookCacheKey(tenantId, userId, false), k -> VersionClock.now());
+        }
+
+        @Override
+        public void invalidate(UUID tenantId, UUID userId) {
+            versions.put(new AddressBookCacheKey(tenantId, userId, false), VersionClock.now());
+        }
+    }
+}
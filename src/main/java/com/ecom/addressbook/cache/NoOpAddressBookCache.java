@@ -0,0 +1,37 @@
+package com.ecom.addressbook.cache;
+
+import com.ecom.addressbook.model.response.AddressResponse;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Pass-through implementation used when caching is disabled
+ * (address-book.cache.enabled=false)
+ *
+ * <p>No versions are tracked, so conditional GETs always return the full response.
+ */
+public class NoOpAddressBookCache implements AddressBookCache {
+
+    @Override
+    public Versioned<List<AddressResponse>> getAddresses(AddressBookCacheKey key, Supplier<List<AddressResponse>> loader) {
+        return new Versioned<>(UNVERSIONED, loader.get());
+    }
+
+    @Override
+    public Optional<AddressResponse> getDefaultAddress(UUID tenantId, UUID userId, Supplier<Optional<AddressResponse>> loader) {
+        return loader.get();
+    }
+
+    @Override
+    public long getVersion(UUID tenantId, UUID userId) {
+        return UNVERSIONED;
+    }
+
+    @Override
+    public void invalidate(UUID tenantId, UUID userId) {
+        // Nothing cached
+    }
+}
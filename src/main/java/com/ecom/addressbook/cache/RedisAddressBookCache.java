@@ -0,0 +1,209 @@
+package com.ecom.addressbook.cache;
+
+import com.ecom.addressbook.model.response.AddressResponse;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Shared address book cache stored in Redis (L2 tier)
+ *
+ * <p>Each address book is one Redis hash, {@code address-book:{tenantId}:{userId}},
+ * holding one field per cached view (active list, full list, default address)
+ * plus a {@code gen} field. Invalidation bumps
+ * {@code gen} and drops every view in a single script, and a miss only writes its
+ * result back if {@code gen} is unchanged since the read. That way a load that
+ * started before a write committed elsewhere can never overwrite the invalidation
+ * with stale data.
+ *
+ * <p>{@code gen} doubles as the address book version (ETag). It is seeded from
+ * {@link VersionClock} whenever it is created, so it keeps moving forward even if
+ * the hash expires or Redis is flushed.
+ *
+ * <p>Redis is an optimisation, not a dependency: any Redis failure is logged and
+ * the read falls through to the loader.
+ *
+ * <p>Metrics: address.cache.gets{tier=l2, result=hit|miss},
+ * address.cache.invalidations{tier=l2}, address.cache.errors{tier=l2}
+ */
+@Slf4j
+public class RedisAddressBookCache implements AddressBookCache {
+
+    private static final String TIER = "l2";
+    private static final String KEY_PREFIX = "address-book:";
+    private static final String GENERATION_FIELD = "gen";
+
+    /**
+     * KEYS[1] = book hash, ARGV[1] = generation observed on read,
+     * ARGV[2] = field, ARGV[3] = value, ARGV[4] = TTL in milliseconds
+     */
+    private static final RedisScript<Long> PUT_IF_GENERATION_UNCHANGED = RedisScript.of("""
+        local gen = redis.call('HGET', KEYS[1], 'gen')
+        if gen ~= ARGV[1] then
+          return 0
+        end
+        redis.call('HSET', KEYS[1], ARGV[2], ARGV[3])
+        redis.call('PEXPIRE', KEYS[1], ARGV[4])
+        return 1
+        """, Long.class);
+
+    /**
+     * KEYS[1] = book hash, ARGV[1] = seed version, ARGV[2] = TTL in milliseconds
+     */
+    private static final RedisScript<Long> GET_OR_INIT_GENERATION = RedisScript.of("""
+        local gen = redis.call('HGET', KEYS[1], 'gen')
+        if not gen then
+          gen = ARGV[1]
+          redis.call('HSET', KEYS[1], 'gen', gen)
+          redis.call('PEXPIRE', KEYS[1], ARGV[2])
+        end
+        return tonumber(gen)
+        """, Long.class);
+
+    /**
+     * KEYS[1] = book hash, ARGV[1] = seed version, ARGV[2] = TTL in milliseconds
+     */
+    private static final RedisScript<Long> INVALIDATE = RedisScript.of("""
+        local gen = math.max(tonumber(redis.call('HGET', KEYS[1], 'gen') or '0') + 1, tonumber(ARGV[1]))
+        redis.call('DEL', KEYS[1])
+        redis.call('HSET', KEYS[1], 'gen', string.format('%d', gen))
+        redis.call('PEXPIRE', KEYS[1], ARGV[2])
+        return gen
+        """, Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final JavaType addressListType;
+    private final JavaType addressType;
+    private final String ttlMillis;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter invalidations;
+    private final Counter errors;
+
+    public RedisAddressBookCache(
+            RedisTemplate<String, String> redisTemplate,
+            ObjectMapper objectMapper,
+            Duration ttl,
+            MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.addressListType = objectMapper.getTypeFactory()
+            .constructCollectionType(List.class, AddressResponse.class);
+        this.addressType = objectMapper.constructType(AddressResponse.class);
+        this.ttlMillis = String.valueOf(ttl.toMillis());
+        this.hits = counter("address.cache.gets", "hit", meterRegistry);
+        this.misses = counter("address.cache.gets", "miss", meterRegistry);
+        this.invalidations = counter("address.cache.invalidations", null, meterRegistry);
+        this.errors = counter("address.cache.errors", null, meterRegistry);
+    }
+
+    @Override
+    public Versioned<List<AddressResponse>> getAddresses(AddressBookCacheKey key, Supplier<List<AddressResponse>> loader) {
+        String field = key.includeDeleted() ? "all" : "active";
+        return readThrough(hashKey(key.tenantId(), key.userId()), field, addressListType, loader);
+    }
+
+    @Override
+    public Optional<AddressResponse> getDefaultAddress(UUID tenantId, UUID userId, Supplier<Optional<AddressResponse>> loader) {
+        // "No default" is stored as JSON null
+        return Optional.ofNullable(readThrough(hashKey(tenantId, userId), "default", addressType,
+            () -> loader.get().orElse(null)).value());
+    }
+
+    @Override
+    public long getVersion(UUID tenantId, UUID userId) {
+        String hashKey = hashKey(tenantId, userId);
+        try {
+            String generation = redisTemplate.<String, String>opsForHash().get(hashKey, GENERATION_FIELD);
+            return generation != null ? Long.parseLong(generation) : initGeneration(hashKey);
+        } catch (Exception e) {
+            log.warn("L2 address book version read failed for key {}: {}", hashKey, e.getMessage());
+            errors.increment();
+            return UNVERSIONED;
+        }
+    }
+
+    @Override
+    public void invalidate(UUID tenantId, UUID userId) {
+        try {
+            redisTemplate.execute(INVALIDATE, List.of(hashKey(tenantId, userId)),
+                String.valueOf(VersionClock.now()), ttlMillis);
+            invalidations.increment();
+        } catch (Exception e) {
+            // Entry expires after the TTL at the latest
+            log.warn("L2 address book cache invalidation failed for user: {}, tenant: {}: {}",
+                userId, tenantId, e.getMessage());
+            errors.increment();
+        }
+    }
+
+    private <T> Versioned<T> readThrough(String hashKey, String field, JavaType type, Supplier<T> loader) {
+        // 1. Read generation and cached view in one round-trip
+        long generation;
+        try {
+            List<String> values = redisTemplate.<String, String>opsForHash()
+                .multiGet(hashKey, List.of(GENERATION_FIELD, field));
+            if (values.get(0) == null) {
+                // Views are only ever written under an existing generation
+                generation = initGeneration(hashKey);
+            } else {
+                generation = Long.parseLong(values.get(0));
+                String cached = values.get(1);
+                if (cached != null) {
+                    hits.increment();
+                    return new Versioned<>(generation, objectMapper.readValue(cached, type));
+                }
+            }
+        } catch (Exception e) {
+            log.warn("L2 address book cache read failed for key {}: {}", hashKey, e.getMessage());
+            errors.increment();
+            return new Versioned<>(UNVERSIONED, loader.get());
+        }
+
+        // 2. Miss: load and write back unless the book was invalidated meanwhile
+        misses.increment();
+        T loaded = loader.get();
+        try {
+            redisTemplate.execute(
+                PUT_IF_GENERATION_UNCHANGED,
+                List.of(hashKey),
+                String.valueOf(generation), field, objectMapper.writeValueAsString(loaded), ttlMillis
+            );
+        } catch (Exception e) {
+            log.warn("L2 address book cache write failed for key {}: {}", hashKey, e.getMessage());
+            errors.increment();
+        }
+        return new Versioned<>(generation, loaded);
+    }
+
+    private long initGeneration(String hashKey) {
+        Long generation = redisTemplate.execute(GET_OR_INIT_GENERATION, List.of(hashKey),
+            String.valueOf(VersionClock.now()), ttlMillis);
+        return generation != null ? generation : UNVERSIONED;
+    }
+
+    private static String hashKey(UUID tenantId, UUID userId) {
+        return KEY_PREFIX + tenantId + ":" + userId;
+    }
+
+    private static Counter counter(String name, String result, MeterRegistry meterRegistry) {
+        Counter.Builder builder = Counter.builder(name)
+            .tag("cache", CaffeineAddressBookCache.CACHE_NAME)
+            .tag("tier", TIER);
+        if (result != null) {
+            builder.tag("result", result);
+        }
+        return builder.register(meterRegistry);
+    }
+}
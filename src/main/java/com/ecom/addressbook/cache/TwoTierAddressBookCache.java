@@ -0,0 +1,103 @@
+package com.ecom.addressbook.cache;
+
+import com.ecom.addressbook.model.response.AddressResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Two-tier address book cache for multi-replica deployments
+ *
+ * <p>Reads go L1 (per-JVM Caffeine) -> L2 (shared Redis) -> database. A write
+ * invalidates L2 directly and publishes the owner on a Redis pub/sub channel;
+ * every node, including the writer, drops its L1 entry when the message arrives.
+ *
+ * <p>Versions come from the shared tier and are cached in L1 together with the
+ * data they belong to, so a node that has not yet processed an invalidation
+ * serves its old list under the old version, never under the new one.
+ *
+ * <p>Pub/sub is fire-and-forget, so a node that is disconnected while a write
+ * happens misses the message. The L1 TTL is therefore kept short: it bounds how
+ * long such a node can serve a stale list.
+ */
+@Slf4j
+public class TwoTierAddressBookCache implements AddressBookCache, MessageListener {
+
+    private final CaffeineAddressBookCache local;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final String channel;
+    private final Counter messagesReceived;
+
+    /**
+     * @param local L1 cache whose next tier is the shared Redis cache
+     */
+    public TwoTierAddressBookCache(
+            CaffeineAddressBookCache local,
+            RedisTemplate<String, String> redisTemplate,
+            String channel,
+            MeterRegistry meterRegistry) {
+        this.local = local;
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+        this.messagesReceived = Counter.builder("address.cache.invalidation.messages")
+            .tag("cache", CaffeineAddressBookCache.CACHE_NAME)
+            .register(meterRegistry);
+    }
+
+    @Override
+    public Versioned<List<AddressResponse>> getAddresses(AddressBookCacheKey key, Supplier<List<AddressResponse>> loader) {
+        return local.getAddresses(key, loader);
+    }
+
+    @Override
+    public Optional<AddressResponse> getDefaultAddress(UUID tenantId, UUID userId, Supplier<Optional<AddressResponse>> loader) {
+        return local.getDefaultAddress(tenantId, userId, loader);
+    }
+
+    @Override
+    public long getVersion(UUID tenantId, UUID userId) {
+        return local.getVersion(tenantId, userId);
+    }
+
+    @Override
+    public void invalidate(UUID tenantId, UUID userId) {
+        // 1. Shared tier, then this node's L1 (an L1 miss must not re-read the old shared entry)
+        local.invalidate(tenantId, userId);
+
+        // 2. Tell the other nodes
+        try {
+            redisTemplate.convertAndSend(channel, tenantId + ":" + userId);
+        } catch (Exception e) {
+            log.warn("Failed to publish address book invalidation for user: {}, tenant: {}: {}",
+                userId, tenantId, e.getMessage());
+        }
+    }
+
+    /**
+     * Handle an invalidation published by any node (L1 only)
+     */
+    @Override
+    public void onMessage(@NonNull Message message, @Nullable byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(':');
+        try {
+            UUID tenantId = UUID.fromString(body.substring(0, separator));
+            UUID userId = UUID.fromString(body.substring(separator + 1));
+            local.invalidateLocal(tenantId, userId);
+            messagesReceived.increment();
+        } catch (RuntimeException e) {
+            log.warn("Ignoring malformed address book invalidation message: {}", body);
+        }
+    }
+}
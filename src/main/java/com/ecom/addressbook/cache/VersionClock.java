@@ -0,0 +1,26 @@
+package com.ecom.addressbook.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Source of time-seeded address book versions
+ *
+ * <p>A version that is lost (evicted, expired, Redis flushed) is re-created from
+ * the clock in microseconds. A fresh version is therefore always larger than
+ * any version handed out before, and an old ETag can never match it by accident.
+ */
+final class VersionClock {
+
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private VersionClock() {
+    }
+
+    /**
+     * Current clock reading in microseconds, strictly increasing within this JVM
+     */
+    static long now() {
+        long micros = System.currentTimeMillis() * 1000;
+        return LAST.updateAndGet(last -> Math.max(last + 1, micros));
+    }
+}
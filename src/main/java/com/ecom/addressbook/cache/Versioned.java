@@ -0,0 +1,21 @@
+package com.ecom.addressbook.cache;
+
+/**
+ * A cached value paired with the address book version it was loaded at
+ *
+ * <p>The version is what clients see as the ETag. Carrying it together with
+ * the value guarantees that a response is never tagged with a version newer
+ * than the data it contains.
+ *
+ * @param version Address book version, or {@link AddressBookCache#UNVERSIONED}
+ * @param value Cached value
+ */
+public record Versioned<T>(long version, T value) {
+
+    /**
+     * Whether a real version is attached (conditional requests are possible)
+     */
+    public boolean hasVersion() {
+        return version != AddressBookCache.UNVERSIONED;
+    }
+}
@@ -0,0 +1,109 @@
+package com.ecom.addressbook.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Address book cache configuration (address-book.cache.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "address-book.cache")
+public class AddressCacheProperties {
+
+    /**
+     * Whether address book reads are cached. When false, every read goes to the database.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum time an in-process (L1) entry is served after it was loaded.
+     * Also bounds staleness on a node that missed an invalidation message.
+     */
+    private Duration ttl = Duration.ofMinutes(2);
+
+    /**
+     * Maximum number of cached address books per JVM
+     */
+    private long maximumSize = 100_000;
+
+    /**
+     * Shared Redis (L2) tier
+     */
+    private Redis redis = new Redis();
+
+    /**
+     * Negative cache for ADDRESS_NOT_FOUND lookups
+     */
+    private Negative negative = new Negative();
+
+    /**
+     * Encoded response bodies for GET /api/v1/address
+     */
+    private Response response = new Response();
+
+    @Getter
+    @Setter
+    public static class Redis {
+
+        /**
+         * Whether the Redis tier and cross-node invalidation are used
+         */
+        private boolean enabled = true;
+
+        /**
+         * Maximum time a Redis entry is served after it was loaded
+         */
+        private Duration ttl = Duration.ofMinutes(30);
+
+        /**
+         * Pub/sub channel carrying invalidations between nodes
+         */
+        private String channel = "address-book:cache:invalidate";
+    }
+
+    @Getter
+    @Setter
+    public static class Response {
+
+        /**
+         * Total size of cached encoded bodies per JVM (0 disables reuse)
+         */
+        private DataSize maximumSize = DataSize.ofMegabytes(64);
+    }
+
+    @Getter
+    @Setter
+    public static class Negative {
+
+        /**
+         * Whether not-found address IDs are remembered
+         */
+        private boolean enabled = true;
+
+        /**
+         * How long a not-found ID is remembered. Kept short: it is also the worst-case
+         * delay before an ID becomes visible if an invalidation is lost.
+         */
+        private Duration ttl = Duration.ofSeconds(30);
+
+        /**
+         * Maximum number of remembered IDs per JVM
+         */
+        private long maximumSize = 100_000;
+
+        /**
+         * Whether not-found IDs are shared between nodes through Redis
+         */
+        private boolean redisEnabled = true;
+
+        /**
+         * Pub/sub channel carrying negative cache invalidations between nodes
+         */
+        private String channel = "address-book:negative-cache:invalidate";
+    }
+}
@@ -19,7 +19,7 @@ import org.springframework.data.redis.serializer.StringRedisSerializer;
 public class AppConfig {
 
     /**
-     * RedisTemplate for token blacklisting
+     * RedisTemplate for token blacklisting and the shared (L2) address book cache
      * Marked as @Primary to ensure it's used by jwt-validation-starter
      */
     @Bean
@@ -0,0 +1,41 @@
+package com.ecom.addressbook.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Archiving of soft-deleted addresses (address-book.archive.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "address-book.archive")
+public class ArchiveProperties {
+
+    /**
+     * Whether soft-deleted addresses are moved to addresses_archive
+     */
+    private boolean enabled = true;
+
+    /**
+     * How long a soft-deleted address stays in the hot table before it is archived
+     */
+    private Duration retention = Duration.ofDays(90);
+
+    /**
+     * Delay between archiver runs
+     */
+    private Duration interval = Duration.ofMinutes(15);
+
+    /**
+     * Rows moved per transaction. Bounds how long the moved rows stay locked.
+     */
+    private int chunkSize = 1_000;
+
+    /**
+     * Upper bound of chunks per run, so a large backlog is drained over several runs
+     */
+    private int maxChunksPerRun = 100;
+}
@@ -0,0 +1,118 @@
+package com.ecom.addressbook.config;
+
+import com.ecom.addressbook.cache.AddressBookCache;
+import com.ecom.addressbook.cache.AddressBookResponseCache;
+import com.ecom.addressbook.cache.AddressNotFoundCache;
+import com.ecom.addressbook.cache.CaffeineAddressBookCache;
+import com.ecom.addressbook.cache.NoOpAddressBookCache;
+import com.ecom.addressbook.cache.RedisAddressBookCache;
+import com.ecom.addressbook.cache.TwoTierAddressBookCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Cache Configuration
+ *
+ * <p>Selects the {@link AddressBookCache} implementation based on
+ * address-book.cache.* properties:
+ * <ul>
+ *   <li>enabled=false: no caching</li>
+ *   <li>redis.enabled=false: in-process Caffeine cache only (single node)</li>
+ *   <li>otherwise: Caffeine L1 + Redis L2 with pub/sub invalidation</li>
+ * </ul>
+ *
+ * <p>The {@link AddressNotFoundCache} is configured independently under
+ * address-book.cache.negative.*.
+ */
+@Configuration
+@EnableConfigurationProperties(AddressCacheProperties.class)
+@Slf4j
+public class CacheConfig {
+
+    @Bean
+    public AddressBookCache addressBookCache(
+            AddressCacheProperties properties,
+            RedisTemplate<String, String> redisTemplate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        if (!properties.isEnabled()) {
+            log.info("Address book cache disabled");
+            return new NoOpAddressBookCache();
+        }
+
+        if (!properties.getRedis().isEnabled()) {
+            log.info("Address book cache enabled (local only): ttl={}, maximumSize={}",
+                properties.getTtl(), properties.getMaximumSize());
+            return new CaffeineAddressBookCache(properties.getTtl(), properties.getMaximumSize(), meterRegistry);
+        }
+
+        log.info("Address book cache enabled (two-tier): l1Ttl={}, l2Ttl={}, channel={}",
+            properties.getTtl(), properties.getRedis().getTtl(), properties.getRedis().getChannel());
+        RedisAddressBookCache shared = new RedisAddressBookCache(
+            redisTemplate, objectMapper, properties.getRedis().getTtl(), meterRegistry);
+        CaffeineAddressBookCache local = new CaffeineAddressBookCache(
+            properties.getTtl(), properties.getMaximumSize(), meterRegistry, shared);
+        return new TwoTierAddressBookCache(
+            local, redisTemplate, properties.getRedis().getChannel(), meterRegistry);
+    }
+
+    @Bean
+    public AddressBookResponseCache addressBookResponseCache(
+            AddressCacheProperties properties,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        return new AddressBookResponseCache(
+            objectMapper,
+            properties.getTtl(),
+            properties.getResponse().getMaximumSize().toBytes(),
+            meterRegistry
+        );
+    }
+
+    @Bean
+    public AddressNotFoundCache addressNotFoundCache(
+            AddressCacheProperties properties,
+            RedisTemplate<String, String> redisTemplate,
+            MeterRegistry meterRegistry) {
+        AddressCacheProperties.Negative negative = properties.getNegative();
+        log.info("Address not-found cache: enabled={}, ttl={}, redis={}",
+            negative.isEnabled(), negative.getTtl(), negative.isRedisEnabled());
+        return new AddressNotFoundCache(
+            negative.isEnabled(),
+            negative.getTtl(),
+            negative.getMaximumSize(),
+            negative.isRedisEnabled() ? redisTemplate : null,
+            negative.getChannel(),
+            meterRegistry
+        );
+    }
+
+    /**
+     * Subscribes the caches to cross-node invalidations.
+     * Idle (no subscriptions) when both are local-only or disabled.
+     */
+    @Bean
+    public RedisMessageListenerContainer addressBookCacheListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            AddressBookCache addressBookCache,
+            AddressNotFoundCache addressNotFoundCache,
+            AddressCacheProperties properties) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        if (addressBookCache instanceof TwoTierAddressBookCache twoTier) {
+            container.addMessageListener(twoTier, new ChannelTopic(properties.getRedis().getChannel()));
+        }
+        if (properties.getNegative().isEnabled() && properties.getNegative().isRedisEnabled()) {
+            container.addMessageListener(addressNotFoundCache, new ChannelTopic(properties.getNegative().getChannel()));
+        }
+        return container;
+    }
+}
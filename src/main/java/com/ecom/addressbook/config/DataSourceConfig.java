@@ -0,0 +1,88 @@
+package com.ecom.addressbook.config;
+
+import com.ecom.addressbook.datasource.ReplicaLagMonitor;
+import com.ecom.addressbook.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * DataSource Configuration
+ *
+ * <p>Without a replica (default) Spring Boot's auto-configured primary DataSource is
+ * used for everything. With address-book.datasource.replica.enabled=true:
+ * <ul>
+ *   <li>connections of read-only transactions (the @Transactional(readOnly = true)
+ *       repository read queries) go to the replica</li>
+ *   <li>writes and reads wrapped in DataSourceRouting.onPrimary (admin include-deleted
+ *       audit views) stay on the primary</li>
+ *   <li>while the replica lags beyond max-lag, or cannot be reached, reads fall back to
+ *       the primary</li>
+ * </ul>
+ *
+ * <p>The routing DataSource is wrapped in a LazyConnectionDataSourceProxy: the physical
+ * connection is fetched on the first statement, after the transaction has marked it
+ * read-only, which is what selects the target.
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+@Slf4j
+public class DataSourceConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "address-book.datasource.replica", name = "enabled", havingValue = "true")
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "address-book.datasource.replica", name = "enabled", havingValue = "true")
+    public HikariDataSource replicaDataSource(ReplicaDataSourceProperties properties) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setJdbcUrl(properties.getUrl());
+        dataSource.setUsername(properties.getUsername());
+        dataSource.setPassword(properties.getPassword());
+        dataSource.setMaximumPoolSize(properties.getMaximumPoolSize());
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "address-book.datasource.replica", name = "enabled", havingValue = "true")
+    public ReplicaLagMonitor replicaLagMonitor(
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            ReplicaDataSourceProperties properties,
+            MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(replicaDataSource, properties.getMaxLag(), meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(prefix = "address-book.datasource.replica", name = "enabled", havingValue = "true")
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            ReplicaLagMonitor replicaLagMonitor,
+            ReplicaDataSourceProperties properties) {
+        log.info("Read replica routing enabled: replica={}, maxLag={}", properties.getUrl(), properties.getMaxLag());
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(
+            new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, replicaLagMonitor));
+        return dataSource;
+    }
+}
@@ -0,0 +1,20 @@
+package com.ecom.addressbook.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Tenant address exports (address-book.export.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "address-book.export")
+public class ExportProperties {
+
+    /**
+     * Rows fetched from the database cursor per round-trip. Bounds the rows held in
+     * memory at any time, independently of the tenant size.
+     */
+    private int fetchSize = 1_000;
+}
@@ -0,0 +1,49 @@
+package com.ecom.addressbook.config;
+
+import com.ecom.addressbook.maintenance.AddressImportFormat;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.UUID;
+
+/**
+ * Bulk import of legacy address books (address-book.import.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "address-book.import")
+public class ImportProperties {
+
+    /**
+     * Whether this instance runs the import on startup. Enable on a single one-off
+     * instance only, never on the serving fleet.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Path of the file to import
+     */
+    private String file;
+
+    /**
+     * File format: NDJSON or CSV (with a header row). Fields are named as in
+     * AddressRequest; userId is required.
+     */
+    private AddressImportFormat format = AddressImportFormat.NDJSON;
+
+    /**
+     * Tenant the addresses are imported into
+     */
+    private UUID tenantId;
+
+    /**
+     * Records per chunk. A chunk is staged, merged and committed as one transaction.
+     */
+    private int chunkSize = 10_000;
+
+    /**
+     * Threads parsing and validating records
+     */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+}
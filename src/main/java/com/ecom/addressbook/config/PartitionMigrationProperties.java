@@ -0,0 +1,37 @@
+package com.ecom.addressbook.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Online migration to the tenant-partitioned addresses table (address-book.partition-migration.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "address-book.partition-migration")
+public class PartitionMigrationProperties {
+
+    /**
+     * Whether this instance runs the migration tool on startup. Enable on a single
+     * one-off instance only, never on the serving fleet.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Rows copied per transaction
+     */
+    private int chunkSize = 5_000;
+
+    /**
+     * Pause between chunks, to leave I/O and replication headroom for live traffic
+     */
+    private Duration pause = Duration.ofMillis(100);
+
+    /**
+     * Whether to swap the tables once the copy is complete and reconciled
+     */
+    private boolean cutover = false;
+}
@@ -0,0 +1,33 @@
+package com.ecom.addressbook.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Virtual thread pinning detection (address-book.virtual-threads.pinning.*)
+ *
+ * <p>Only used when virtual threads are enabled (spring.threads.virtual.enabled=true).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "address-book.virtual-threads.pinning")
+public class PinningMonitorProperties {
+
+    /**
+     * Whether jdk.VirtualThreadPinned events are recorded and reported as metrics
+     */
+    private boolean enabled = true;
+
+    /**
+     * Minimum time a virtual thread must stay pinned to be reported
+     */
+    private Duration threshold = Duration.ofMillis(20);
+
+    /**
+     * Minimum delay between two logged stack traces of the same pinning location
+     */
+    private Duration logInterval = Duration.ofMinutes(5);
+}
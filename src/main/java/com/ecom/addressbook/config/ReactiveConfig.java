@@ -0,0 +1,120 @@
+package com.ecom.addressbook.config;
+
+import com.ecom.addressbook.cache.AddressBookCache;
+import com.ecom.addressbook.cache.AddressBookResponseCache;
+import com.ecom.addressbook.controller.AddressReadHandler;
+import com.ecom.addressbook.datasource.ConsistencyToken;
+import com.ecom.addressbook.repository.ReactiveAddressRepository;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.servlet.function.RequestPredicate;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.ServerResponse;
+
+import java.net.URI;
+import java.util.UUID;
+
+import static org.springframework.web.servlet.function.RequestPredicates.GET;
+import static org.springframework.web.servlet.function.RouterFunctions.route;
+
+/**
+ * Reactive read path configuration (address-book.reactive.enabled=true)
+ *
+ * <p>Serves GET /api/v1/address from R2DBC through a functional endpoint. The
+ * application stays on the servlet stack, so the route is a WebMvc.fn router with
+ * async responses rather than a WebFlux one; its RouterFunctionMapping is consulted
+ * before the annotated controllers.
+ *
+ * <p>Only plain active-list reads match the route. Requests with includeDeleted (primary
+ * plus archive), X-Consistency-Token (read-your-writes) or a malformed userId fall
+ * through to AddressController unchanged, so it answers them exactly as without this
+ * path, error body included.
+ *
+ * <p>The R2DBC pool is separate from Hikari and sized independently, but always
+ * connects to the primary (spring.datasource.*): the replica lag fallback and
+ * consistency tokens only exist on the JDBC routing DataSource, and bodies encoded
+ * here are shared with the controller through the response cache.
+ */
+@Configuration
+@EnableConfigurationProperties(ReactiveProperties.class)
+@ConditionalOnProperty(prefix = "address-book.reactive", name = "enabled", havingValue = "true")
+@Slf4j
+public class ReactiveConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool reactiveConnectionPool(ReactiveProperties properties, DataSourceProperties dataSourceProperties) {
+        ConnectionFactoryOptions options = primaryOptions(dataSourceProperties);
+        log.info("Reactive read path enabled: host={}, database={}, initialSize={}, maxSize={}",
+            options.getValue(ConnectionFactoryOptions.HOST), options.getValue(ConnectionFactoryOptions.DATABASE),
+            properties.getInitialSize(), properties.getMaxSize());
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+            .name("reactive")
+            .initialSize(properties.getInitialSize())
+            .maxSize(properties.getMaxSize())
+            .build());
+    }
+
+    @Bean
+    public ReactiveAddressRepository reactiveAddressRepository(ConnectionPool reactiveConnectionPool) {
+        return new ReactiveAddressRepository(DatabaseClient.create(reactiveConnectionPool));
+    }
+
+    @Bean
+    public AddressReadHandler addressReadHandler(
+            ReactiveAddressRepository reactiveAddressRepository,
+            AddressBookCache addressBookCache,
+            AddressBookResponseCache addressBookResponseCache) {
+        return new AddressReadHandler(reactiveAddressRepository, addressBookCache, addressBookResponseCache);
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> reactiveAddressRoutes(AddressReadHandler addressReadHandler) {
+        return route(GET("/api/v1/address").and(plainActiveListRead()), addressReadHandler::getUserAddresses);
+    }
+
+    private static RequestPredicate plainActiveListRead() {
+        return request -> !request.param("includeDeleted").map(Boolean::parseBoolean).orElse(false)
+            && request.headers().header(ConsistencyToken.HEADER).isEmpty()
+            && request.param("userId").map(ReactiveConfig::isUuid).orElse(true);
+    }
+
+    private static boolean isUuid(String value) {
+        try {
+            UUID.fromString(value);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * R2DBC options for the primary, from spring.datasource.url
+     * (jdbc:postgresql://host[:port]/database[?params]; JDBC driver params are dropped)
+     */
+    private static ConnectionFactoryOptions primaryOptions(DataSourceProperties properties) {
+        String url = properties.determineUrl();
+        if (url == null || !url.startsWith("jdbc:postgresql://")) {
+            throw new IllegalStateException("Reactive read path requires a jdbc:postgresql:// primary URL, got: " + url);
+        }
+        URI uri = URI.create(url.substring("jdbc:".length()));
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.builder()
+            .option(ConnectionFactoryOptions.DRIVER, "postgresql")
+            .option(ConnectionFactoryOptions.HOST, uri.getHost())
+            .option(ConnectionFactoryOptions.DATABASE, uri.getPath().substring(1))
+            .option(ConnectionFactoryOptions.USER, properties.determineUsername())
+            .option(ConnectionFactoryOptions.PASSWORD, properties.determinePassword());
+        if (uri.getPort() != -1) {
+            options.option(ConnectionFactoryOptions.PORT, uri.getPort());
+        }
+        return options.build();
+    }
+}
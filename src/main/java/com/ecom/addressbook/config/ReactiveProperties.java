@@ -0,0 +1,34 @@
+package com.ecom.addressbook.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Opt-in reactive read path (address-book.reactive.*)
+ *
+ * <p>The R2DBC pool connects to the primary with the spring.datasource.* URL and
+ * credentials; only its size is configured here.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "address-book.reactive")
+public class ReactiveProperties {
+
+    /**
+     * Whether GET /api/v1/address is served by the reactive (R2DBC) handler instead of
+     * AddressController
+     */
+    private boolean enabled = false;
+
+    /**
+     * Connections opened at startup
+     */
+    private int initialSize = 2;
+
+    /**
+     * Maximum connections. Connections are only held while a query runs, so a small
+     * pool serves many concurrent requests.
+     */
+    private int maxSize = 10;
+}
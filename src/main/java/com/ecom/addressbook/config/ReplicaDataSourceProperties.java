@@ -0,0 +1,47 @@
+package com.ecom.addressbook.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Optional read replica (address-book.datasource.replica.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "address-book.datasource.replica")
+public class ReplicaDataSourceProperties {
+
+    /**
+     * Whether read-only transactions are routed to the replica. When false, all
+     * traffic goes to the primary configured under spring.datasource.
+     */
+    private boolean enabled = false;
+
+    /**
+     * JDBC URL of the replica
+     */
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    /**
+     * Connection pool size of the replica
+     */
+    private int maximumPoolSize = 10;
+
+    /**
+     * Replication lag above which reads fall back to the primary. Also the delay of the
+     * second cache invalidation after a write, since a replica read can be this stale.
+     */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    /**
+     * How often the replication lag is measured
+     */
+    private Duration checkInterval = Duration.ofSeconds(5);
+}
@@ -1,6 +1,7 @@
 package com.ecom.addressbook.config;
 
 import com.ecom.addressbook.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -59,6 +60,10 @@ public class SecurityConfig {
             
             // Configure endpoint access
             .authorizeHttpRequests(auth -> auth
+                // Completion of streaming responses (address export): the request was already
+                // authorized on its original dispatch, and the JWT filter does not run again
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                
                 // Public endpoints (no authentication required)
                 .requestMatchers(
                     "/actuator/health",
@@ -67,6 +72,9 @@ public class SecurityConfig {
                     "/v3/api-docs/**"
                 ).permitAll()
                 
+                // Metrics reveal JVM, pool and per-tenant traffic figures: admins only
+                .requestMatchers("/actuator/metrics/**").hasRole("ADMIN")
+                
                 // All other endpoints require authentication (validated by JwtAuthenticationFilter)
                 .anyRequest().authenticated()
             );
@@ -0,0 +1,22 @@
+package com.ecom.addressbook.controller;
+
+import java.util.List;
+
+/**
+ * Role checks shared by AddressController and AddressReadHandler
+ */
+final class AddressAccess {
+
+    private AddressAccess() {
+    }
+
+    /**
+     * Check if user has ADMIN or STAFF role
+     */
+    static boolean hasAdminOrStaffRole(List<String> roles) {
+        return roles != null && (
+            roles.contains("ADMIN") || 
+            roles.contains("STAFF")
+        );
+    }
+}
@@ -1,7 +1,18 @@
 package com.ecom.addressbook.controller;
 
+import com.ecom.addressbook.cache.AddressBookCacheKey;
+import com.ecom.addressbook.cache.AddressBookResponseCache;
+import com.ecom.addressbook.cache.Versioned;
+import com.ecom.addressbook.datasource.ConsistencyToken;
+import com.ecom.addressbook.datasource.ConsistencyTokens;
+import com.ecom.addressbook.export.AddressExportFormat;
+import com.ecom.addressbook.export.AddressExporter;
+import com.ecom.addressbook.model.request.AddressLookupRequest;
 import com.ecom.addressbook.model.request.AddressRequest;
+import com.ecom.addressbook.model.request.BatchAddressRequest;
+import com.ecom.addressbook.model.response.AddressLookupResult;
 import com.ecom.addressbook.model.response.AddressResponse;
+import com.ecom.addressbook.model.response.BatchAddressResponse;
 import com.ecom.addressbook.security.JwtAuthenticationToken;
 import com.ecom.addressbook.service.AddressService;
 import com.ecom.error.exception.BusinessException;
@@ -13,10 +24,14 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.UUID;
@@ -48,6 +63,10 @@ import java.util.UUID;
  * User context comes from validated JWT claims (source of truth).
  * Gateway headers (X-User-Id, X-Roles) are hints only, not trusted for security.
  * 
+ * <p><b>Read-your-writes:</b> when reads are served by a replica, write responses carry
+ * an opaque X-Consistency-Token header. Reads that send it back are served by a replica
+ * only once it has caught up with that write, and by the primary otherwise.
+ * 
  * <p><b>Role-Based Access Control:</b>
  * <ul>
  *   <li><b>CUSTOMER/SELLER:</b> Can manage only their own addresses</li>
@@ -62,6 +81,9 @@ import java.util.UUID;
 public class AddressController {
 
     private final AddressService addressService;
+    private final AddressBookResponseCache addressBookResponseCache;
+    private final ConsistencyTokens consistencyTokens;
+    private final AddressExporter addressExporter;
 
     /**
      * Create a new shipping address
@@ -85,7 +107,7 @@ public class AddressController {
         description = "Saves a new shipping address. Users can create for themselves, admins/staff can create for any user. Prevents duplicate addresses."
     )
     @SecurityRequirement(name = "bearerAuth")
-    public ApiResponse<AddressResponse> createAddress(
+    public ResponseEntity<ApiResponse<AddressResponse>> createAddress(
             @Valid @RequestBody AddressRequest addressRequest,
             Authentication authentication) {
         
@@ -100,7 +122,7 @@ public class AddressController {
         // Authorization check: If userId in request is provided and doesn't match current user,
         // user must have ADMIN/STAFF role
         if (addressRequest.userId() != null && !addressRequest.userId().equals(currentUserId)) {
-            if (!hasAdminOrStaffRole(roles)) {
+            if (!AddressAccess.hasAdminOrStaffRole(roles)) {
                 throw new BusinessException(
                     ErrorCode.UNAUTHORIZED,
                     "You can only create addresses for yourself"
@@ -118,7 +140,53 @@ public class AddressController {
             addressRequest
         );
         
-        return ApiResponse.success(response, "Address created successfully");
+        return withConsistencyToken(HttpStatus.OK, ApiResponse.success(response, "Address created successfully"));
+    }
+
+    /**
+     * Create many shipping addresses in one call
+     * 
+     * <p>Used for tenant onboarding and B2B customers that register hundreds of
+     * delivery addresses at once, for one user or for many users.
+     * 
+     * <p>Business rules:
+     * <ul>
+     *   <li>The whole payload is validated up front; any invalid item rejects the batch</li>
+     *   <li>Duplicates (existing active addresses or repeated within the batch) are
+     *       reported per item and skipped</li>
+     *   <li>Items for other users are reported as UNAUTHORIZED unless the caller has ADMIN/STAFF role</li>
+     *   <li>If several items for the same user are flagged as default, the last one wins</li>
+     * </ul>
+     * 
+     * <p>Accepted items are inserted in one transaction using JDBC batching.
+     * 
+     * <p>This endpoint is protected and requires authentication.
+     */
+    @PostMapping("/batch")
+    @Operation(
+        summary = "Create many shipping addresses",
+        description = "Saves up to 500 addresses in one transaction and returns a per-item result. Users can create for themselves, admins/staff can create for any user."
+    )
+    @SecurityRequirement(name = "bearerAuth")
+    public ResponseEntity<ApiResponse<BatchAddressResponse>> createAddresses(
+            @Valid @RequestBody BatchAddressRequest batchRequest,
+            Authentication authentication) {
+        
+        // Extract user context from validated JWT (source of truth)
+        UUID currentUserId = getUserIdFromAuthentication(authentication);
+        UUID tenantId = getTenantIdFromAuthentication(authentication);
+        List<String> roles = getRolesFromAuthentication(authentication);
+        
+        log.info("Creating {} addresses for user: {}, tenant: {}", batchRequest.addresses().size(), currentUserId, tenantId);
+        
+        BatchAddressResponse response = addressService.createAddresses(
+            tenantId,
+            currentUserId,
+            roles,
+            batchRequest.addresses()
+        );
+        
+        return withConsistencyToken(HttpStatus.OK, ApiResponse.success(response, "Batch processed successfully"));
     }
 
     /**
@@ -134,6 +202,11 @@ public class AddressController {
      *   <li>Admins/Staff can view deleted addresses via ?includeDeleted=true query param</li>
      * </ul>
      * 
+     * <p>For regular users the response carries an ETag derived from their address book
+     * version. A matching If-None-Match is answered with 304 without a body, but only
+     * after the address has been resolved: unknown IDs and other users' addresses are
+     * still answered with 404 / 403.
+     * 
      * <p>This endpoint is protected and requires authentication.
      */
     @GetMapping("/{addressId}")
@@ -142,9 +215,10 @@ public class AddressController {
         description = "Retrieves a specific shipping address by its ID. Users can access own addresses, admins/staff can access any address. Supports includeDeleted query param for admins/staff."
     )
     @SecurityRequirement(name = "bearerAuth")
-    public ApiResponse<AddressResponse> getAddress(
+    public ResponseEntity<ApiResponse<AddressResponse>> getAddress(
             @PathVariable UUID addressId,
             @RequestParam(required = false, defaultValue = "false") boolean includeDeleted,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
             Authentication authentication) {
         
         // Extract user context from validated JWT (source of truth)
@@ -153,13 +227,22 @@ public class AddressController {
         List<String> roles = getRolesFromAuthentication(authentication);
         
         // Only admins/staff can include deleted addresses
-        if (includeDeleted && !hasAdminOrStaffRole(roles)) {
+        if (includeDeleted && !AddressAccess.hasAdminOrStaffRole(roles)) {
             includeDeleted = false;
         }
         
         log.info("Getting address {} for user: {}, tenant: {}, includeDeleted: {}", 
             addressId, currentUserId, tenantId, includeDeleted);
         
+        // Regular users can only read their own addresses, so their own address book
+        // version covers this address. Read before loading, so it is never newer than the data.
+        String etag = null;
+        if (!AddressAccess.hasAdminOrStaffRole(roles)) {
+            etag = AddressETags.of(addressService.getAddressBookVersion(currentUserId, tenantId, currentUserId, roles));
+        }
+        
+        // Resolve first (not-found cache, tenant and ownership checks), so a conditional
+        // GET cannot answer 304 for an address the caller may not see
         AddressResponse response = addressService.getAddressById(
             addressId,
             currentUserId,
@@ -168,7 +251,56 @@ public class AddressController {
             includeDeleted
         );
         
-        return ApiResponse.success(response, "Address retrieved successfully");
+        if (AddressETags.isNotModified(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
+        
+        return ok(etag, ApiResponse.success(response, "Address retrieved successfully"));
+    }
+
+    /**
+     * Look up many addresses by ID
+     * 
+     * <p>Used by order and fulfilment services to resolve the shipping addresses of a
+     * batch of orders in one call instead of one GET per order. All IDs are resolved
+     * with a single query.
+     * 
+     * <p>Access control:
+     * <ul>
+     *   <li>Users can only resolve their own addresses</li>
+     *   <li>Admins/Staff can resolve any address in their tenant</li>
+     * </ul>
+     * 
+     * <p>Results are returned in request order. IDs that do not exist, are deleted,
+     * belong to another tenant or are not accessible are marked found=false.
+     * 
+     * <p>This endpoint is protected and requires authentication.
+     */
+    @PostMapping("/lookup")
+    @Operation(
+        summary = "Look up addresses by ID",
+        description = "Resolves up to 5000 address IDs in one call. Returns one result per ID in request order, with found=false for missing or inaccessible addresses."
+    )
+    @SecurityRequirement(name = "bearerAuth")
+    public ApiResponse<List<AddressLookupResult>> lookupAddresses(
+            @Valid @RequestBody AddressLookupRequest lookupRequest,
+            Authentication authentication) {
+        
+        // Extract user context from validated JWT (source of truth)
+        UUID currentUserId = getUserIdFromAuthentication(authentication);
+        UUID tenantId = getTenantIdFromAuthentication(authentication);
+        List<String> roles = getRolesFromAuthentication(authentication);
+        
+        log.info("Looking up {} addresses for user: {}, tenant: {}", lookupRequest.ids().size(), currentUserId, tenantId);
+        
+        List<AddressLookupResult> response = addressService.lookupAddresses(
+            lookupRequest.ids(),
+            currentUserId,
+            tenantId,
+            roles
+        );
+        
+        return ApiResponse.success(response, "Addresses retrieved successfully");
     }
 
     /**
@@ -184,17 +316,25 @@ public class AddressController {
      *   <li>Admins/Staff can view deleted addresses via ?includeDeleted=true query param</li>
      * </ul>
      * 
+     * <p>The response carries an ETag derived from the address book version. When the
+     * client's If-None-Match still matches, 304 is returned without touching the
+     * repository or serializing the list.
+     * 
+     * <p>The JSON body is encoded once per address book version and the cached bytes
+     * are written directly to the response, bypassing Jackson on repeated reads.
+     * 
      * <p>This endpoint is protected and requires authentication.
      */
-    @GetMapping
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(
         summary = "Get all addresses for user",
         description = "Retrieves all shipping addresses. Users can view own addresses, admins/staff can view any user's addresses. Supports includeDeleted query param for admins/staff."
     )
     @SecurityRequirement(name = "bearerAuth")
-    public ApiResponse<List<AddressResponse>> getUserAddresses(
+    public ResponseEntity<byte[]> getUserAddresses(
             @RequestParam(required = false) UUID userId,
             @RequestParam(required = false, defaultValue = "false") boolean includeDeleted,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
             Authentication authentication) {
         
         // Extract user context from validated JWT (source of truth)
@@ -208,7 +348,7 @@ public class AddressController {
         // Authorization check: If userId param is provided and doesn't match current user,
         // user must have ADMIN/STAFF role
         if (userId != null && !userId.equals(currentUserId)) {
-            if (!hasAdminOrStaffRole(roles)) {
+            if (!AddressAccess.hasAdminOrStaffRole(roles)) {
                 throw new BusinessException(
                     ErrorCode.UNAUTHORIZED,
                     "You can only view your own addresses"
@@ -217,14 +357,22 @@ public class AddressController {
         }
         
         // Only admins/staff can include deleted addresses
-        if (includeDeleted && !hasAdminOrStaffRole(roles)) {
+        if (includeDeleted && !AddressAccess.hasAdminOrStaffRole(roles)) {
             includeDeleted = false;
         }
         
         log.info("Getting addresses for user: {}, tenant: {}, includeDeleted: {}", 
             targetUserId, tenantId, includeDeleted);
         
-        List<AddressResponse> response = addressService.getUserAddresses(
+        // Conditional GET: answered from the address book version alone
+        if (ifNoneMatch != null) {
+            String currentETag = AddressETags.of(addressService.getAddressBookVersion(targetUserId, tenantId, currentUserId, roles));
+            if (AddressETags.isNotModified(ifNoneMatch, currentETag)) {
+                return notModified(currentETag);
+            }
+        }
+        
+        Versioned<List<AddressResponse>> response = addressService.getUserAddresses(
             targetUserId,
             tenantId,
             currentUserId,
@@ -232,7 +380,125 @@ public class AddressController {
             includeDeleted
         );
         
-        return ApiResponse.success(response, "Addresses retrieved successfully");
+        byte[] body = addressBookResponseCache.getBody(
+            new AddressBookCacheKey(tenantId, targetUserId, includeDeleted),
+            response,
+            "Addresses retrieved successfully"
+        );
+        
+        // Tag with the version the list was loaded at (may be older than currentETag, never newer)
+        return ok(AddressETags.of(response.version()), body);
+    }
+
+    /**
+     * Get the default address for the authenticated user
+     * 
+     * <p>Returns only the user's default shipping address. Used by the order service
+     * during checkout instead of fetching the whole address list and filtering on
+     * isDefault client-side.
+     * 
+     * <p>Access control:
+     * <ul>
+     *   <li>If userId param is provided, must match authenticated user OR user must have ADMIN/STAFF role</li>
+     *   <li>If no userId param, returns authenticated user's default address</li>
+     * </ul>
+     * 
+     * <p>Returns ADDRESS_NOT_FOUND if the user has no default address.
+     * 
+     * <p>This endpoint is protected and requires authentication.
+     */
+    @GetMapping("/default")
+    @Operation(
+        summary = "Get default address for user",
+        description = "Retrieves the user's default shipping address. Users can view own default address, admins/staff can view any user's default address."
+    )
+    @SecurityRequirement(name = "bearerAuth")
+    public ApiResponse<AddressResponse> getDefaultAddress(
+            @RequestParam(required = false) UUID userId,
+            Authentication authentication) {
+        
+        // Extract user context from validated JWT (source of truth)
+        UUID currentUserId = getUserIdFromAuthentication(authentication);
+        UUID tenantId = getTenantIdFromAuthentication(authentication);
+        List<String> roles = getRolesFromAuthentication(authentication);
+        
+        // Determine target user ID
+        UUID targetUserId = userId != null ? userId : currentUserId;
+        
+        // Authorization check: If userId param is provided and doesn't match current user,
+        // user must have ADMIN/STAFF role
+        if (userId != null && !userId.equals(currentUserId)) {
+            if (!AddressAccess.hasAdminOrStaffRole(roles)) {
+                throw new BusinessException(
+                    ErrorCode.UNAUTHORIZED,
+                    "You can only view your own addresses"
+                );
+            }
+        }
+        
+        log.info("Getting default address for user: {}, tenant: {}", targetUserId, tenantId);
+        
+        AddressResponse response = addressService.getDefaultAddress(
+            targetUserId,
+            tenantId,
+            currentUserId,
+            roles
+        );
+        
+        return ApiResponse.success(response, "Default address retrieved successfully");
+    }
+
+    /**
+     * Export all addresses of the tenant
+     * 
+     * <p>Full per-tenant dump for compliance and analytics, where paging through the
+     * REST API is far too slow. The body is streamed from a database cursor as it is
+     * read (see AddressExporter), so the export size is not limited by memory.
+     * 
+     * <p>Formats: NDJSON (default, one address per line, fields as in AddressResponse)
+     * or CSV with a header row. Deleted and archived addresses are included with
+     * ?includeDeleted=true.
+     * 
+     * <p>Access control: ADMIN only.
+     * 
+     * <p>This endpoint is protected and requires authentication.
+     */
+    @GetMapping("/export")
+    @Operation(
+        summary = "Export tenant addresses",
+        description = "Streams every address of the caller's tenant as NDJSON or CSV (format=NDJSON|CSV). Supports includeDeleted query param. Admins only."
+    )
+    @SecurityRequirement(name = "bearerAuth")
+    public ResponseEntity<StreamingResponseBody> exportAddresses(
+            @RequestParam(required = false, defaultValue = "NDJSON") AddressExportFormat format,
+            @RequestParam(required = false, defaultValue = "false") boolean includeDeleted,
+            Authentication authentication) {
+        
+        // Extract user context from validated JWT (source of truth)
+        UUID currentUserId = getUserIdFromAuthentication(authentication);
+        UUID tenantId = getTenantIdFromAuthentication(authentication);
+        List<String> roles = getRolesFromAuthentication(authentication);
+        
+        // Authorization check before streaming starts (the status cannot change afterwards)
+        if (roles == null || !roles.contains("ADMIN")) {
+            throw new BusinessException(
+                ErrorCode.UNAUTHORIZED,
+                "Only admins can export addresses"
+            );
+        }
+        
+        log.info("Exporting addresses of tenant: {} as {} for user: {}, includeDeleted: {}", 
+            tenantId, format, currentUserId, includeDeleted);
+        
+        StreamingResponseBody body = out -> addressExporter.export(tenantId, format, includeDeleted, out);
+        
+        return ResponseEntity.ok()
+            .contentType(format.getMediaType())
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("addresses-" + tenantId + "." + format.getFileExtension())
+                .build()
+                .toString())
+            .body(body);
     }
 
     /**
@@ -255,7 +521,7 @@ public class AddressController {
         description = "Updates a saved address. Users can modify own addresses, admins/staff can modify any address."
     )
     @SecurityRequirement(name = "bearerAuth")
-    public ApiResponse<AddressResponse> updateAddress(
+    public ResponseEntity<ApiResponse<AddressResponse>> updateAddress(
             @PathVariable UUID addressId,
             @Valid @RequestBody AddressRequest addressRequest,
             Authentication authentication) {
@@ -275,7 +541,49 @@ public class AddressController {
             addressRequest
         );
         
-        return ApiResponse.success(response, "Address updated successfully");
+        return withConsistencyToken(HttpStatus.OK, ApiResponse.success(response, "Address updated successfully"));
+    }
+
+    /**
+     * Make an address the default address
+     * 
+     * <p>Lightweight alternative to a full PUT when only the default changes (e.g. the
+     * "use as default" toggle at checkout). Clears the previous default and flags this
+     * address in one short transaction, without re-running duplicate detection.
+     * 
+     * <p>Access control:
+     * <ul>
+     *   <li>Users can only change the default among their own addresses</li>
+     *   <li>Admins/Staff can change the default address of any user</li>
+     * </ul>
+     * 
+     * <p>This endpoint is protected and requires authentication.
+     */
+    @PatchMapping("/{addressId}/default")
+    @Operation(
+        summary = "Set default address",
+        description = "Makes the address the user's default address and clears the previous default. Users can change own default, admins/staff can change any user's default."
+    )
+    @SecurityRequirement(name = "bearerAuth")
+    public ResponseEntity<ApiResponse<AddressResponse>> setDefaultAddress(
+            @PathVariable UUID addressId,
+            Authentication authentication) {
+        
+        // Extract user context from validated JWT (source of truth)
+        UUID currentUserId = getUserIdFromAuthentication(authentication);
+        UUID tenantId = getTenantIdFromAuthentication(authentication);
+        List<String> roles = getRolesFromAuthentication(authentication);
+        
+        log.info("Setting default address {} for user: {}, tenant: {}", addressId, currentUserId, tenantId);
+        
+        AddressResponse response = addressService.setDefaultAddress(
+            addressId,
+            currentUserId,
+            tenantId,
+            roles
+        );
+        
+        return withConsistencyToken(HttpStatus.OK, ApiResponse.success(response, "Default address updated successfully"));
     }
 
     /**
@@ -316,7 +624,7 @@ public class AddressController {
             roles
         );
         
-        return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
+        return withConsistencyToken(HttpStatus.NO_CONTENT, null);
     }
 
     /**
@@ -384,14 +692,37 @@ public class AddressController {
         return jwtAuth.getRoles();
     }
 
+    private <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+            .eTag(etag)
+            .cacheControl(AddressETags.CACHE_CONTROL)
+            .build();
+    }
+
     /**
-     * Check if user has ADMIN or STAFF role
+     * Response to a committed write, with a consistency token when reads may go to a replica
      */
-    private boolean hasAdminOrStaffRole(List<String> roles) {
-        return roles != null && (
-            roles.contains("ADMIN") || 
-            roles.contains("STAFF")
-        );
+    private <T> ResponseEntity<T> withConsistencyToken(HttpStatus status, T body) {
+        String token = consistencyTokens.issue();
+        if (token == null) {
+            return ResponseEntity.status(status).body(body);
+        }
+        return ResponseEntity.status(status)
+            .header(ConsistencyToken.HEADER, token)
+            .body(body);
+    }
+
+    /**
+     * 200 response, with ETag and revalidation headers when a version is available
+     */
+    private <T> ResponseEntity<T> ok(String etag, T body) {
+        if (etag == null) {
+            return ResponseEntity.ok(body);
+        }
+        return ResponseEntity.ok()
+            .eTag(etag)
+            .cacheControl(AddressETags.CACHE_CONTROL)
+            .body(body);
     }
 }
 
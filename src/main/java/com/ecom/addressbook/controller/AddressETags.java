@@ -0,0 +1,46 @@
+package com.ecom.addressbook.controller;
+
+import com.ecom.addressbook.cache.AddressBookCache;
+import org.springframework.http.CacheControl;
+
+/**
+ * ETags derived from the address book version, shared by AddressController and
+ * AddressReadHandler so both read paths revalidate the same way
+ */
+final class AddressETags {
+
+    /**
+     * Sent with every ETag: clients may keep the response but must revalidate it
+     */
+    static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    private AddressETags() {
+    }
+
+    /**
+     * Build a weak ETag from an address book version (null if the version is unavailable)
+     * Weak because the response envelope is not guaranteed to be byte-identical across requests
+     */
+    static String of(long version) {
+        return version == AddressBookCache.UNVERSIONED ? null : "W/\"" + version + "\"";
+    }
+
+    /**
+     * Check an If-None-Match header against the current ETag (weak comparison)
+     * "*" is not honoured: it only asks whether some representation exists, which says
+     * nothing about the version the client holds
+     */
+    static boolean isNotModified(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        String opaqueTag = etag.substring(2);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if ((tag.startsWith("W/") ? tag.substring(2) : tag).equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
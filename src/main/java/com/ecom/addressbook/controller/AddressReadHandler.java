@@ -0,0 +1,135 @@
+package com.ecom.addressbook.controller;
+
+import com.ecom.addressbook.cache.AddressBookCache;
+import com.ecom.addressbook.cache.AddressBookCacheKey;
+import com.ecom.addressbook.cache.AddressBookResponseCache;
+import com.ecom.addressbook.cache.Versioned;
+import com.ecom.addressbook.repository.ReactiveAddressRepository;
+import com.ecom.addressbook.security.JwtAuthenticationToken;
+import com.ecom.error.exception.BusinessException;
+import com.ecom.error.model.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.function.ServerRequest;
+import org.springframework.web.servlet.function.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reactive handler for GET /api/v1/address
+ *
+ * <p>Serves the active address list of a user with the same caching and revalidation
+ * as AddressController#getUserAddresses: the response is tagged with the address book
+ * version (weak ETag), a matching If-None-Match is answered with 304, and the encoded
+ * body is shared with the controller through {@link AddressBookResponseCache}. Only a
+ * body cache miss queries {@link ReactiveAddressRepository}; that response is async, so
+ * the Tomcat thread goes back to the pool while the query runs, and an R2DBC connection
+ * is only held for the query itself instead of for the whole request.
+ *
+ * <p>The list itself is not read from or stored in the {@link AddressBookCache}: its
+ * loader contract is blocking. The version is read before the query, so a body is never
+ * cached under a version newer than the data it was encoded from.
+ *
+ * <p>Access control matches AddressController#getUserAddresses: users can read their
+ * own addresses, admins/staff can read any user's addresses via ?userId.
+ *
+ * <p>Only the plain active-list read is routed here (see ReactiveConfig). Admin
+ * include-deleted audit views (primary + archive), reads carrying an
+ * X-Consistency-Token and requests with a malformed userId fall through to
+ * AddressController.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class AddressReadHandler {
+
+    private static final String MESSAGE = "Addresses retrieved successfully";
+
+    private final ReactiveAddressRepository reactiveAddressRepository;
+    private final AddressBookCache addressBookCache;
+    private final AddressBookResponseCache addressBookResponseCache;
+
+    /**
+     * Get all active addresses for the authenticated user (or, for admins/staff, ?userId)
+     */
+    public ServerResponse getUserAddresses(ServerRequest request) {
+        // 1. Extract user context from validated JWT (source of truth)
+        JwtAuthenticationToken authentication = getAuthentication(request);
+        UUID currentUserId = parseId(authentication.getUserId(), "user ID");
+        UUID tenantId = parseId(authentication.getTenantId(), "tenant ID");
+        List<String> roles = authentication.getRoles();
+
+        // 2. Determine target user ID (a malformed userId is not routed here)
+        UUID targetUserId = request.param("userId").map(UUID::fromString).orElse(currentUserId);
+
+        // 3. Authorization check: other users' addresses require ADMIN/STAFF role
+        if (!targetUserId.equals(currentUserId) && !AddressAccess.hasAdminOrStaffRole(roles)) {
+            throw new BusinessException(
+                ErrorCode.UNAUTHORIZED,
+                "You can only view your own addresses"
+            );
+        }
+
+        log.info("Getting addresses (reactive) for user: {}, tenant: {}", targetUserId, tenantId);
+
+        // 4. Conditional GET and encoded body: answered from the address book version alone
+        long version = addressBookCache.getVersion(tenantId, targetUserId);
+        String etag = AddressETags.of(version);
+        if (AddressETags.isNotModified(request.headers().asHttpHeaders().getFirst(HttpHeaders.IF_NONE_MATCH), etag)) {
+            return withETag(ServerResponse.status(HttpStatus.NOT_MODIFIED), etag).build();
+        }
+        AddressBookCacheKey key = new AddressBookCacheKey(tenantId, targetUserId, false);
+        byte[] cached = addressBookResponseCache.getBodyIfPresent(key, version);
+        if (cached != null) {
+            return ok(etag, cached);
+        }
+
+        // 5. Query without blocking the request thread, then share the encoded body
+        Mono<ServerResponse> response = reactiveAddressRepository.findActiveResponses(targetUserId, tenantId)
+            .collectList()
+            .map(addresses -> ok(etag, addressBookResponseCache.getBody(
+                key,
+                new Versioned<>(version, List.copyOf(addresses)),
+                MESSAGE
+            )));
+        return ServerResponse.async(response);
+    }
+
+    private JwtAuthenticationToken getAuthentication(ServerRequest request) {
+        Principal principal = request.principal().orElse(null);
+        if (!(principal instanceof JwtAuthenticationToken authentication)) {
+            throw new BusinessException(
+                ErrorCode.UNAUTHORIZED,
+                "User ID is required. Please ensure you are authenticated."
+            );
+        }
+        return authentication;
+    }
+
+    private UUID parseId(String value, String name) {
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            log.error("Invalid {} format in JWT: {}", name, value);
+            throw new BusinessException(
+                ErrorCode.UNAUTHORIZED,
+                "Invalid " + name + " format"
+            );
+        }
+    }
+
+    private ServerResponse ok(String etag, byte[] body) {
+        return withETag(ServerResponse.ok(), etag)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(body);
+    }
+
+    private ServerResponse.BodyBuilder withETag(ServerResponse.BodyBuilder builder, String etag) {
+        return etag == null ? builder : builder.eTag(etag).cacheControl(AddressETags.CACHE_CONTROL);
+    }
+}
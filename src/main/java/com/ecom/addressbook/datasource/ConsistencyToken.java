@@ -0,0 +1,57 @@
+package com.ecom.addressbook.datasource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque read-your-writes token: a PostgreSQL WAL position (LSN) of the primary
+ *
+ * <p>Clients must treat the value as opaque; it is the base64url form of the textual
+ * LSN ("16/B374D848"). Internally LSNs are compared as unsigned 64-bit positions.
+ */
+public final class ConsistencyToken {
+
+    /**
+     * Header carrying the token (response of writes, request of reads)
+     */
+    public static final String HEADER = "X-Consistency-Token";
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private ConsistencyToken() {
+    }
+
+    /**
+     * Encode a textual LSN as a token
+     */
+    public static String encode(String lsn) {
+        return ENCODER.encodeToString(lsn.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Decode a token into a WAL position
+     *
+     * @return WAL position, or 0 if the token is malformed (treated as absent)
+     */
+    public static long decode(String token) {
+        try {
+            return parseLsn(new String(DECODER.decode(token), StandardCharsets.US_ASCII));
+        } catch (IllegalArgumentException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Parse PostgreSQL's textual LSN ("hi/lo", both hex) into a WAL position
+     */
+    static long parseLsn(String lsn) {
+        int separator = lsn.indexOf('/');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid LSN: " + lsn);
+        }
+        long high = Long.parseUnsignedLong(lsn.substring(0, separator), 16);
+        long low = Long.parseUnsignedLong(lsn.substring(separator + 1), 16);
+        return (high << 32) | low;
+    }
+}
@@ -0,0 +1,48 @@
+package com.ecom.addressbook.datasource;
+
+import com.ecom.addressbook.config.ReplicaDataSourceProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Consistency Token Filter
+ *
+ * <p>Binds the X-Consistency-Token of a request to the request thread, so that its
+ * read-only transactions use the replica only once it has replayed past the token's
+ * WAL position, and the primary otherwise. Malformed tokens are ignored.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConsistencyTokenFilter extends OncePerRequestFilter {
+
+    private final ReplicaDataSourceProperties replicaProperties;
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        String token = request.getHeader(ConsistencyToken.HEADER);
+        long lsn = token != null && replicaProperties.isEnabled() ? ConsistencyToken.decode(token) : 0;
+        if (lsn == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        DataSourceRouting.requireReplayed(lsn);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            DataSourceRouting.clearRequiredReplay();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.ecom.addressbook.datasource;
+
+import com.ecom.addressbook.config.ReplicaDataSourceProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Issues consistency tokens after writes
+ */
+@Component
+@RequiredArgsConstructor
+public class ConsistencyTokens {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReplicaDataSourceProperties replicaProperties;
+
+    /**
+     * Token for the primary's current WAL position. Call after the write has committed:
+     * any replica that has replayed up to this position sees the write.
+     *
+     * @return Token, or null when reads are never routed to a replica
+     */
+    public String issue() {
+        if (!replicaProperties.isEnabled()) {
+            return null;
+        }
+        // Outside a read-only transaction, so this runs on the primary
+        String lsn = jdbcTemplate.queryForObject("select pg_current_wal_lsn()::text", String.class);
+        return lsn != null ? ConsistencyToken.encode(lsn) : null;
+    }
+}
@@ -0,0 +1,70 @@
+package com.ecom.addressbook.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-thread constraints on where read-only transactions may run
+ *
+ * <p>Read-only transactions go to the replica by default. Reads that must see the
+ * latest committed state, such as admin audit views, wrap themselves in
+ * {@link #onPrimary(Supplier)}. Requests carrying a consistency token may only use a
+ * replica that has replayed past the token's WAL position ({@link #requireReplayed}).
+ * Has no effect when no replica is configured.
+ */
+public final class DataSourceRouting {
+
+    private static final ThreadLocal<Boolean> PRIMARY_FORCED = new ThreadLocal<>();
+    private static final ThreadLocal<Long> REQUIRED_LSN = new ThreadLocal<>();
+
+    private DataSourceRouting() {
+    }
+
+    /**
+     * Run an action whose read-only transactions must use the primary
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        Boolean previous = PRIMARY_FORCED.get();
+        PRIMARY_FORCED.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_FORCED.remove();
+            } else {
+                PRIMARY_FORCED.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Require the replica to have replayed up to a WAL position for the rest of the request
+     * (must be paired with {@link #clearRequiredReplay()})
+     */
+    public static void requireReplayed(long lsn) {
+        REQUIRED_LSN.set(lsn);
+    }
+
+    public static void clearRequiredReplay() {
+        REQUIRED_LSN.remove();
+    }
+
+    /**
+     * Whether the current request carries a consistency token, i.e. its reads must
+     * reflect a write it was told about
+     */
+    public static boolean isReplayRequired() {
+        return requiredLsn() != 0;
+    }
+
+    static boolean isPrimaryForced() {
+        return Boolean.TRUE.equals(PRIMARY_FORCED.get());
+    }
+
+    /**
+     * WAL position the replica must have replayed, or 0 if unconstrained
+     */
+    static long requiredLsn() {
+        Long lsn = REQUIRED_LSN.get();
+        return lsn != null ? lsn : 0;
+    }
+}
@@ -0,0 +1,123 @@
+package com.ecom.addressbook.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Measures replication lag and decides whether the replica may serve reads
+ *
+ * <p>The replica is usable only while its last measured lag is within the configured
+ * threshold. Until the first successful check, and whenever a check fails, reads
+ * fall back to the primary.
+ *
+ * <p>Reported as the "replicaLag" health component (always UP: a lagging replica
+ * degrades routing, not the service) and as metrics:
+ * <ul>
+ *   <li>address.datasource.replica.lag - last measured lag in seconds (-1 if unknown)</li>
+ *   <li>address.datasource.replica.routing - 1 while reads go to the replica, 0 on fallback</li>
+ * </ul>
+ */
+@Slf4j
+public class ReplicaLagMonitor implements HealthIndicator {
+
+    /**
+     * Zero when fully replayed; otherwise time since the last replayed transaction
+     */
+    private static final String LAG_QUERY = """
+        select case
+                 when not pg_is_in_recovery() then 0
+                 when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+                 else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 0)
+               end
+        """;
+
+    private static final String REPLAY_LSN_QUERY = "select pg_last_wal_replay_lsn()::text";
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final Duration maxLag;
+    private volatile double lagSeconds = -1;
+    private volatile boolean usable = false;
+    private volatile long replayedLsn = 0;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, Duration maxLag, MeterRegistry meterRegistry) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.maxLag = maxLag;
+        Gauge.builder("address.datasource.replica.lag", this, monitor -> monitor.lagSeconds)
+            .baseUnit("seconds")
+            .register(meterRegistry);
+        Gauge.builder("address.datasource.replica.routing", this, monitor -> monitor.usable ? 1 : 0)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Whether read-only transactions may currently use the replica
+     */
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+
+    /**
+     * Whether the replica has replayed up to a WAL position (consistency token)
+     * Answered from the last known position when possible, otherwise asks the replica
+     */
+    public boolean hasReplayed(long lsn) {
+        if (Long.compareUnsigned(lsn, replayedLsn) <= 0) {
+            return true;
+        }
+        try {
+            refreshReplayedLsn();
+        } catch (Exception e) {
+            log.debug("Replica replay position check failed: {}", e.getMessage());
+            return false;
+        }
+        return Long.compareUnsigned(lsn, replayedLsn) <= 0;
+    }
+
+    @Scheduled(fixedDelayString = "${address-book.datasource.replica.check-interval:PT5S}")
+    public void check() {
+        boolean wasUsable = usable;
+        try {
+            Double lag = replicaJdbcTemplate.queryForObject(LAG_QUERY, Double.class);
+            lagSeconds = lag != null ? lag : -1;
+            usable = lag != null && lag * 1000 <= maxLag.toMillis();
+            refreshReplayedLsn();
+        } catch (Exception e) {
+            lagSeconds = -1;
+            usable = false;
+            log.debug("Replica lag check failed: {}", e.getMessage());
+        }
+
+        if (wasUsable != usable) {
+            log.warn("Replica {} (lag: {}s, threshold: {}); reads now go to the {}",
+                usable ? "caught up" : "lagging or unreachable", lagSeconds, maxLag, usable ? "replica" : "primary");
+        }
+    }
+
+    private void refreshReplayedLsn() {
+        String lsn = replicaJdbcTemplate.queryForObject(REPLAY_LSN_QUERY, String.class);
+        if (lsn != null) {
+            long position = ConsistencyToken.parseLsn(lsn);
+            // Positions only move forward; keep the highest seen under concurrent refreshes
+            if (Long.compareUnsigned(position, replayedLsn) > 0) {
+                replayedLsn = position;
+            }
+        }
+    }
+
+    @Override
+    public Health health() {
+        return Health.up()
+            .withDetail("routing", usable ? "replica" : "primary")
+            .withDetail("lagSeconds", lagSeconds)
+            .withDetail("maxLag", maxLag.toString())
+            .build();
+    }
+}
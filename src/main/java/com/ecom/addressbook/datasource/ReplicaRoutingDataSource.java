@@ -0,0 +1,44 @@
+package com.ecom.addressbook.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Target for read-only connections: the replica while it is usable, else the primary
+ *
+ * <p>Installed as the read-only DataSource of a LazyConnectionDataSourceProxy, so it is
+ * only consulted for connections of read-only transactions. Falls back to the primary
+ * when the replica lags beyond the threshold, when the caller forced the primary
+ * ({@link DataSourceRouting#onPrimary}), or when the request carries a consistency token
+ * the replica has not replayed yet.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final ReplicaLagMonitor lagMonitor;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (DataSourceRouting.isPrimaryForced() || !lagMonitor.isReplicaUsable()) {
+            return Target.PRIMARY;
+        }
+        long requiredLsn = DataSourceRouting.requiredLsn();
+        if (requiredLsn != 0 && !lagMonitor.hasReplayed(requiredLsn)) {
+            return Target.PRIMARY;
+        }
+        return Target.REPLICA;
+    }
+}
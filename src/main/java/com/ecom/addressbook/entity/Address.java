@@ -33,8 +33,12 @@ import java.util.UUID;
 @EntityListeners(AuditingEntityListener.class)
 public class Address {
     
+    /**
+     * Time-ordered UUIDv7, so inserts append to the primary key index
+     * (rows created before V7 keep their random v4 ids)
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
     /**
@@ -89,6 +93,13 @@ public class Address {
     @Column(nullable = false)
     private String country;
 
+    /**
+     * Hash of the normalized line1, city, postcode and country ({@link AddressFingerprint})
+     * Active addresses are unique per (tenant, user, fingerprint)
+     */
+    @Column(nullable = false, name = "address_fingerprint")
+    private Long addressFingerprint;
+
     /**
      * Address label for identification (e.g., "Home", "Office", "Warehouse")
      * Optional field
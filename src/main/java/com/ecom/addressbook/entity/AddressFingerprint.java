@@ -0,0 +1,63 @@
+package com.ecom.addressbook.entity;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Duplicate-detection key of an address: first 64 bits of SHA-256 over the normalized
+ * line1, city, postcode and country
+ *
+ * <p>Normalization lower-cases ASCII letters, collapses runs of space, tab, CR and LF to
+ * a single space and trims, so addresses that only differ in case or spacing are
+ * duplicates. It is ASCII-only on purpose: the SQL function address_fingerprint() (V8
+ * migration), which a trigger applies on every write, must produce the same value without
+ * depending on collation or locale.
+ *
+ * <p>64 bits suffice because keys are only compared within one user's address book.
+ */
+public final class AddressFingerprint {
+
+    private static final char SEPARATOR = '\u001f';
+
+    private AddressFingerprint() {
+    }
+
+    public static long of(String line1, String city, String postcode, String country) {
+        StringBuilder canonical = new StringBuilder(line1.length() + city.length() + postcode.length() + country.length() + 3);
+        appendNormalized(canonical, line1).append(SEPARATOR);
+        appendNormalized(canonical, city).append(SEPARATOR);
+        appendNormalized(canonical, postcode).append(SEPARATOR);
+        appendNormalized(canonical, country);
+        byte[] digest = sha256().digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+        return ByteBuffer.wrap(digest).getLong();
+    }
+
+    private static StringBuilder appendNormalized(StringBuilder target, String value) {
+        boolean pendingSpace = false;
+        int start = target.length();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ' ' || c == '\t' || c == '\r' || c == '\n') {
+                pendingSpace = true;
+                continue;
+            }
+            if (pendingSpace && target.length() > start) {
+                target.append(' ');
+            }
+            pendingSpace = false;
+            target.append(c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c);
+        }
+        return target;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every JVM is required to provide SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
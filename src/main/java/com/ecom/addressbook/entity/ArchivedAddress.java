@@ -0,0 +1,79 @@
+package com.ecom.addressbook.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Archived Address Entity
+ * 
+ * <p>Read-only view of addresses that were soft-deleted longer than the retention
+ * period and moved out of the hot addresses table by AddressArchiver. Rows are
+ * written only by the archiver (SQL) and read by admin include-deleted views.
+ */
+@Entity
+@Immutable
+@Table(name = "addresses_archive")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ArchivedAddress {
+
+    @Id
+    private UUID id;
+
+    @Column(nullable = false, name = "user_id")
+    private UUID userId;
+
+    @Column(nullable = false, name = "tenant_id")
+    private UUID tenantId;
+
+    @Column(nullable = false, name = "line1")
+    private String line1;
+
+    @Column(name = "line2")
+    private String line2;
+
+    @Column(nullable = false)
+    private String city;
+
+    @Column
+    private String state;
+
+    @Column(nullable = false)
+    private String postcode;
+
+    @Column(nullable = false)
+    private String country;
+
+    @Column
+    private String label;
+
+    @Column(nullable = false, name = "is_default")
+    private Boolean isDefault;
+
+    @Column(nullable = false)
+    private Boolean deleted;
+
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
+    @Column(nullable = false, name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false, name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /**
+     * Timestamp when the row was moved from addresses
+     */
+    @Column(nullable = false, name = "archived_at")
+    private LocalDateTime archivedAt;
+}
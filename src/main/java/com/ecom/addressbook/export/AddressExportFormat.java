@@ -0,0 +1,26 @@
+package com.ecom.addressbook.export;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+
+/**
+ * Output format of a tenant address export
+ */
+@Getter
+@RequiredArgsConstructor
+public enum AddressExportFormat {
+
+    /**
+     * One JSON object per line, with the field names of AddressResponse
+     */
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+
+    /**
+     * RFC 4180 CSV with a header row, same columns as NDJSON
+     */
+    CSV(MediaType.parseMediaType("text/csv;charset=UTF-8"), "csv");
+
+    private final MediaType mediaType;
+    private final String fileExtension;
+}
@@ -0,0 +1,330 @@
+package com.ecom.addressbook.export;
+
+import com.ecom.addressbook.config.ExportProperties;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streams all addresses of a tenant to NDJSON or CSV
+ *
+ * <p>Rows are read through a server-side cursor: inside a read-only transaction the
+ * PostgreSQL driver fetches {@code fetch-size} rows per round-trip instead of
+ * materializing the whole result, and each row is written to the output as soon as
+ * it is read. Memory use is therefore bounded by the fetch size and the output
+ * buffers, whatever the size of the tenant. Being read-only, the export is served by
+ * the read replica when one is configured.
+ *
+ * <p>Rows are not ordered (no sort over millions of rows). With includeDeleted, rows
+ * of addresses_archive follow those of addresses.
+ *
+ * <p>The cursor holds a database connection for the whole export, which lasts as
+ * long as the client takes to read it.
+ *
+ * <p>Metrics (tagged format=ndjson|csv):
+ * <ul>
+ *   <li>address.export.rows - rows written (rate = rows/sec)</li>
+ *   <li>address.export.bytes - bytes written (rate = bytes/sec)</li>
+ *   <li>address.export.duration - duration of each export</li>
+ * </ul>
+ * Counters are updated every {@value #METER_INTERVAL_ROWS} rows, so rates are live
+ * while a long export runs.
+ */
+@Component
+@EnableConfigurationProperties(ExportProperties.class)
+@Slf4j
+public class AddressExporter {
+
+    private static final int METER_INTERVAL_ROWS = 1_000;
+
+    private static final List<Column> COLUMNS = List.of(
+        new Column("id", "id", Kind.TEXT),
+        new Column("user_id", "userId", Kind.TEXT),
+        new Column("tenant_id", "tenantId", Kind.TEXT),
+        new Column("line1", "line1", Kind.TEXT),
+        new Column("line2", "line2", Kind.TEXT),
+        new Column("city", "city", Kind.TEXT),
+        new Column("state", "state", Kind.TEXT),
+        new Column("postcode", "postcode", Kind.TEXT),
+        new Column("country", "country", Kind.TEXT),
+        new Column("label", "label", Kind.TEXT),
+        new Column("is_default", "isDefault", Kind.BOOLEAN),
+        new Column("deleted", "deleted", Kind.BOOLEAN),
+        new Column("deleted_at", "deletedAt", Kind.TIMESTAMP),
+        new Column("created_at", "createdAt", Kind.TIMESTAMP),
+        new Column("updated_at", "updatedAt", Kind.TIMESTAMP)
+    );
+
+    private static final String SELECT_COLUMNS = "select " + String.join(", ", COLUMNS.stream().map(Column::name).toList());
+
+    private static final String ACTIVE_QUERY = SELECT_COLUMNS + " from addresses where tenant_id = ? and deleted = false";
+
+    private static final String ALL_QUERY = SELECT_COLUMNS + " from addresses where tenant_id = ?"
+        + " union all " + SELECT_COLUMNS + " from addresses_archive where tenant_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    private final ExportProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public AddressExporter(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            ExportProperties properties,
+            MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Write all addresses of a tenant to a stream
+     *
+     * @param tenantId Tenant to export
+     * @param format Output format
+     * @param includeDeleted Include soft-deleted and archived addresses
+     * @param out Destination (not closed)
+     * @throws IOException If writing fails, e.g. because the client disconnected
+     */
+    public void export(UUID tenantId, AddressExportFormat format, boolean includeDeleted, OutputStream out) throws IOException {
+        String tag = format.getFileExtension();
+        Counter rowCounter = Counter.builder("address.export.rows")
+            .description("Address rows written by exports")
+            .tag("format", tag)
+            .register(meterRegistry);
+        Counter byteCounter = Counter.builder("address.export.bytes")
+            .description("Bytes written by exports")
+            .baseUnit("bytes")
+            .tag("format", tag)
+            .register(meterRegistry);
+        Timer duration = Timer.builder("address.export.duration")
+            .description("Duration of one tenant export")
+            .tag("format", tag)
+            .register(meterRegistry);
+
+        CountingOutputStream counted = new CountingOutputStream(out);
+        RowWriter writer = format == AddressExportFormat.CSV ? new CsvWriter(counted) : new NdjsonWriter(counted);
+        long start = System.nanoTime();
+        long[] rows = new long[1];
+        long[] metered = new long[2]; // rows, bytes already added to the counters
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement statement = connection.prepareStatement(
+                        includeDeleted ? ALL_QUERY : ACTIVE_QUERY,
+                        ResultSet.TYPE_FORWARD_ONLY,
+                        ResultSet.CONCUR_READ_ONLY);
+                    statement.setFetchSize(properties.getFetchSize());
+                    statement.setObject(1, tenantId);
+                    if (includeDeleted) {
+                        statement.setObject(2, tenantId);
+                    }
+                    return statement;
+                },
+                (ResultSet resultSet) -> {
+                    try {
+                        writer.row(resultSet);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    if (++rows[0] % METER_INTERVAL_ROWS == 0) {
+                        meter(rows[0], counted.count, metered, rowCounter, byteCounter);
+                    }
+                }));
+            writer.finish();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            meter(rows[0], counted.count, metered, rowCounter, byteCounter);
+            duration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        long millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        log.info("Exported {} addresses ({} bytes) of tenant {} as {} in {} ms ({} rows/s)",
+            rows[0], counted.count, tenantId, tag, millis, rows[0] * 1000 / millis);
+    }
+
+    private static void meter(long rows, long bytes, long[] metered, Counter rowCounter, Counter byteCounter) {
+        rowCounter.increment(rows - metered[0]);
+        byteCounter.increment(bytes - metered[1]);
+        metered[0] = rows;
+        metered[1] = bytes;
+    }
+
+    private enum Kind { TEXT, BOOLEAN, TIMESTAMP }
+
+    /**
+     * Exported column: SQL column name and field name in the output (as in AddressResponse)
+     */
+    private record Column(String name, String field, Kind kind) {
+    }
+
+    private interface RowWriter {
+
+        void row(ResultSet resultSet) throws SQLException, IOException;
+
+        void finish() throws IOException;
+    }
+
+    /**
+     * One JSON object per line
+     */
+    private final class NdjsonWriter implements RowWriter {
+
+        private final JsonGenerator json;
+
+        NdjsonWriter(OutputStream out) throws IOException {
+            this.json = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+            this.json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.json.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void row(ResultSet resultSet) throws SQLException, IOException {
+            json.writeStartObject();
+            for (int i = 0; i < COLUMNS.size(); i++) {
+                Column column = COLUMNS.get(i);
+                json.writeFieldName(column.field());
+                switch (column.kind()) {
+                    case BOOLEAN -> json.writeBoolean(resultSet.getBoolean(i + 1));
+                    case TEXT, TIMESTAMP -> {
+                        String value = text(resultSet, i + 1, column.kind());
+                        if (value == null) {
+                            json.writeNull();
+                        } else {
+                            json.writeString(value);
+                        }
+                    }
+                }
+            }
+            json.writeEndObject();
+            json.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            json.flush();
+        }
+    }
+
+    /**
+     * RFC 4180: header row, CRLF line endings, fields quoted only when needed
+     */
+    private static final class CsvWriter implements RowWriter {
+
+        private final Writer writer;
+
+        CsvWriter(OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            for (int i = 0; i < COLUMNS.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(COLUMNS.get(i).field());
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void row(ResultSet resultSet) throws SQLException, IOException {
+            for (int i = 0; i < COLUMNS.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Column column = COLUMNS.get(i);
+                String value = column.kind() == Kind.BOOLEAN
+                    ? String.valueOf(resultSet.getBoolean(i + 1))
+                    : text(resultSet, i + 1, column.kind());
+                if (value != null) {
+                    writeField(value);
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        private void writeField(String value) throws IOException {
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+            }
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+    }
+
+    /**
+     * Text of a TEXT (uuid/varchar) or TIMESTAMP (ISO-8601, as Jackson writes it) column
+     */
+    private static String text(ResultSet resultSet, int index, Kind kind) throws SQLException {
+        if (kind == Kind.TIMESTAMP) {
+            LocalDateTime value = resultSet.getObject(index, LocalDateTime.class);
+            return value != null ? value.toString() : null;
+        }
+        return resultSet.getString(index);
+    }
+
+    /**
+     * Counts bytes written to the response (address.export.bytes)
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.ecom.addressbook.maintenance;
+
+import com.ecom.addressbook.config.ArchiveProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+/**
+ * Moves long soft-deleted addresses from addresses to addresses_archive
+ *
+ * <p>Soft-deleted rows otherwise stay in the hot table and its indexes forever.
+ * Every run moves rows deleted more than the retention period ago, oldest first,
+ * in chunks: each chunk is one DELETE ... RETURNING feeding an INSERT into the
+ * archive, in its own short transaction. Candidate rows are selected with
+ * FOR UPDATE SKIP LOCKED, so several instances can run the archiver at the same
+ * time without blocking each other or live writes.
+ *
+ * <p>Archived rows remain visible to admin include-deleted views, which union
+ * the archive. No cache invalidation is needed: the row only changes tables, and
+ * those views read both tables from one snapshot (AddressServiceImpl), so a row
+ * moved concurrently is found in exactly one of them.
+ *
+ * <p>Metrics:
+ * <ul>
+ *   <li>address.archive.rows - rows moved (rate = throughput)</li>
+ *   <li>address.archive.chunk.duration - duration of each chunk transaction, i.e. how
+ *       long the moved rows are locked</li>
+ * </ul>
+ */
+@Component
+@ConditionalOnProperty(prefix = "address-book.archive", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(ArchiveProperties.class)
+@Slf4j
+public class AddressArchiver {
+
+    private static final String ARCHIVE_CHUNK = """
+        with moved as (
+            delete from addresses
+             where (id, tenant_id) in (
+                   select id, tenant_id
+                     from addresses
+                    where deleted = true
+                      and deleted_at < ?
+                    order by deleted_at
+                    limit ?
+                      for update skip locked)
+            returning id, user_id, tenant_id, line1, line2, city, state, postcode, country,
+                      label, is_default, deleted, deleted_at, created_at, updated_at, address_fingerprint
+        )
+        insert into addresses_archive (id, user_id, tenant_id, line1, line2, city, state, postcode,
+                                       country, label, is_default, deleted, deleted_at, created_at, updated_at,
+                                       address_fingerprint)
+        select * from moved
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ArchiveProperties properties;
+    private final Counter archivedRows;
+    private final Timer chunkDuration;
+
+    public AddressArchiver(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            ArchiveProperties properties,
+            MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.archivedRows = Counter.builder("address.archive.rows")
+            .description("Soft-deleted addresses moved to addresses_archive")
+            .register(meterRegistry);
+        this.chunkDuration = Timer.builder("address.archive.chunk.duration")
+            .description("Duration of one archive chunk transaction (lock duration of the moved rows)")
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Archive one run's worth of chunks
+     */
+    @Scheduled(
+        initialDelayString = "${address-book.archive.interval:PT15M}",
+        fixedDelayString = "${address-book.archive.interval:PT15M}"
+    )
+    public void archive() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getRetention());
+        int chunkSize = properties.getChunkSize();
+
+        long moved = 0;
+        for (int chunk = 0; chunk < properties.getMaxChunksPerRun(); chunk++) {
+            Integer rows = chunkDuration.record(() ->
+                transactionTemplate.execute(status -> jdbcTemplate.update(ARCHIVE_CHUNK, cutoff, chunkSize)));
+            int count = rows != null ? rows : 0;
+            archivedRows.increment(count);
+            moved += count;
+
+            // Backlog drained (or the remaining candidates are locked by another instance)
+            if (count < chunkSize) {
+                break;
+            }
+        }
+
+        if (moved > 0) {
+            log.info("Archived {} addresses soft-deleted before {}", moved, cutoff);
+        }
+    }
+}
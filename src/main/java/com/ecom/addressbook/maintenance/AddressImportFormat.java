@@ -0,0 +1,21 @@
+package com.ecom.addressbook.maintenance;
+
+/**
+ * Input format of a bulk address import (AddressImporter)
+ *
+ * <p>Independent of the export format: import records are named as in AddressRequest
+ * and carry a userId, export rows as in AddressResponse. The constant names are stored
+ * with each import job, so renaming one breaks resuming jobs started before.
+ */
+public enum AddressImportFormat {
+
+    /**
+     * One JSON object per line
+     */
+    NDJSON,
+
+    /**
+     * RFC 4180 CSV with a header row
+     */
+    CSV
+}
@@ -0,0 +1,194 @@
+package com.ecom.addressbook.maintenance;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Splits an import file into raw records (AddressImporter)
+ *
+ * <p>NDJSON: one record per non-blank line. CSV (RFC 4180): the first record is the
+ * header; a record continues over line breaks inside quoted fields. Blank lines between
+ * records are skipped, so record numbers are stable across runs of the same file.
+ *
+ * <p>Only splits: records are parsed in parallel by the importer. Not thread-safe.
+ */
+final class AddressImportReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final CountingInputStream input;
+    private final BufferedReader reader;
+    private final boolean csv;
+    private final Map<String, Integer> columns;
+
+    AddressImportReader(Path file, AddressImportFormat format) throws IOException {
+        this.input = new CountingInputStream(Files.newInputStream(file));
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), BUFFER_SIZE);
+        this.csv = format == AddressImportFormat.CSV;
+        this.columns = csv ? readHeader() : null;
+    }
+
+    /**
+     * CSV column indexes by lower-case name, or null for NDJSON
+     */
+    Map<String, Integer> columns() {
+        return columns;
+    }
+
+    /**
+     * Skip records already imported by a previous run
+     */
+    void skip(long records) throws IOException {
+        for (long i = 0; i < records && nextRecord() != null; i++) {
+            // Records are only counted
+        }
+    }
+
+    /**
+     * Next records, at most max (empty at the end of the file)
+     */
+    List<String> next(int max) throws IOException {
+        List<String> records = new ArrayList<>(max);
+        String record;
+        while (records.size() < max && (record = nextRecord()) != null) {
+            records.add(record);
+        }
+        return records;
+    }
+
+    /**
+     * Bytes consumed from the file so far (read-ahead included), for progress reporting
+     */
+    long bytesRead() {
+        return input.count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private Map<String, Integer> readHeader() throws IOException {
+        String header = nextRecord();
+        if (header == null) {
+            throw new IOException("CSV file has no header row");
+        }
+        Map<String, Integer> indexes = new HashMap<>();
+        List<String> names = parseCsv(header);
+        for (int i = 0; i < names.size(); i++) {
+            indexes.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        return indexes;
+    }
+
+    private String nextRecord() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        if (!csv || quotes(line) % 2 == 0) {
+            return line;
+        }
+
+        // Quoted field spans lines: the record ends once every quote is closed
+        StringBuilder record = new StringBuilder(line);
+        long quotes = quotes(line);
+        while (quotes % 2 != 0) {
+            String more = reader.readLine();
+            if (more == null) {
+                throw new IOException("Unterminated quoted field at end of CSV file");
+            }
+            record.append('\n').append(more);
+            quotes += quotes(more);
+        }
+        return record.toString();
+    }
+
+    private static long quotes(String line) {
+        return line.chars().filter(c -> c == '"').count();
+    }
+
+    /**
+     * Fields of one CSV record (RFC 4180 quoting)
+     *
+     * @throws IllegalArgumentException If the record is malformed
+     */
+    static List<String> parseCsv(String record) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean afterQuoted = false;
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                    afterQuoted = true;
+                }
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                afterQuoted = false;
+            } else if (afterQuoted) {
+                throw new IllegalArgumentException("Unexpected character after quoted field at position " + i);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = in.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+    }
+}
@@ -0,0 +1,512 @@
+package com.ecom.addressbook.maintenance;
+
+import com.ecom.addressbook.cache.AddressBookCacheInvalidator;
+import com.ecom.addressbook.config.ImportProperties;
+import com.ecom.addressbook.entity.AddressFingerprint;
+import com.ecom.addressbook.model.request.AddressRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Bulk import of legacy address books from NDJSON or CSV files
+ *
+ * <p>Loads tens of millions of addresses far faster than createAddress row by row.
+ * The file is processed in chunks:
+ * <ol>
+ *   <li>records are parsed, normalized (trimmed, blank optional fields dropped, country
+ *       upper-cased) and validated against the AddressRequest constraints in parallel;
+ *       the next chunk is parsed while the current one is loaded</li>
+ *   <li>valid rows are streamed with COPY into a temporary staging table</li>
+ *   <li>one INSERT ... SELECT merges the staging table into addresses with
+ *       idx_addresses_unique_active semantics: a row whose fingerprint matches an active
+ *       address of its user, or an earlier row of the file, is counted as a duplicate</li>
+ *   <li>rejected records and the job's progress are written in the same transaction</li>
+ * </ol>
+ *
+ * <p>Default addresses: a row keeps isDefault only if its user has no active default
+ * yet and it is the user's first default row in the chunk; other rows are imported as
+ * non-default, so idx_addresses_default_unique is never violated.
+ *
+ * <p>Progress is kept in address_import_jobs (one row per tenant and file) and logged
+ * after every chunk. Re-running the same import resumes after the last committed chunk;
+ * a completed import is not run again.
+ *
+ * <p>Run it as a one-off instance, e.g.
+ * {@code --address-book.import.enabled=true --address-book.import.file=/data/addresses.csv
+ * --address-book.import.format=CSV --address-book.import.tenant-id=...
+ * --spring.main.web-application-type=none}.
+ *
+ * <p>Metrics:
+ * <ul>
+ *   <li>address.import.rows{result=imported|duplicate|rejected} - rate = throughput</li>
+ *   <li>address.import.chunk.duration - duration of each staging and merge transaction</li>
+ * </ul>
+ */
+@Component
+@ConditionalOnProperty(prefix = "address-book.import", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ImportProperties.class)
+@Slf4j
+public class AddressImporter implements ApplicationRunner {
+
+    private static final int MAX_REASON_LENGTH = 1_000;
+
+    private static final String CREATE_STAGING = """
+        create temp table address_import_staging (
+            record_no bigint not null,
+            user_id uuid not null,
+            line1 varchar(255) not null,
+            line2 varchar(255),
+            city varchar(100) not null,
+            state varchar(100),
+            postcode varchar(20) not null,
+            country varchar(2) not null,
+            label varchar(50),
+            is_default boolean not null,
+            address_fingerprint bigint not null
+        ) on commit drop
+        """;
+
+    private static final String COPY_STAGING = """
+        copy address_import_staging (record_no, user_id, line1, line2, city, state, postcode, country,
+                                     label, is_default, address_fingerprint) from stdin
+        """;
+
+    private static final String MERGE = """
+        with unique_rows as (
+            -- First row of the chunk for each (user, fingerprint)
+            select distinct on (user_id, address_fingerprint) *
+              from address_import_staging
+             order by user_id, address_fingerprint, record_no
+        ),
+        new_rows as (
+            -- Not yet an active address of the user (rows of earlier chunks included)
+            select u.*, row_number() over (partition by u.user_id, u.is_default order by u.record_no) as default_rank
+              from unique_rows u
+             where not exists (
+                   select 1
+                     from addresses a
+                    where a.tenant_id = ?
+                      and a.user_id = u.user_id
+                      and a.address_fingerprint = u.address_fingerprint
+                      and a.deleted = false)
+        )
+        insert into addresses (user_id, tenant_id, line1, line2, city, state, postcode, country, label,
+                               is_default, address_fingerprint)
+        select n.user_id, ?, n.line1, n.line2, n.city, n.state, n.postcode, n.country, n.label,
+               n.is_default and n.default_rank = 1 and not exists (
+                   select 1
+                     from addresses d
+                    where d.tenant_id = ?
+                      and d.user_id = n.user_id
+                      and d.is_default = true
+                      and d.deleted = false),
+               n.address_fingerprint
+          from new_rows n
+         order by n.user_id
+        on conflict do nothing
+        returning user_id
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final AddressBookCacheInvalidator addressBookCacheInvalidator;
+    private final ImportProperties properties;
+    private final Counter importedRows;
+    private final Counter duplicateRows;
+    private final Counter rejectedRows;
+    private final Timer chunkDuration;
+
+    public AddressImporter(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper,
+            Validator validator,
+            AddressBookCacheInvalidator addressBookCacheInvalidator,
+            ImportProperties properties,
+            MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.addressBookCacheInvalidator = addressBookCacheInvalidator;
+        this.properties = properties;
+        this.importedRows = rowCounter("imported", meterRegistry);
+        this.duplicateRows = rowCounter("duplicate", meterRegistry);
+        this.rejectedRows = rowCounter("rejected", meterRegistry);
+        this.chunkDuration = Timer.builder("address.import.chunk.duration")
+            .description("Duration of one import chunk transaction (COPY into staging + merge)")
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        if (properties.getFile() == null || properties.getFile().isBlank() || properties.getTenantId() == null) {
+            throw new IllegalStateException("address-book.import.file and address-book.import.tenant-id are required");
+        }
+        Path file = Path.of(properties.getFile());
+        UUID tenantId = properties.getTenantId();
+
+        // 1. Find or create the job of this (tenant, file); nothing to do once completed
+        Job job = startJob(tenantId, file.toAbsolutePath().toString(), Files.size(file));
+        if (job == null) {
+            return;
+        }
+
+        // 2. Import; a failure is recorded on the job and the next run resumes after the last committed chunk
+        try {
+            importFile(job, file);
+        } catch (IOException | RuntimeException e) {
+            jdbcTemplate.update("""
+                update address_import_jobs
+                   set status = 'FAILED', error = ?, updated_at = current_timestamp
+                 where id = ?
+                """, truncate(String.valueOf(e.getMessage())), job.id());
+            throw e;
+        }
+    }
+
+    private Job startJob(UUID tenantId, String source, long size) {
+        jdbcTemplate.update("""
+            insert into address_import_jobs (tenant_id, source, source_size, format, status)
+            values (?, ?, ?, ?, 'RUNNING')
+            on conflict (tenant_id, source) do nothing
+            """, tenantId, source, size, properties.getFormat().name());
+
+        Job job = jdbcTemplate.queryForObject("""
+            select id, tenant_id, source_size, format, status, processed_records
+              from address_import_jobs
+             where tenant_id = ? and source = ?
+            """,
+            (rs, rowNum) -> new Job(
+                rs.getObject("id", UUID.class),
+                rs.getObject("tenant_id", UUID.class),
+                rs.getLong("source_size"),
+                rs.getString("format"),
+                rs.getString("status"),
+                rs.getLong("processed_records")),
+            tenantId, source);
+
+        if ("COMPLETED".equals(job.status())) {
+            log.info("Import of {} into tenant {} already completed (job {})", source, tenantId, job.id());
+            return null;
+        }
+        if (job.sourceSize() != size || !job.format().equals(properties.getFormat().name())) {
+            throw new IllegalStateException("Import source " + source + " changed since job " + job.id()
+                + " started; delete the job to import it from the beginning");
+        }
+
+        jdbcTemplate.update("""
+            update address_import_jobs
+               set status = 'RUNNING', error = null, updated_at = current_timestamp
+             where id = ?
+            """, job.id());
+        if (job.processedRecords() > 0) {
+            log.info("Resuming import of {} into tenant {} after record {} (job {})",
+                source, tenantId, job.processedRecords(), job.id());
+        }
+        return job;
+    }
+
+    private void importFile(Job job, Path file) throws IOException {
+        long size = Math.max(1, job.sourceSize());
+        long start = System.nanoTime();
+        long processed = job.processedRecords();
+        ForkJoinPool parsers = new ForkJoinPool(properties.getParallelism());
+        try (AddressImportReader reader = new AddressImportReader(file, properties.getFormat())) {
+            reader.skip(processed);
+            Map<String, Integer> columns = reader.columns();
+
+            CompletableFuture<List<ParsedRecord>> parsing =
+                parse(processed + 1, reader.next(properties.getChunkSize()), columns, parsers);
+            while (true) {
+                List<ParsedRecord> chunk = parsing.join();
+                if (chunk.isEmpty()) {
+                    break;
+                }
+
+                // Parse the next chunk while this one is loaded
+                processed += chunk.size();
+                parsing = parse(processed + 1, reader.next(properties.getChunkSize()), columns, parsers);
+                load(job, chunk);
+
+                long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+                log.info("Import job {}: {} records processed ({}% of file, {} records/s this run)",
+                    job.id(), processed, reader.bytesRead() * 100 / size,
+                    (processed - job.processedRecords()) / seconds);
+            }
+        } finally {
+            parsers.shutdown();
+        }
+
+        jdbcTemplate.update("""
+            update address_import_jobs
+               set status = 'COMPLETED', completed_at = current_timestamp, updated_at = current_timestamp
+             where id = ?
+            """, job.id());
+        Map<String, Object> totals = jdbcTemplate.queryForMap(
+            "select imported_rows, duplicate_rows, rejected_rows from address_import_jobs where id = ?", job.id());
+        log.info("Import job {} completed: {} records, {} imported, {} duplicates, {} rejected",
+            job.id(), processed, totals.get("imported_rows"), totals.get("duplicate_rows"), totals.get("rejected_rows"));
+    }
+
+    private CompletableFuture<List<ParsedRecord>> parse(
+            long firstRecordNo, List<String> records, Map<String, Integer> columns, ForkJoinPool parsers) {
+        // A parallel stream started inside a ForkJoinPool task runs on that pool
+        return CompletableFuture.supplyAsync(() -> IntStream.range(0, records.size())
+            .parallel()
+            .mapToObj(i -> parse(firstRecordNo + i, records.get(i), columns))
+            .toList(), parsers);
+    }
+
+    private ParsedRecord parse(long recordNo, String record, Map<String, Integer> columns) {
+        AddressRequest parsed;
+        try {
+            parsed = columns == null
+                ? objectMapper.readValue(record, AddressRequest.class)
+                : fromCsv(record, columns);
+        } catch (IOException | IllegalArgumentException e) {
+            return ParsedRecord.rejected(recordNo, "Unparseable record: " + e.getMessage());
+        }
+        if (parsed == null) {
+            return ParsedRecord.rejected(recordNo, "Empty record");
+        }
+
+        AddressRequest request = normalize(parsed);
+        if (request.userId() == null) {
+            return ParsedRecord.rejected(recordNo, "userId is required");
+        }
+        Set<ConstraintViolation<AddressRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return ParsedRecord.rejected(recordNo, violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; ")));
+        }
+
+        long fingerprint = AddressFingerprint.of(request.line1(), request.city(), request.postcode(), request.country());
+        return new ParsedRecord(recordNo, request, fingerprint, null);
+    }
+
+    private static AddressRequest fromCsv(String record, Map<String, Integer> columns) {
+        List<String> fields = AddressImportReader.parseCsv(record);
+        String userId = field(fields, columns, "userid");
+        String isDefault = field(fields, columns, "isdefault");
+        if (isDefault != null && !isDefault.equalsIgnoreCase("true") && !isDefault.equalsIgnoreCase("false")) {
+            throw new IllegalArgumentException("isDefault must be true or false");
+        }
+        return new AddressRequest(
+            userId != null ? UUID.fromString(userId.trim()) : null,
+            field(fields, columns, "line1"),
+            field(fields, columns, "line2"),
+            field(fields, columns, "city"),
+            field(fields, columns, "state"),
+            field(fields, columns, "postcode"),
+            field(fields, columns, "country"),
+            field(fields, columns, "label"),
+            isDefault != null ? Boolean.valueOf(isDefault) : null
+        );
+    }
+
+    /**
+     * Value of a CSV column, or null if the column is missing or the field is empty
+     */
+    private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= fields.size() || fields.get(index).isEmpty()) {
+            return null;
+        }
+        return fields.get(index);
+    }
+
+    /**
+     * Trim fields, drop blank optional fields and upper-case the country code
+     * (required fields stay blank, so validation rejects them)
+     */
+    private static AddressRequest normalize(AddressRequest request) {
+        return new AddressRequest(
+            request.userId(),
+            trim(request.line1()),
+            optional(request.line2()),
+            trim(request.city()),
+            optional(request.state()),
+            trim(request.postcode()),
+            request.country() != null ? request.country().trim().toUpperCase(Locale.ROOT) : null,
+            optional(request.label()),
+            request.isDefault()
+        );
+    }
+
+    private static String trim(String value) {
+        return value != null ? value.trim() : null;
+    }
+
+    private static String optional(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    /**
+     * Stage, merge and record one chunk in a single transaction
+     */
+    private void load(Job job, List<ParsedRecord> chunk) {
+        List<ParsedRecord> valid = chunk.stream().filter(ParsedRecord::isValid).toList();
+        List<ParsedRecord> rejected = chunk.stream().filter(record -> !record.isValid()).toList();
+        long lastRecordNo = chunk.get(chunk.size() - 1).recordNo();
+
+        Integer imported = chunkDuration.record(() -> transactionTemplate.execute(status -> {
+            // 1. COPY valid rows into a staging table that disappears at commit
+            List<UUID> importedUserIds = List.of();
+            if (!valid.isEmpty()) {
+                jdbcTemplate.execute(CREATE_STAGING);
+                copy(valid);
+                jdbcTemplate.execute("analyze address_import_staging");
+
+                // 2. Set-based merge; RETURNING yields one user ID per imported row
+                importedUserIds = jdbcTemplate.queryForList(MERGE, UUID.class,
+                    job.tenantId(), job.tenantId(), job.tenantId());
+            }
+
+            // 3. Rejects and progress, atomically with the rows
+            jdbcTemplate.batchUpdate("""
+                insert into address_import_rejects (job_id, record_no, reason) values (?, ?, ?)
+                on conflict do nothing
+                """, rejected, 1_000, (statement, record) -> {
+                    statement.setObject(1, job.id());
+                    statement.setLong(2, record.recordNo());
+                    statement.setString(3, truncate(record.rejection()));
+                });
+            jdbcTemplate.update("""
+                update address_import_jobs
+                   set processed_records = ?,
+                       imported_rows = imported_rows + ?,
+                       duplicate_rows = duplicate_rows + ?,
+                       rejected_rows = rejected_rows + ?,
+                       updated_at = current_timestamp
+                 where id = ?
+                """, lastRecordNo, importedUserIds.size(), valid.size() - importedUserIds.size(),
+                rejected.size(), job.id());
+
+            // 4. Cached address books of the affected users are stale once this commits
+            new HashSet<>(importedUserIds).forEach(userId ->
+                addressBookCacheInvalidator.invalidateAfterCommit(job.tenantId(), userId));
+            return importedUserIds.size();
+        }));
+
+        int count = imported != null ? imported : 0;
+        importedRows.increment(count);
+        duplicateRows.increment(valid.size() - count);
+        rejectedRows.increment(rejected.size());
+    }
+
+    /**
+     * COPY rows into address_import_staging (text format)
+     */
+    private void copy(List<ParsedRecord> rows) {
+        StringBuilder data = new StringBuilder(rows.size() * 160);
+        for (ParsedRecord row : rows) {
+            AddressRequest address = row.address();
+            data.append(row.recordNo()).append('\t')
+                .append(address.userId()).append('\t');
+            appendCopyValue(data, address.line1()).append('\t');
+            appendCopyValue(data, address.line2()).append('\t');
+            appendCopyValue(data, address.city()).append('\t');
+            appendCopyValue(data, address.state()).append('\t');
+            appendCopyValue(data, address.postcode()).append('\t');
+            appendCopyValue(data, address.country()).append('\t');
+            appendCopyValue(data, address.label()).append('\t')
+                .append(Boolean.TRUE.equals(address.isDefault()) ? 't' : 'f').append('\t')
+                .append(row.fingerprint()).append('\n');
+        }
+
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI()
+                    .copyIn(COPY_STAGING, new StringReader(data.toString()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Append a value in COPY text format: \N for null, backslash escapes for the
+     * delimiter, line breaks and the backslash itself
+     */
+    private static StringBuilder appendCopyValue(StringBuilder data, String value) {
+        if (value == null) {
+            return data.append("\\N");
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> data.append("\\\\");
+                case '\t' -> data.append("\\t");
+                case '\n' -> data.append("\\n");
+                case '\r' -> data.append("\\r");
+                default -> data.append(c);
+            }
+        }
+        return data;
+    }
+
+    private static String truncate(String reason) {
+        return reason.length() <= MAX_REASON_LENGTH ? reason : reason.substring(0, MAX_REASON_LENGTH);
+    }
+
+    private static Counter rowCounter(String result, MeterRegistry meterRegistry) {
+        return Counter.builder("address.import.rows")
+            .description("Records processed by address imports")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    private record Job(UUID id, UUID tenantId, long sourceSize, String format, String status, long processedRecords) {
+    }
+
+    /**
+     * A parsed record: a valid address with its fingerprint, or the reason it was rejected
+     */
+    private record ParsedRecord(long recordNo, AddressRequest address, long fingerprint, String rejection) {
+
+        static ParsedRecord rejected(long recordNo, String reason) {
+            return new ParsedRecord(recordNo, null, 0, reason);
+        }
+
+        boolean isValid() {
+            return rejection == null;
+        }
+    }
+}
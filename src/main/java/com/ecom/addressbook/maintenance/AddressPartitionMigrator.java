@@ -0,0 +1,163 @@
+package com.ecom.addressbook.maintenance;
+
+import com.ecom.addressbook.config.PartitionMigrationProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+/**
+ * Online migration of addresses into the tenant hash-partitioned table
+ *
+ * <p>Runs the steps prepared by V5__Create_partitioned_addresses.sql while the
+ * service keeps serving traffic from addresses:
+ * <ol>
+ *   <li>installs the mirror trigger, so every live write also lands in addresses_partitioned</li>
+ *   <li>copies existing rows in id-ordered chunks, one short transaction each; progress is
+ *       stored in address_partition_backfill, so a restarted run resumes where it stopped.
+ *       Live writes to a chunk wait until its copy commits</li>
+ *   <li>removes copied rows that were hard-deleted from addresses in the meantime</li>
+ *   <li>optionally performs the cutover (address-book.partition-migration.cutover=true)</li>
+ * </ol>
+ *
+ * <p>Run it as a one-off instance, e.g.
+ * {@code --address-book.partition-migration.enabled=true --spring.main.web-application-type=none}.
+ * Every step is idempotent, so re-running after a failure is safe.
+ */
+@Component
+@ConditionalOnProperty(prefix = "address-book.partition-migration", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(PartitionMigrationProperties.class)
+@RequiredArgsConstructor
+@Slf4j
+public class AddressPartitionMigrator implements ApplicationRunner {
+
+    /**
+     * Smallest UUID in PostgreSQL ordering (start of the keyset walk)
+     */
+    private static final UUID MIN_ID = new UUID(0L, 0L);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PartitionMigrationProperties properties;
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        // 1. Nothing to do once the partitioned table has replaced addresses
+        String target = jdbcTemplate.queryForObject("select to_regclass('addresses_partitioned')::text", String.class);
+        if (target == null) {
+            log.info("Partition migration: addresses is already partitioned, nothing to do");
+            return;
+        }
+
+        // 2. Mirror live writes before copying, so no change can fall between the two
+        jdbcTemplate.execute("""
+            create or replace trigger trg_addresses_mirror
+                after insert or update or delete on addresses
+                for each row execute function addresses_mirror_to_partitioned()
+            """);
+        log.info("Partition migration: mirror trigger installed");
+
+        // 3. Chunked copy, then reconcile rows deleted while copying
+        copy();
+        reconcile();
+
+        // 4. Swap the tables (short ACCESS EXCLUSIVE lock)
+        if (properties.isCutover()) {
+            jdbcTemplate.execute("select addresses_partition_cutover()");
+            log.info("Partition migration: cutover complete, previous table kept as addresses_unpartitioned");
+        } else {
+            log.info("Partition migration: copy complete; re-run with cutover=true to switch tables");
+        }
+    }
+
+    private void copy() throws InterruptedException {
+        UUID lastId = jdbcTemplate.queryForObject(
+            "select last_id from address_partition_backfill where id = 1", UUID.class);
+        if (lastId == null) {
+            lastId = MIN_ID;
+        }
+
+        long copied = 0;
+        while (true) {
+            UUID fromId = lastId;
+            UUID toId = upperBound("addresses", fromId);
+            if (toId == null) {
+                break;
+            }
+
+            // Copy and record progress atomically; rows already mirrored are newer and win.
+            // FOR SHARE makes live writes to the chunk wait until the copy commits, so the
+            // mirror trigger's delete sees the copied row instead of colliding with it.
+            Integer inserted = transactionTemplate.execute(status -> {
+                int rows = jdbcTemplate.update("""
+                    with chunk as (
+                        select * from addresses where id > ? and id <= ? for share
+                    )
+                    insert into addresses_partitioned
+                    select * from chunk
+                    on conflict (id, tenant_id) do nothing
+                    """, fromId, toId);
+                jdbcTemplate.update("""
+                    update address_partition_backfill
+                       set last_id = ?, copied_rows = copied_rows + ?, updated_at = current_timestamp
+                     where id = 1
+                    """, toId, rows);
+                return rows;
+            });
+
+            copied += inserted != null ? inserted : 0;
+            lastId = toId;
+            log.debug("Partition migration: copied up to {} ({} rows this run)", toId, copied);
+            Thread.sleep(properties.getPause().toMillis());
+        }
+
+        jdbcTemplate.update("""
+            update address_partition_backfill
+               set completed_at = current_timestamp, updated_at = current_timestamp
+             where id = 1
+            """);
+        log.info("Partition migration: copy finished, {} rows copied in this run", copied);
+    }
+
+    /**
+     * Remove rows that were copied but have since been hard-deleted from addresses
+     * (the mirror trigger cannot delete a row that had not been copied yet)
+     */
+    private void reconcile() throws InterruptedException {
+        UUID lastId = MIN_ID;
+        long removed = 0;
+        while (true) {
+            UUID fromId = lastId;
+            UUID toId = upperBound("addresses_partitioned", fromId);
+            if (toId == null) {
+                break;
+            }
+
+            removed += jdbcTemplate.update("""
+                delete from addresses_partitioned p
+                 where p.id > ? and p.id <= ?
+                   and not exists (select 1 from addresses a where a.id = p.id)
+                """, fromId, toId);
+
+            lastId = toId;
+            Thread.sleep(properties.getPause().toMillis());
+        }
+        log.info("Partition migration: reconciled, {} orphaned rows removed", removed);
+    }
+
+    /**
+     * Highest id of the next chunk after fromId, or null when there are no more rows
+     */
+    private UUID upperBound(String table, UUID fromId) {
+        return jdbcTemplate.queryForObject(
+            "select max(id) from (select id from " + table + " where id > ? order by id limit ?) chunk",
+            UUID.class, fromId, properties.getChunkSize());
+    }
+}
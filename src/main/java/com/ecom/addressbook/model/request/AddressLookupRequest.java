@@ -0,0 +1,20 @@
+package com.ecom.addressbook.model.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Request DTO for looking up many addresses by ID in one call
+ */
+public record AddressLookupRequest(
+    /**
+     * Address IDs to resolve (duplicates allowed, answered in the same order)
+     */
+    @NotEmpty(message = "Address IDs are required")
+    @Size(max = 5000, message = "A lookup must not exceed 5000 address IDs")
+    List<@NotNull(message = "Address ID must not be null") UUID> ids
+) {
+}
@@ -0,0 +1,20 @@
+package com.ecom.addressbook.model.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * Request DTO for creating many addresses in one call
+ */
+public record BatchAddressRequest(
+    /**
+     * Addresses to create, validated as a whole (one invalid item rejects the batch)
+     * Each item may target a different user (admins/staff only)
+     */
+    @NotEmpty(message = "Addresses are required")
+    @Size(max = 500, message = "A batch must not exceed 500 addresses")
+    List<@Valid AddressRequest> addresses
+) {
+}
@@ -0,0 +1,25 @@
+package com.ecom.addressbook.model.response;
+
+import java.util.UUID;
+
+/**
+ * Outcome of resolving one address ID in a batch lookup
+ */
+public record AddressLookupResult(
+    /**
+     * Requested address ID
+     */
+    UUID id,
+
+    /**
+     * Whether the address was found. False for unknown, deleted, other-tenant and
+     * inaccessible addresses alike, so the lookup does not reveal which IDs exist.
+     */
+    boolean found,
+
+    /**
+     * Address (null when not found)
+     */
+    AddressResponse address
+) {
+}
@@ -0,0 +1,24 @@
+package com.ecom.addressbook.model.response;
+
+import java.util.List;
+
+/**
+ * Response DTO for batch address creation
+ */
+public record BatchAddressResponse(
+    /**
+     * Number of addresses created
+     */
+    int created,
+
+    /**
+     * Number of items rejected (duplicate or unauthorized)
+     */
+    int rejected,
+
+    /**
+     * Per-item outcome, in request order
+     */
+    List<BatchAddressResult> results
+) {
+}
@@ -0,0 +1,33 @@
+package com.ecom.addressbook.model.response;
+
+/**
+ * Outcome of one item of a batch address creation
+ */
+public record BatchAddressResult(
+    /**
+     * Position of the item in the request
+     */
+    int index,
+
+    /**
+     * Item outcome
+     */
+    Status status,
+
+    /**
+     * Created address (only when status is CREATED)
+     */
+    AddressResponse address,
+
+    /**
+     * Reason the item was rejected (null when created)
+     */
+    String message
+) {
+
+    public enum Status {
+        CREATED,
+        DUPLICATE,
+        UNAUTHORIZED
+    }
+}
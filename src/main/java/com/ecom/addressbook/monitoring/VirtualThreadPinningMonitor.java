@@ -0,0 +1,128 @@
+package com.ecom.addressbook.monitoring;
+
+import com.ecom.addressbook.config.PinningMonitorProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Reports virtual threads that pin their carrier thread
+ *
+ * <p>A virtual thread that blocks while pinned (inside a native frame, a class
+ * initializer, or - before JDK 24 - a synchronized block) keeps its carrier busy, so
+ * enough of them stall every request. The JWT validation and Hibernate paths are the
+ * likely culprits; this monitor shows whether they actually do.
+ *
+ * <p>Consumes jdk.VirtualThreadPinned events from an in-process JFR stream. Each event
+ * is attributed to its location: the first stack frame outside the JDK. The stack
+ * trace of a location is logged at most once per log interval.
+ *
+ * <p>Metrics: address.threads.virtual.pinned{location} - timer of pinned durations
+ * above the threshold.
+ */
+@Component
+@ConditionalOnProperty(prefix = "spring.threads.virtual", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(PinningMonitorProperties.class)
+@RequiredArgsConstructor
+@Slf4j
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String UNKNOWN_LOCATION = "unknown";
+
+    private final PinningMonitorProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Instant> lastLogged = new ConcurrentHashMap<>();
+    private volatile RecordingStream stream;
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled()) {
+            log.info("Virtual thread pinning monitor disabled");
+            return;
+        }
+
+        RecordingStream recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(properties.getThreshold()).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::onPinned);
+        recording.startAsync();
+        stream = recording;
+        log.info("Virtual thread pinning monitor started: threshold={}", properties.getThreshold());
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream recording = stream;
+        stream = null;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        String location = location(stackTrace);
+
+        Timer.builder("address.threads.virtual.pinned")
+            .tag("location", location)
+            .register(meterRegistry)
+            .record(event.getDuration());
+
+        Instant now = Instant.now();
+        Instant last = lastLogged.get(location);
+        if (last == null || last.plus(properties.getLogInterval()).isBefore(now)) {
+            lastLogged.put(location, now);
+            log.warn("Virtual thread pinned for {} ms at {}:\n{}",
+                event.getDuration().toMillis(), location, format(stackTrace));
+        }
+    }
+
+    /**
+     * Class and method of the first frame outside the JDK (the code that caused the pin)
+     */
+    private static String location(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return UNKNOWN_LOCATION;
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (!isJdk(type)) {
+                return type + "." + frame.getMethod().getName();
+            }
+        }
+        return UNKNOWN_LOCATION;
+    }
+
+    private static boolean isJdk(String type) {
+        return type.startsWith("java.") || type.startsWith("jdk.") || type.startsWith("sun.");
+    }
+
+    private static String format(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "\t(no stack trace)";
+        }
+        return stackTrace.getFrames().stream()
+            .map(frame -> "\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber())
+            .collect(Collectors.joining("\n"));
+    }
+}
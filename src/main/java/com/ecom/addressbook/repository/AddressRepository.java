@@ -1,20 +1,45 @@
 package com.ecom.addressbook.repository;
 
 import com.ecom.addressbook.entity.Address;
+import com.ecom.addressbook.model.response.AddressResponse;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.lang.NonNull;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 /**
  * Repository for Address entity
+ * 
+ * <p>addresses is (or is being migrated to) a table hash-partitioned by tenant_id, so
+ * queries carry the tenant predicate to be pruned to a single partition.
+ * 
+ * <p>Read paths use the find*Response* queries, which project rows straight into
+ * {@link AddressResponse}: no managed entities, no persistence-context snapshots and
+ * no dirty checking. They run in their own read-only transaction (Hibernate flush mode
+ * MANUAL, read-only JDBC connection), scoped to the query so a cache hit in the service
+ * never checks out a connection. Entity-returning methods are for write paths only.
  */
 @Repository
 public interface AddressRepository extends JpaRepository<Address, UUID> {
     
+    /**
+     * Constructor projection shared by the read queries
+     */
+    String SELECT_RESPONSE = """
+        select new com.ecom.addressbook.model.response.AddressResponse(
+            a.id, a.userId, a.tenantId, a.line1, a.line2, a.city, a.state, a.postcode,
+            a.country, a.label, a.isDefault, a.deleted, a.deletedAt, a.createdAt, a.updatedAt)
+          from Address a
+        """;
+    
     /**
      * Find all active (non-deleted) addresses for a user within a tenant
      * 
@@ -22,56 +47,172 @@ public interface AddressRepository extends JpaRepository<Address, UUID> {
      * @param tenantId Tenant ID
      * @return List of active addresses
      */
-    List<Address> findByUserIdAndTenantIdAndDeletedFalse(UUID userId, UUID tenantId);
+    @Transactional(readOnly = true)
+    @Query(SELECT_RESPONSE + " where a.userId = :userId and a.tenantId = :tenantId and a.deleted = false")
+    List<AddressResponse> findActiveResponses(@Param("userId") UUID userId, @Param("tenantId") UUID tenantId);
     
     /**
      * Find all addresses for a user within a tenant (including deleted)
      * Used by admins/staff for audit purposes
      * 
+     * <p>The deleted predicate is spelled out on purpose: each arm matches one partial
+     * index (idx_addresses_unique_active, idx_addresses_deleted_user), so the planner
+     * can combine them with a BitmapOr. There is no plain (user_id, tenant_id) index.
+     * 
      * @param userId User ID
      * @param tenantId Tenant ID
      * @return List of all addresses (active and deleted)
      */
-    List<Address> findByUserIdAndTenantId(UUID userId, UUID tenantId);
+    @Transactional(readOnly = true)
+    @Query(SELECT_RESPONSE + " where a.userId = :userId and a.tenantId = :tenantId and (a.deleted = false or a.deleted = true)")
+    List<AddressResponse> findAllResponses(@Param("userId") UUID userId, @Param("tenantId") UUID tenantId);
+    
+    /**
+     * Find the active default address for a user within a tenant
+     * Served by the partial unique index idx_addresses_default_unique (single-row lookup)
+     * 
+     * @param userId User ID
+     * @param tenantId Tenant ID
+     * @return Optional AddressResponse (empty if the user has no default address)
+     */
+    @Transactional(readOnly = true)
+    @Query(SELECT_RESPONSE + " where a.userId = :userId and a.tenantId = :tenantId and a.isDefault = true and a.deleted = false")
+    Optional<AddressResponse> findDefaultResponse(@Param("userId") UUID userId, @Param("tenantId") UUID tenantId);
     
     /**
-     * Find active address by ID
+     * Find active address by ID within a tenant
      * 
      * @param id Address ID
-     * @return Optional Address (only if not deleted)
+     * @param tenantId Tenant ID (prunes to a single partition)
+     * @return Optional AddressResponse (empty if missing, deleted or owned by another tenant)
      */
-    Optional<Address> findByIdAndDeletedFalse(UUID id);
+    @Transactional(readOnly = true)
+    @Query(SELECT_RESPONSE + " where a.id = :id and a.tenantId = :tenantId and a.deleted = false")
+    Optional<AddressResponse> findActiveResponseByIdAndTenantId(@Param("id") UUID id, @Param("tenantId") UUID tenantId);
     
     /**
-     * Find address by ID (including deleted)
+     * Find address by ID within a tenant (including deleted)
      * Used by admins/staff for recovery/audit
      * 
      * @param id Address ID
-     * @return Optional Address (may be deleted)
+     * @param tenantId Tenant ID (prunes to a single partition)
+     * @return Optional AddressResponse (may be deleted; empty if owned by another tenant)
+     */
+    @Transactional(readOnly = true)
+    @Query(SELECT_RESPONSE + " where a.id = :id and a.tenantId = :tenantId")
+    Optional<AddressResponse> findResponseByIdAndTenantId(@Param("id") UUID id, @Param("tenantId") UUID tenantId);
+    
+    /**
+     * Find active addresses by ID within a tenant in one query (batch lookup)
+     * 
+     * @param ids Address IDs
+     * @param tenantId Tenant ID (prunes to a single partition)
+     * @return Active addresses among the given IDs (unordered; missing and other-tenant IDs are absent)
+     */
+    @Transactional(readOnly = true)
+    @Query(SELECT_RESPONSE + " where a.tenantId = :tenantId and a.id in :ids and a.deleted = false")
+    List<AddressResponse> findActiveResponsesByIdIn(@Param("ids") Collection<UUID> ids, @Param("tenantId") UUID tenantId);
+    
+    /**
+     * Find the duplicate-detection keys of all active addresses of several users within a tenant
+     * Used by batch creation to detect duplicates with one set-based query
+     * 
+     * @param tenantId Tenant ID
+     * @param userIds User IDs
+     * @return Keys of active addresses of those users
+     */
+    List<ActiveAddressKey> findByTenantIdAndUserIdInAndDeletedFalse(UUID tenantId, Collection<UUID> userIds);
+    
+    /**
+     * Find active address by ID within a tenant (write paths: update, set default, delete)
+     * 
+     * @param id Address ID
+     * @param tenantId Tenant ID (prunes to a single partition)
+     * @return Optional Address (empty if missing, deleted or owned by another tenant)
+     */
+    Optional<Address> findByIdAndTenantIdAndDeletedFalse(UUID id, UUID tenantId);
+    
+    /**
+     * Clear the default flag on all active addresses of a user in one statement
+     * Bulk update: bypasses entity auditing, so updatedAt is set explicitly
+     * 
+     * @param userId User ID
+     * @param tenantId Tenant ID
+     * @param updatedAt Modification timestamp for the affected rows
+     * @return Number of addresses that were the default
      */
-    @Override
-    @NonNull
-    Optional<Address> findById(@NonNull UUID id);
+    @Modifying
+    @Query("""
+        update Address a
+           set a.isDefault = false, a.updatedAt = :updatedAt
+         where a.userId = :userId
+           and a.tenantId = :tenantId
+           and a.isDefault = true
+           and a.deleted = false
+        """)
+    int clearDefaultAddresses(
+        @Param("userId") UUID userId,
+        @Param("tenantId") UUID tenantId,
+        @Param("updatedAt") LocalDateTime updatedAt
+    );
     
     /**
-     * Check if a duplicate active address exists for a user
-     * Duplicate is defined as same user_id, tenant_id, line1, city, postcode, and country
+     * Clear the default flag on all active addresses of a user except one, in one statement
+     * Bulk update: bypasses entity auditing, so updatedAt is set explicitly
      * 
      * @param userId User ID
      * @param tenantId Tenant ID
-     * @param line1 First line of address
-     * @param city City name
-     * @param postcode Postal code
-     * @param country Country code
-     * @return true if duplicate exists (active address only)
+     * @param keepId Address that keeps (or is about to receive) the default flag
+     * @param updatedAt Modification timestamp for the affected rows
+     * @return Number of other addresses that were the default
+     */
+    @Modifying
+    @Query("""
+        update Address a
+           set a.isDefault = false, a.updatedAt = :updatedAt
+         where a.userId = :userId
+           and a.tenantId = :tenantId
+           and a.isDefault = true
+           and a.deleted = false
+           and a.id <> :keepId
+        """)
+    int clearOtherDefaultAddresses(
+        @Param("userId") UUID userId,
+        @Param("tenantId") UUID tenantId,
+        @Param("keepId") UUID keepId,
+        @Param("updatedAt") LocalDateTime updatedAt
+    );
+    
+    /**
+     * Clear the default flag on all active addresses of several users in one statement
+     * Bulk update: bypasses entity auditing, so updatedAt is set explicitly
+     * 
+     * @param tenantId Tenant ID
+     * @param userIds User IDs
+     * @param updatedAt Modification timestamp for the affected rows
+     * @return Number of addresses that were the default
      */
-    boolean existsByUserIdAndTenantIdAndLine1AndCityAndPostcodeAndCountryAndDeletedFalse(
-        UUID userId,
-        UUID tenantId,
-        String line1,
-        String city,
-        String postcode,
-        String country
+    @Modifying
+    @Query("""
+        update Address a
+           set a.isDefault = false, a.updatedAt = :updatedAt
+         where a.tenantId = :tenantId
+           and a.userId in :userIds
+           and a.isDefault = true
+           and a.deleted = false
+        """)
+    int clearDefaultAddressesForUsers(
+        @Param("tenantId") UUID tenantId,
+        @Param("userIds") Collection<UUID> userIds,
+        @Param("updatedAt") LocalDateTime updatedAt
     );
+    
+    /**
+     * Columns covered by idx_addresses_unique_active (duplicate detection)
+     */
+    interface ActiveAddressKey {
+        UUID getUserId();
+        long getAddressFingerprint();
+    }
 }
 
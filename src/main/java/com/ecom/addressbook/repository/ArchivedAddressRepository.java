@@ -0,0 +1,55 @@
+package com.ecom.addressbook.repository;
+
+import com.ecom.addressbook.entity.ArchivedAddress;
+import com.ecom.addressbook.model.response.AddressResponse;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository for ArchivedAddress entity (read-only)
+ * 
+ * <p>Queries project into {@link AddressResponse} like the AddressRepository read
+ * queries, so archived rows can be merged into admin include-deleted views.
+ */
+@Repository
+public interface ArchivedAddressRepository extends JpaRepository<ArchivedAddress, UUID> {
+    
+    /**
+     * Constructor projection shared by the read queries
+     */
+    String SELECT_RESPONSE = """
+        select new com.ecom.addressbook.model.response.AddressResponse(
+            a.id, a.userId, a.tenantId, a.line1, a.line2, a.city, a.state, a.postcode,
+            a.country, a.label, a.isDefault, a.deleted, a.deletedAt, a.createdAt, a.updatedAt)
+          from ArchivedAddress a
+        """;
+    
+    /**
+     * Find archived addresses for a user within a tenant
+     * 
+     * @param userId User ID
+     * @param tenantId Tenant ID
+     * @return List of archived addresses
+     */
+    @Transactional(readOnly = true)
+    @Query(SELECT_RESPONSE + " where a.userId = :userId and a.tenantId = :tenantId")
+    List<AddressResponse> findResponses(@Param("userId") UUID userId, @Param("tenantId") UUID tenantId);
+    
+    /**
+     * Find archived address by ID within a tenant
+     * 
+     * @param id Address ID
+     * @param tenantId Tenant ID
+     * @return Optional AddressResponse (empty if owned by another tenant)
+     */
+    @Transactional(readOnly = true)
+    @Query(SELECT_RESPONSE + " where a.id = :id and a.tenantId = :tenantId")
+    Optional<AddressResponse> findResponseByIdAndTenantId(@Param("id") UUID id, @Param("tenantId") UUID tenantId);
+}
@@ -0,0 +1,60 @@
+package com.ecom.addressbook.repository;
+
+import com.ecom.addressbook.model.response.AddressResponse;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Non-blocking (R2DBC) counterpart of AddressRepository.findActiveResponses
+ *
+ * <p>Same predicates as the JPQL query, so it is served by the same index, and
+ * rows are mapped straight into {@link AddressResponse}. A connection is borrowed from
+ * the R2DBC pool for the duration of one query only. Only active when the reactive
+ * read path is enabled (ReactiveConfig).
+ */
+@RequiredArgsConstructor
+public class ReactiveAddressRepository {
+
+    private static final String COLUMNS = """
+        select id, user_id, tenant_id, line1, line2, city, state, postcode, country,
+               label, is_default, deleted, deleted_at, created_at, updated_at
+        """;
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Active addresses of a user within a tenant (AddressRepository.findActiveResponses)
+     */
+    public Flux<AddressResponse> findActiveResponses(UUID userId, UUID tenantId) {
+        return databaseClient.sql(COLUMNS + " from addresses where user_id = :userId and tenant_id = :tenantId and deleted = false")
+            .bind("userId", userId)
+            .bind("tenantId", tenantId)
+            .map(ReactiveAddressRepository::toResponse)
+            .all();
+    }
+
+    private static AddressResponse toResponse(Readable row) {
+        return new AddressResponse(
+            row.get("id", UUID.class),
+            row.get("user_id", UUID.class),
+            row.get("tenant_id", UUID.class),
+            row.get("line1", String.class),
+            row.get("line2", String.class),
+            row.get("city", String.class),
+            row.get("state", String.class),
+            row.get("postcode", String.class),
+            row.get("country", String.class),
+            row.get("label", String.class),
+            row.get("is_default", Boolean.class),
+            row.get("deleted", Boolean.class),
+            row.get("deleted_at", LocalDateTime.class),
+            row.get("created_at", LocalDateTime.class),
+            row.get("updated_at", LocalDateTime.class)
+        );
+    }
+}
@@ -1,7 +1,10 @@
 package com.ecom.addressbook.service;
 
+import com.ecom.addressbook.cache.Versioned;
 import com.ecom.addressbook.model.request.AddressRequest;
+import com.ecom.addressbook.model.response.AddressLookupResult;
 import com.ecom.addressbook.model.response.AddressResponse;
+import com.ecom.addressbook.model.response.BatchAddressResponse;
 
 import java.util.List;
 import java.util.UUID;
@@ -30,6 +33,28 @@ public interface AddressService {
         AddressRequest request
     );
     
+    /**
+     * Create many addresses in one transaction
+     * 
+     * <p>Duplicates (against existing active addresses and within the batch) and items
+     * the caller may not create are reported per item; the remaining items are inserted
+     * using JDBC batching. If several items for the same user are flagged as default,
+     * the last one wins.
+     * 
+     * @param tenantId Tenant ID from JWT claims
+     * @param currentUserId Currently authenticated user ID
+     * @param roles Current user's roles
+     * @param requests Address request DTOs (userId optional per item, defaults to currentUserId)
+     * @return Per-item results in request order
+     * @throws com.ecom.error.exception.BusinessException if a concurrent write violates a unique index
+     */
+    BatchAddressResponse createAddresses(
+        UUID tenantId,
+        UUID currentUserId,
+        List<String> roles,
+        List<AddressRequest> requests
+    );
+
     /**
      * Get address by ID
      * 
@@ -37,7 +62,7 @@ public interface AddressService {
      * @param currentUserId Currently authenticated user ID
      * @param tenantId Tenant ID from JWT claims
      * @param roles Current user's roles
-     * @param includeDeleted Whether to include deleted addresses (only for admins/staff)
+     * @param includeDeleted Whether to include deleted addresses, archived ones included (only for admins/staff)
      * @return AddressResponse if found
      * @throws com.ecom.error.exception.BusinessException if address not found or unauthorized
      */
@@ -49,6 +74,23 @@ public interface AddressService {
         boolean includeDeleted
     );
     
+    /**
+     * Look up many active addresses by ID with a single query
+     * 
+     * @param addressIds Address IDs (duplicates allowed)
+     * @param currentUserId Currently authenticated user ID
+     * @param tenantId Tenant ID from JWT claims
+     * @param roles Current user's roles
+     * @return One result per requested ID, in request order; addresses that do not exist,
+     *         are deleted, belong to another tenant or are not accessible are marked not found
+     */
+    List<AddressLookupResult> lookupAddresses(
+        List<UUID> addressIds,
+        UUID currentUserId,
+        UUID tenantId,
+        List<String> roles
+    );
+
     /**
      * Get all addresses for a user
      * 
@@ -56,11 +98,11 @@ public interface AddressService {
      * @param tenantId Tenant ID from JWT claims
      * @param currentUserId Currently authenticated user ID
      * @param roles Current user's roles
-     * @param includeDeleted Whether to include deleted addresses (only for admins/staff)
-     * @return List of AddressResponse
+     * @param includeDeleted Whether to include deleted addresses, archived ones included (only for admins/staff)
+     * @return List of AddressResponse with the address book version it reflects (used as ETag)
      * @throws com.ecom.error.exception.BusinessException if unauthorized
      */
-    List<AddressResponse> getUserAddresses(
+    Versioned<List<AddressResponse>> getUserAddresses(
         UUID targetUserId,
         UUID tenantId,
         UUID currentUserId,
@@ -68,6 +110,59 @@ public interface AddressService {
         boolean includeDeleted
     );
     
+    /**
+     * Get the current version of a user's address book
+     * The version changes on every write to the book and backs ETag / If-None-Match handling
+     * 
+     * @param targetUserId User ID whose address book version to retrieve (may differ from currentUserId if admin/staff)
+     * @param tenantId Tenant ID from JWT claims
+     * @param currentUserId Currently authenticated user ID
+     * @param roles Current user's roles
+     * @return Address book version, or {@link com.ecom.addressbook.cache.AddressBookCache#UNVERSIONED} if unavailable
+     * @throws com.ecom.error.exception.BusinessException if unauthorized
+     */
+    long getAddressBookVersion(
+        UUID targetUserId,
+        UUID tenantId,
+        UUID currentUserId,
+        List<String> roles
+    );
+    
+    /**
+     * Get the default address for a user
+     * 
+     * @param targetUserId User ID whose default address to retrieve (may differ from currentUserId if admin/staff)
+     * @param tenantId Tenant ID from JWT claims
+     * @param currentUserId Currently authenticated user ID
+     * @param roles Current user's roles
+     * @return AddressResponse of the default address
+     * @throws com.ecom.error.exception.BusinessException if the user has no default address or unauthorized
+     */
+    AddressResponse getDefaultAddress(
+        UUID targetUserId,
+        UUID tenantId,
+        UUID currentUserId,
+        List<String> roles
+    );
+    
+    /**
+     * Make an address the user's default address
+     * Clears the previous default in the same transaction; idempotent if already default
+     * 
+     * @param addressId Address ID
+     * @param currentUserId Currently authenticated user ID
+     * @param tenantId Tenant ID from JWT claims
+     * @param roles Current user's roles
+     * @return AddressResponse of the new default address
+     * @throws com.ecom.error.exception.BusinessException if address not found or unauthorized
+     */
+    AddressResponse setDefaultAddress(
+        UUID addressId,
+        UUID currentUserId,
+        UUID tenantId,
+        List<String> roles
+    );
+
     /**
      * Update an existing address
      * 
@@ -1,20 +1,45 @@
 package com.ecom.addressbook.service.impl;
 
+import com.ecom.addressbook.cache.AddressBookCache;
+import com.ecom.addressbook.cache.AddressBookCacheInvalidator;
+import com.ecom.addressbook.cache.AddressBookCacheKey;
+import com.ecom.addressbook.cache.AddressNotFoundCache;
+import com.ecom.addressbook.cache.Versioned;
+import com.ecom.addressbook.datasource.DataSourceRouting;
 import com.ecom.addressbook.entity.Address;
+import com.ecom.addressbook.entity.AddressFingerprint;
 import com.ecom.addressbook.model.request.AddressRequest;
+import com.ecom.addressbook.model.response.AddressLookupResult;
 import com.ecom.addressbook.model.response.AddressResponse;
+import com.ecom.addressbook.model.response.BatchAddressResponse;
+import com.ecom.addressbook.model.response.BatchAddressResult;
 import com.ecom.addressbook.repository.AddressRepository;
+import com.ecom.addressbook.repository.ArchivedAddressRepository;
 import com.ecom.addressbook.service.AddressService;
 import com.ecom.error.exception.BusinessException;
 import com.ecom.error.model.ErrorCode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -25,7 +50,28 @@ import java.util.stream.Collectors;
 @Slf4j
 public class AddressServiceImpl implements AddressService {
 
+    /**
+     * SQLState for unique_violation
+     */
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    /**
+     * One active address per (tenant, user, address fingerprint)
+     * Prefix match: on the partitioned table violations name the partition index (..._p0 .. _p15)
+     */
+    private static final String UNIQUE_ACTIVE_INDEX = "idx_addresses_unique_active";
+
+    /**
+     * One active default address per (user, tenant)
+     */
+    private static final String DEFAULT_UNIQUE_INDEX = "idx_addresses_default_unique";
+
     private final AddressRepository addressRepository;
+    private final ArchivedAddressRepository archivedAddressRepository;
+    private final AddressBookCache addressBookCache;
+    private final AddressBookCacheInvalidator addressBookCacheInvalidator;
+    private final AddressNotFoundCache addressNotFoundCache;
+    private final PlatformTransactionManager transactionManager;
 
     @Override
     @Transactional
@@ -47,56 +93,101 @@ public class AddressServiceImpl implements AddressService {
             );
         }
 
-        // 2. Check for duplicate address (active addresses only)
-        boolean duplicateExists = addressRepository.existsByUserIdAndTenantIdAndLine1AndCityAndPostcodeAndCountryAndDeletedFalse(
-            targetUserId,
-            tenantId,
-            request.line1(),
-            request.city(),
-            request.postcode(),
-            request.country()
-        );
+        // 2. If this is set as default, unset other default addresses for this user (single bulk update)
+        if (request.isDefault() != null && request.isDefault()) {
+            addressRepository.clearDefaultAddresses(targetUserId, tenantId, LocalDateTime.now());
+        }
 
-        if (duplicateExists) {
-            log.warn("Duplicate address detected for user: {}, tenant: {}", targetUserId, tenantId);
-            throw new BusinessException(
-                ErrorCode.ADDRESS_DUPLICATE,
-                "An identical address already exists for this user"
-            );
+        // 3. Create new address (duplicates are rejected by idx_addresses_unique_active)
+        Address address = newAddress(targetUserId, tenantId, request);
+
+        Address savedAddress = saveAndFlush(address);
+        log.info("Created address {} for user: {}, tenant: {}", savedAddress.getId(), targetUserId, tenantId);
+
+        addressBookCacheInvalidator.invalidateAfterCommit(tenantId, targetUserId);
+        addressBookCacheInvalidator.forgetNotFoundAfterCommit(tenantId, savedAddress.getId());
+
+        return toResponse(savedAddress);
+    }
+
+    @Override
+    @Transactional
+    public BatchAddressResponse createAddresses(
+            UUID tenantId,
+            UUID currentUserId,
+            List<String> roles,
+            List<AddressRequest> requests) {
+        
+        log.debug("Creating {} addresses for tenant: {}", requests.size(), tenantId);
+
+        BatchAddressResult[] results = new BatchAddressResult[requests.size()];
+
+        // 1. Authorization check per item: Users can only create addresses for themselves, admins/staff can create for any user
+        Map<Integer, UUID> targetUserIds = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            UUID targetUserId = requests.get(i).userId() != null ? requests.get(i).userId() : currentUserId;
+            if (!targetUserId.equals(currentUserId) && !hasAdminOrStaffRole(roles)) {
+                results[i] = new BatchAddressResult(i, BatchAddressResult.Status.UNAUTHORIZED, null,
+                    "You can only create addresses for yourself");
+            } else {
+                targetUserIds.put(i, targetUserId);
+            }
         }
 
-        // 3. If this is set as default, unset other default addresses for this user
-        if (request.isDefault() != null && request.isDefault()) {
-            List<Address> existingDefaults = addressRepository.findByUserIdAndTenantIdAndDeletedFalse(targetUserId, tenantId)
-                .stream()
-                .filter(Address::getIsDefault)
-                .collect(Collectors.toList());
-            
-            for (Address existingDefault : existingDefaults) {
-                existingDefault.setIsDefault(false);
-                addressRepository.save(existingDefault);
+        // 2. Detect duplicates: one query for the existing active addresses of all target users, then within the batch
+        Set<DuplicateKey> takenKeys = new HashSet<>();
+        if (!targetUserIds.isEmpty()) {
+            addressRepository.findByTenantIdAndUserIdInAndDeletedFalse(tenantId, new HashSet<>(targetUserIds.values()))
+                .forEach(existing -> takenKeys.add(DuplicateKey.of(existing)));
+        }
+
+        List<Address> addresses = new ArrayList<>();
+        List<Integer> addressIndexes = new ArrayList<>();
+        Map<UUID, Address> newDefaults = new HashMap<>();
+        targetUserIds.forEach((index, targetUserId) -> {
+            AddressRequest request = requests.get(index);
+            if (!takenKeys.add(DuplicateKey.of(targetUserId, request))) {
+                results[index] = new BatchAddressResult(index, BatchAddressResult.Status.DUPLICATE, null,
+                    "An identical address already exists for this user");
+                return;
             }
+
+            Address address = newAddress(targetUserId, tenantId, request);
+            if (address.getIsDefault()) {
+                // Last default in the batch wins
+                Address previousDefault = newDefaults.put(targetUserId, address);
+                if (previousDefault != null) {
+                    previousDefault.setIsDefault(false);
+                }
+            }
+            addresses.add(address);
+            addressIndexes.add(index);
+        });
+
+        // 3. Unset existing defaults of users receiving a new default (single bulk update)
+        if (!newDefaults.isEmpty()) {
+            addressRepository.clearDefaultAddressesForUsers(tenantId, newDefaults.keySet(), LocalDateTime.now());
         }
 
-        // 4. Create new address
-        Address address = Address.builder()
-            .userId(targetUserId)
-            .tenantId(tenantId)
-            .line1(request.line1())
-            .line2(request.line2())
-            .city(request.city())
-            .state(request.state())
-            .postcode(request.postcode())
-            .country(request.country())
-            .label(request.label())
-            .isDefault(request.isDefault() != null ? request.isDefault() : false)
-            .deleted(false)
-            .build();
+        // 4. Insert (grouped into JDBC batches, see hibernate.jdbc.batch_size)
+        List<Address> savedAddresses = addresses.isEmpty()
+            ? List.of()
+            : translatingConstraintViolations(() -> addressRepository.saveAllAndFlush(addresses));
+        Set<UUID> affectedUserIds = new HashSet<>();
+        for (int i = 0; i < savedAddresses.size(); i++) {
+            Address savedAddress = savedAddresses.get(i);
+            results[addressIndexes.get(i)] = new BatchAddressResult(addressIndexes.get(i),
+                BatchAddressResult.Status.CREATED, toResponse(savedAddress), null);
+            affectedUserIds.add(savedAddress.getUserId());
+        }
 
-        Address savedAddress = addressRepository.save(address);
-        log.info("Created address {} for user: {}, tenant: {}", savedAddress.getId(), targetUserId, tenantId);
+        // Freshly generated IDs cannot be in the not-found cache, so only the address books are invalidated
+        affectedUserIds.forEach(userId -> addressBookCacheInvalidator.invalidateAfterCommit(tenantId, userId));
 
-        return toResponse(savedAddress);
+        int created = savedAddresses.size();
+        log.info("Created {} of {} addresses for tenant: {}", created, requests.size(), tenantId);
+
+        return new BatchAddressResponse(created, requests.size() - created, Arrays.asList(results));
     }
 
     @Override
@@ -109,46 +200,77 @@ public class AddressServiceImpl implements AddressService {
         
         log.debug("Getting address {} for user: {}, tenant: {}", addressId, currentUserId, tenantId);
 
-        // 1. Find address (include deleted if requested and user is admin/staff)
-        Address address;
+        // 1. Find address within the tenant (include deleted and archived if requested and user is admin/staff),
+        // projected straight into the response; other tenants' addresses are simply not found
+        // Audit reads stay on the primary; active reads may be served by a replica
+        AddressResponse address;
         if (includeDeleted && hasAdminOrStaffRole(roles)) {
-            address = addressRepository.findById(addressId)
+            address = readAuditSnapshot(() -> addressRepository.findResponseByIdAndTenantId(addressId, tenantId)
+                    .or(() -> archivedAddressRepository.findResponseByIdAndTenantId(addressId, tenantId)))
                 .orElseThrow(() -> new BusinessException(
                     ErrorCode.ADDRESS_NOT_FOUND,
                     "Address not found: " + addressId
                 ));
         } else {
-            address = addressRepository.findByIdAndDeletedFalse(addressId)
-                .orElseThrow(() -> new BusinessException(
+            // Recently seen as missing: reject without a database round-trip
+            // (not for read-your-writes reads: the entry may predate the caller's write)
+            if (!DataSourceRouting.isReplayRequired() && addressNotFoundCache.isKnownMissing(tenantId, addressId)) {
+                throw new BusinessException(
                     ErrorCode.ADDRESS_NOT_FOUND,
                     "Address not found: " + addressId
-                ));
-        }
-
-        // 2. Verify tenant isolation
-        if (!address.getTenantId().equals(tenantId)) {
-            log.warn("Tenant mismatch: address tenant {}, user tenant {}", address.getTenantId(), tenantId);
-            throw new BusinessException(
-                ErrorCode.UNAUTHORIZED,
-                "Address not found"
-            );
+                );
+            }
+            address = addressRepository.findActiveResponseByIdAndTenantId(addressId, tenantId)
+                .orElseThrow(() -> {
+                    addressNotFoundCache.markMissing(tenantId, addressId);
+                    return new BusinessException(
+                        ErrorCode.ADDRESS_NOT_FOUND,
+                        "Address not found: " + addressId
+                    );
+                });
         }
 
-        // 3. Authorization check
-        if (!canAccessAddress(currentUserId, address.getUserId(), roles)) {
+        // 2. Authorization check
+        if (!canAccessAddress(currentUserId, address.userId(), roles)) {
             log.warn("Unauthorized: User {} attempted to access address {} owned by user {}", 
-                currentUserId, addressId, address.getUserId());
+                currentUserId, addressId, address.userId());
             throw new BusinessException(
                 ErrorCode.UNAUTHORIZED,
                 "You do not have permission to access this address"
             );
         }
 
-        return toResponse(address);
+        return address;
     }
 
     @Override
-    public List<AddressResponse> getUserAddresses(
+    public List<AddressLookupResult> lookupAddresses(
+            List<UUID> addressIds,
+            UUID currentUserId,
+            UUID tenantId,
+            List<String> roles) {
+        
+        log.debug("Looking up {} addresses for user: {}, tenant: {}", addressIds.size(), currentUserId, tenantId);
+
+        // 1. Single tenant-scoped IN query for all distinct IDs
+        Map<UUID, AddressResponse> addresses = addressRepository.findActiveResponsesByIdIn(new HashSet<>(addressIds), tenantId)
+            .stream()
+            .collect(Collectors.toMap(AddressResponse::id, address -> address));
+
+        // 2. Authorization in memory; rejected addresses look the same as missing ones
+        return addressIds.stream()
+            .map(addressId -> {
+                AddressResponse address = addresses.get(addressId);
+                if (address == null || !canAccessAddress(currentUserId, address.userId(), roles)) {
+                    return new AddressLookupResult(addressId, false, null);
+                }
+                return new AddressLookupResult(addressId, true, address);
+            })
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public Versioned<List<AddressResponse>> getUserAddresses(
             UUID targetUserId,
             UUID tenantId,
             UUID currentUserId,
@@ -166,17 +288,74 @@ public class AddressServiceImpl implements AddressService {
             );
         }
 
-        // 2. Retrieve addresses
-        List<Address> addresses;
-        if (includeDeleted && hasAdminOrStaffRole(roles)) {
-            addresses = addressRepository.findByUserIdAndTenantId(targetUserId, tenantId);
-        } else {
-            addresses = addressRepository.findByUserIdAndTenantIdAndDeletedFalse(targetUserId, tenantId);
+        // 2. Retrieve addresses (read-through cache, loaded from the database on a miss)
+        boolean loadDeleted = includeDeleted && hasAdminOrStaffRole(roles);
+        // Read-your-writes (consistency token): a cached entry, and the version it is
+        // tagged with, may have been refilled from a replica that had not replayed the
+        // caller's write yet. Read through routing instead, unversioned so neither the
+        // pre-encoded body cache nor a stale ETag can answer for it.
+        if (DataSourceRouting.isReplayRequired()) {
+            return new Versioned<>(AddressBookCache.UNVERSIONED, loadUserAddresses(targetUserId, tenantId, loadDeleted));
         }
+        return addressBookCache.getAddresses(
+            new AddressBookCacheKey(tenantId, targetUserId, loadDeleted),
+            () -> loadUserAddresses(targetUserId, tenantId, loadDeleted)
+        );
+    }
 
-        return addresses.stream()
-            .map(this::toResponse)
-            .collect(Collectors.toList());
+    @Override
+    public long getAddressBookVersion(
+            UUID targetUserId,
+            UUID tenantId,
+            UUID currentUserId,
+            List<String> roles) {
+        
+        // Authorization check: Users can only view their own addresses, admins/staff can view any user's addresses
+        if (!targetUserId.equals(currentUserId) && !hasAdminOrStaffRole(roles)) {
+            log.warn("Unauthorized: User {} attempted to view addresses for user {}", currentUserId, targetUserId);
+            throw new BusinessException(
+                ErrorCode.UNAUTHORIZED,
+                "You can only view your own addresses"
+            );
+        }
+
+        if (DataSourceRouting.isReplayRequired()) {
+            return AddressBookCache.UNVERSIONED;
+        }
+        return addressBookCache.getVersion(tenantId, targetUserId);
+    }
+
+    @Override
+    public AddressResponse getDefaultAddress(
+            UUID targetUserId,
+            UUID tenantId,
+            UUID currentUserId,
+            List<String> roles) {
+        
+        log.debug("Getting default address for user: {}, tenant: {}", targetUserId, tenantId);
+
+        // 1. Authorization check: Users can only view their own addresses, admins/staff can view any user's addresses
+        if (!targetUserId.equals(currentUserId) && !hasAdminOrStaffRole(roles)) {
+            log.warn("Unauthorized: User {} attempted to view default address for user {}", currentUserId, targetUserId);
+            throw new BusinessException(
+                ErrorCode.UNAUTHORIZED,
+                "You can only view your own addresses"
+            );
+        }
+
+        // 2. Retrieve default address (own cache entry, single-row indexed lookup on a miss)
+        Optional<AddressResponse> defaultAddress = DataSourceRouting.isReplayRequired()
+            ? addressRepository.findDefaultResponse(targetUserId, tenantId)
+            : addressBookCache.getDefaultAddress(
+                tenantId,
+                targetUserId,
+                () -> addressRepository.findDefaultResponse(targetUserId, tenantId)
+            );
+        return defaultAddress
+            .orElseThrow(() -> new BusinessException(
+                ErrorCode.ADDRESS_NOT_FOUND,
+                "No default address set for user: " + targetUserId
+            ));
     }
 
     @Override
@@ -190,23 +369,14 @@ public class AddressServiceImpl implements AddressService {
         
         log.debug("Updating address {} for user: {}, tenant: {}", addressId, currentUserId, tenantId);
 
-        // 1. Find address (active only for regular users)
-        Address address = addressRepository.findByIdAndDeletedFalse(addressId)
+        // 1. Find address within the tenant (active only; other tenants' addresses are not found)
+        Address address = addressRepository.findByIdAndTenantIdAndDeletedFalse(addressId, tenantId)
             .orElseThrow(() -> new BusinessException(
                 ErrorCode.ADDRESS_NOT_FOUND,
                 "Address not found: " + addressId
             ));
 
-        // 2. Verify tenant isolation
-        if (!address.getTenantId().equals(tenantId)) {
-            log.warn("Tenant mismatch: address tenant {}, user tenant {}", address.getTenantId(), tenantId);
-            throw new BusinessException(
-                ErrorCode.UNAUTHORIZED,
-                "Address not found"
-            );
-        }
-
-        // 3. Authorization check
+        // 2. Authorization check
         if (!canAccessAddress(currentUserId, address.getUserId(), roles)) {
             log.warn("Unauthorized: User {} attempted to update address {} owned by user {}", 
                 currentUserId, addressId, address.getUserId());
@@ -216,41 +386,17 @@ public class AddressServiceImpl implements AddressService {
             );
         }
 
-        // 4. Check for duplicate if address fields changed (excluding current address)
-        if (hasAddressChanged(address, request)) {
-            boolean duplicateExists = addressRepository.existsByUserIdAndTenantIdAndLine1AndCityAndPostcodeAndCountryAndDeletedFalse(
+        // 3. If setting as default, unset other default addresses (single bulk update)
+        if (request.isDefault() != null && request.isDefault() && !address.getIsDefault()) {
+            addressRepository.clearOtherDefaultAddresses(
                 address.getUserId(),
                 address.getTenantId(),
-                request.line1(),
-                request.city(),
-                request.postcode(),
-                request.country()
+                addressId,
+                LocalDateTime.now()
             );
-
-            if (duplicateExists) {
-                log.warn("Duplicate address detected for user: {}, tenant: {}", address.getUserId(), address.getTenantId());
-                throw new BusinessException(
-                    ErrorCode.ADDRESS_DUPLICATE,
-                    "An identical address already exists for this user"
-                );
-            }
         }
 
-        // 5. If setting as default, unset other default addresses
-        if (request.isDefault() != null && request.isDefault() && !address.getIsDefault()) {
-            List<Address> existingDefaults = addressRepository.findByUserIdAndTenantIdAndDeletedFalse(address.getUserId(), address.getTenantId())
-                .stream()
-                .filter(addr -> !addr.getId().equals(addressId))
-                .filter(Address::getIsDefault)
-                .collect(Collectors.toList());
-            
-            for (Address existingDefault : existingDefaults) {
-                existingDefault.setIsDefault(false);
-                addressRepository.save(existingDefault);
-            }
-        }
-
-        // 6. Update address fields
+        // 4. Update address fields (duplicates are rejected by idx_addresses_unique_active)
         address.setLine1(request.line1());
         if (request.line2() != null) {
             address.setLine2(request.line2());
@@ -261,6 +407,7 @@ public class AddressServiceImpl implements AddressService {
         }
         address.setPostcode(request.postcode());
         address.setCountry(request.country());
+        address.setAddressFingerprint(fingerprint(request));
         if (request.label() != null) {
             address.setLabel(request.label());
         }
@@ -268,39 +415,82 @@ public class AddressServiceImpl implements AddressService {
             address.setIsDefault(request.isDefault());
         }
 
-        Address savedAddress = addressRepository.save(address);
+        Address savedAddress = saveAndFlush(address);
         log.info("Updated address {} for user: {}", addressId, address.getUserId());
 
+        addressBookCacheInvalidator.invalidateAfterCommit(address.getTenantId(), address.getUserId());
+
         return toResponse(savedAddress);
     }
 
     @Override
     @Transactional
-    public void deleteAddress(
+    public AddressResponse setDefaultAddress(
             UUID addressId,
             UUID currentUserId,
             UUID tenantId,
             List<String> roles) {
         
-        log.debug("Deleting address {} for user: {}, tenant: {}", addressId, currentUserId, tenantId);
+        log.debug("Setting default address {} for user: {}, tenant: {}", addressId, currentUserId, tenantId);
 
-        // 1. Find address (active only)
-        Address address = addressRepository.findByIdAndDeletedFalse(addressId)
+        // 1. Find address within the tenant (active only; other tenants' addresses are not found)
+        Address address = addressRepository.findByIdAndTenantIdAndDeletedFalse(addressId, tenantId)
             .orElseThrow(() -> new BusinessException(
                 ErrorCode.ADDRESS_NOT_FOUND,
                 "Address not found: " + addressId
             ));
 
-        // 2. Verify tenant isolation
-        if (!address.getTenantId().equals(tenantId)) {
-            log.warn("Tenant mismatch: address tenant {}, user tenant {}", address.getTenantId(), tenantId);
+        // 2. Authorization check
+        if (!canAccessAddress(currentUserId, address.getUserId(), roles)) {
+            log.warn("Unauthorized: User {} attempted to set default address {} owned by user {}", 
+                currentUserId, addressId, address.getUserId());
             throw new BusinessException(
                 ErrorCode.UNAUTHORIZED,
-                "Address not found"
+                "You do not have permission to update this address"
             );
         }
 
-        // 3. Authorization check
+        // 3. Already the default: nothing to write
+        if (address.getIsDefault()) {
+            return toResponse(address);
+        }
+
+        // 4. Clear the previous default, then flag this one
+        // (idx_addresses_default_unique guarantees at most one default per user)
+        addressRepository.clearOtherDefaultAddresses(
+            address.getUserId(),
+            address.getTenantId(),
+            addressId,
+            LocalDateTime.now()
+        );
+        address.setIsDefault(true);
+
+        Address savedAddress = saveAndFlush(address);
+        log.info("Set default address {} for user: {}", addressId, address.getUserId());
+
+        addressBookCacheInvalidator.invalidateAfterCommit(address.getTenantId(), address.getUserId());
+
+        return toResponse(savedAddress);
+    }
+
+    @Override
+    @Transactional
+    public void deleteAddress(
+            UUID addressId,
+            UUID currentUserId,
+            UUID tenantId,
+            List<String> roles) {
+        
+        log.debug("Deleting address {} for user: {}, tenant: {}", addressId, currentUserId, tenantId);
+
+        // 1. Find address within the tenant (active only; other tenants' addresses are not found)
+        Address address = addressRepository.findByIdAndTenantIdAndDeletedFalse(addressId, tenantId)
+            .orElseThrow(() -> new BusinessException(
+                ErrorCode.ADDRESS_NOT_FOUND,
+                "Address not found: " + addressId
+            ));
+
+        // 2. Authorization check
         if (!canAccessAddress(currentUserId, address.getUserId(), roles)) {
             log.warn("Unauthorized: User {} attempted to delete address {} owned by user {}", 
                 currentUserId, addressId, address.getUserId());
@@ -310,12 +500,14 @@ public class AddressServiceImpl implements AddressService {
             );
         }
 
-        // 4. Soft delete
+        // 3. Soft delete
         address.setDeleted(true);
         address.setDeletedAt(LocalDateTime.now());
         addressRepository.save(address);
         
         log.info("Soft deleted address {} for user: {}", addressId, address.getUserId());
+
+        addressBookCacheInvalidator.invalidateAfterCommit(address.getTenantId(), address.getUserId());
     }
 
     @Override
@@ -347,19 +539,129 @@ public class AddressServiceImpl implements AddressService {
     }
 
     /**
-     * Check if address fields have changed (used for duplicate detection)
+     * Load a user's addresses from the database (cache miss path, DTO projection)
+     * The include-deleted (audit) view also covers addresses moved to the archive (see readAuditSnapshot)
+     */
+    private List<AddressResponse> loadUserAddresses(UUID userId, UUID tenantId, boolean includeDeleted) {
+        if (includeDeleted) {
+            return readAuditSnapshot(() -> {
+                List<AddressResponse> addresses = new ArrayList<>(addressRepository.findAllResponses(userId, tenantId));
+                addresses.addAll(archivedAddressRepository.findResponses(userId, tenantId));
+                return addresses;
+            });
+        }
+        return addressRepository.findActiveResponses(userId, tenantId);
+    }
+
+    /**
+     * Run audit reads of addresses and addresses_archive on the primary, in one
+     * REPEATABLE READ transaction
+     * 
+     * <p>Both tables are then read from the same snapshot, so a row the archiver moves
+     * between the two queries is seen in exactly one of them. With a snapshot per query
+     * it would be returned twice (or, read in the other order, not at all), and the
+     * include-deleted book cached that way: the archiver does not invalidate, as the
+     * row only changes tables.
+     */
+    private <T> T readAuditSnapshot(Supplier<T> reads) {
+        TransactionTemplate snapshot = new TransactionTemplate(transactionManager);
+        snapshot.setReadOnly(true);
+        snapshot.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        return DataSourceRouting.onPrimary(() -> snapshot.execute(status -> reads.get()));
+    }
+
+    /**
+     * Save and flush an address, translating unique index violations into business errors
+     * 
+     * <p>Flushing here makes the INSERT/UPDATE run inside this method, so a violation
+     * surfaces as ADDRESS_DUPLICATE instead of failing later at commit. The transaction
+     * is rolled back by the thrown exception.
      */
-    private boolean hasAddressChanged(Address address, AddressRequest request) {
-        return !address.getLine1().equals(request.line1()) ||
-               !address.getCity().equals(request.city()) ||
-               !address.getPostcode().equals(request.postcode()) ||
-               !address.getCountry().equals(request.country());
+    private Address saveAndFlush(Address address) {
+        return translatingConstraintViolations(() -> addressRepository.saveAndFlush(address));
+    }
+
+    /**
+     * Run a flushing write, translating unique index violations into business errors
+     */
+    private <T> T translatingConstraintViolations(Supplier<T> write) {
+        try {
+            return write.get();
+        } catch (DataIntegrityViolationException e) {
+            String constraint = violatedUniqueConstraint(e);
+            if (constraint != null && constraint.startsWith(UNIQUE_ACTIVE_INDEX)) {
+                log.warn("Duplicate address rejected by {}", UNIQUE_ACTIVE_INDEX);
+                throw new BusinessException(
+                    ErrorCode.ADDRESS_DUPLICATE,
+                    "An identical address already exists for this user"
+                );
+            }
+            if (constraint != null && constraint.startsWith(DEFAULT_UNIQUE_INDEX)) {
+                log.warn("Concurrent default address change rejected by {}", DEFAULT_UNIQUE_INDEX);
+                throw new BusinessException(
+                    ErrorCode.ADDRESS_DUPLICATE,
+                    "The default address was changed concurrently, please retry"
+                );
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Name of the unique index behind a violation, or null if it is not a unique violation
+     */
+    private static String violatedUniqueConstraint(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation
+                    && UNIQUE_VIOLATION.equals(violation.getSQLState())) {
+                return violation.getConstraintName();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Build a new (unsaved) address from a request
+     */
+    private Address newAddress(UUID userId, UUID tenantId, AddressRequest request) {
+        return Address.builder()
+            .userId(userId)
+            .tenantId(tenantId)
+            .line1(request.line1())
+            .line2(request.line2())
+            .city(request.city())
+            .state(request.state())
+            .postcode(request.postcode())
+            .country(request.country())
+            .addressFingerprint(fingerprint(request))
+            .label(request.label())
+            .isDefault(request.isDefault() != null ? request.isDefault() : false)
+            .deleted(false)
+            .build();
+    }
+
+    private static long fingerprint(AddressRequest request) {
+        return AddressFingerprint.of(request.line1(), request.city(), request.postcode(), request.country());
+    }
+
+    /**
+     * Columns of idx_addresses_unique_active within a tenant (batch duplicate detection)
+     */
+    private record DuplicateKey(UUID userId, long fingerprint) {
+
+        static DuplicateKey of(AddressRepository.ActiveAddressKey key) {
+            return new DuplicateKey(key.getUserId(), key.getAddressFingerprint());
+        }
+
+        static DuplicateKey of(UUID userId, AddressRequest request) {
+            return new DuplicateKey(userId, fingerprint(request));
+        }
     }
 
     /**
      * Convert Address entity to AddressResponse DTO
      */
-    private AddressResponse toResponse(Address address) {
+    static AddressResponse toResponse(Address address) {
         return new AddressResponse(
             address.getId(),
             address.getUserId(),
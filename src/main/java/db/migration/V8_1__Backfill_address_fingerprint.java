@@ -0,0 +1,67 @@
+package db.migration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Backfills address_fingerprint (added by V8) in short batches
+ *
+ * <p>Runs outside a migration transaction: every chunk of rows is updated and committed
+ * on its own, so row locks are held for one chunk only and live writes are never blocked
+ * for long. Chunks are walked by id, like AddressPartitionMigrator.
+ *
+ * <p>While a partition migration is in progress, updating addresses fires the mirror
+ * trigger, which already carries the value into addresses_partitioned; the pass over
+ * addresses_partitioned then only fills rows the mirror has not rewritten.
+ */
+@Slf4j
+public class V8_1__Backfill_address_fingerprint extends BaseJavaMigration {
+
+    private static final List<String> TABLES = List.of("addresses", "addresses_partitioned", "addresses_archive");
+    private static final int CHUNK_SIZE = 5_000;
+
+    /**
+     * Smallest UUID in PostgreSQL ordering (start of the keyset walk)
+     */
+    private static final UUID MIN_ID = new UUID(0L, 0L);
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+
+        for (String table : TABLES) {
+            if (jdbcTemplate.queryForObject("select to_regclass(?)::text", String.class, table) == null) {
+                continue;
+            }
+
+            UUID lastId = MIN_ID;
+            long updated = 0;
+            while (true) {
+                UUID toId = jdbcTemplate.queryForObject(
+                    "select max(id) from (select id from " + table + " where id > ? order by id limit ?) chunk",
+                    UUID.class, lastId, CHUNK_SIZE);
+                if (toId == null) {
+                    break;
+                }
+
+                updated += jdbcTemplate.update(
+                    "update " + table + " set address_fingerprint = address_fingerprint(line1, city, postcode, country)"
+                        + " where id > ? and id <= ? and address_fingerprint is null",
+                    lastId, toId);
+                lastId = toId;
+            }
+            log.info("Address fingerprint backfill: {} rows updated in {}", updated, table);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package db.migration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rebuilds the duplicate-detection index on (tenant_id, user_id, address_fingerprint)
+ *
+ * <p>Runs outside a migration transaction so the new index can be built CONCURRENTLY,
+ * without blocking writes. The replacement is built next to the old index and takes its
+ * name once complete, so AddressServiceImpl keeps recognising violations by the
+ * idx_addresses_unique_active prefix.
+ *
+ * <p>Index names are looked up on the tables as they are now rather than assumed:
+ * addresses is a plain table before the partition cutover (V5) and the partitioned one
+ * after it. A partitioned index cannot be built concurrently, so for a partitioned table
+ * the parent index is created ON ONLY and each partition's index is built concurrently
+ * and attached. addresses_unpartitioned (the rollback copy kept after a cutover) is left
+ * unchanged.
+ *
+ * <p>A rerun after a failure (flyway repair, then migrate) resumes: leftover replacements
+ * are dropped and rebuilt, and if the old index was already dropped the replacement is
+ * only renamed.
+ */
+@Slf4j
+public class V8_2__Rebuild_unique_active_index extends BaseJavaMigration {
+
+    private static final List<String> TABLES = List.of("addresses", "addresses_partitioned");
+    private static final String KEY = "(tenant_id, user_id, address_fingerprint) where deleted = false";
+    private static final String SUFFIX = "_fp";
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+
+        for (String table : TABLES) {
+            if (jdbcTemplate.queryForObject("select to_regclass(?)::text", String.class, table) == null) {
+                continue;
+            }
+
+            dedupe(jdbcTemplate, table);
+            Boolean partitioned = jdbcTemplate.queryForObject(
+                "select relkind = 'p' from pg_class where oid = ?::regclass", Boolean.class, table);
+            if (Boolean.TRUE.equals(partitioned)) {
+                rebuildPartitioned(jdbcTemplate, table);
+            } else {
+                rebuild(jdbcTemplate, table);
+            }
+            log.info("Address fingerprint: rebuilt unique active index of {}", table);
+        }
+    }
+
+    /**
+     * Addresses that only differed in case or whitespace are duplicates now. Keep one per
+     * key (the default, else the most recently updated) and soft-delete the others, so
+     * admins can still see and restore them. Only the duplicates are locked.
+     */
+    private void dedupe(JdbcTemplate jdbcTemplate, String table) {
+        int removed = jdbcTemplate.update("""
+            update %1$s a
+               set deleted = true,
+                   deleted_at = current_timestamp,
+                   is_default = false,
+                   updated_at = current_timestamp
+              from (select id,
+                           row_number() over (
+                               partition by tenant_id, user_id, address_fingerprint
+                               order by is_default desc, updated_at desc, id desc) as position
+                      from %1$s
+                     where deleted = false) ranked
+             where a.id = ranked.id
+               and ranked.position > 1
+            """.formatted(table));
+        log.info("Address fingerprint: soft-deleted {} duplicate addresses in {}", removed, table);
+    }
+
+    private void rebuild(JdbcTemplate jdbcTemplate, String table) {
+        if (renameOrphanedReplacement(jdbcTemplate, table)) {
+            return;
+        }
+
+        String index = uniqueActiveIndex(jdbcTemplate, table);
+        String replacement = index + SUFFIX;
+
+        // Left behind (invalid) if an earlier concurrent build failed
+        jdbcTemplate.execute("drop index concurrently if exists " + replacement);
+        jdbcTemplate.execute("create unique index concurrently " + replacement + " on " + table + KEY);
+        jdbcTemplate.execute("drop index concurrently " + index);
+        jdbcTemplate.execute("alter index " + replacement + " rename to " + index);
+    }
+
+    private void rebuildPartitioned(JdbcTemplate jdbcTemplate, String table) {
+        List<String> partitions = jdbcTemplate.queryForList(
+            "select inhrelid::regclass::text from pg_inherits where inhparent = ?::regclass order by 1",
+            String.class, table);
+
+        // An earlier run got past dropping the old parent index: only renames were left
+        boolean renamed = renameOrphanedReplacement(jdbcTemplate, table);
+        for (String partition : partitions) {
+            renamed |= renameOrphanedReplacement(jdbcTemplate, partition);
+        }
+        if (renamed) {
+            return;
+        }
+
+        String parentIndex = uniqueActiveIndex(jdbcTemplate, table);
+        String parentReplacement = parentIndex + SUFFIX;
+
+        // Invalid until every partition has its index attached; drops leftovers of an earlier run
+        jdbcTemplate.execute("drop index if exists " + parentReplacement);
+        jdbcTemplate.execute("create unique index " + parentReplacement + " on only " + table + KEY);
+
+        List<String> partitionIndexes = new ArrayList<>();
+        for (String partition : partitions) {
+            String index = uniqueActiveIndex(jdbcTemplate, partition);
+            String replacement = index + SUFFIX;
+            jdbcTemplate.execute("drop index concurrently if exists " + replacement);
+            jdbcTemplate.execute("create unique index concurrently " + replacement + " on " + partition + KEY);
+            jdbcTemplate.execute("alter index " + parentReplacement + " attach partition " + replacement);
+            partitionIndexes.add(index);
+        }
+
+        // Drops the attached partition indexes with it: a catalog change under a brief lock, no scan
+        jdbcTemplate.execute("drop index " + parentIndex);
+        jdbcTemplate.execute("alter index " + parentReplacement + " rename to " + parentIndex);
+        for (String index : partitionIndexes) {
+            jdbcTemplate.execute("alter index " + index + SUFFIX + " rename to " + index);
+        }
+    }
+
+    /**
+     * Finish a rebuild that failed after dropping the old index: the replacement is the
+     * only idx_addresses_unique_active* index left, and takes the old name
+     *
+     * @return whether a replacement was renamed
+     */
+    private boolean renameOrphanedReplacement(JdbcTemplate jdbcTemplate, String table) {
+        List<String> indexes = jdbcTemplate.queryForList("""
+            select c.relname
+              from pg_index i
+              join pg_class c on c.oid = i.indexrelid
+             where i.indrelid = ?::regclass
+               and c.relname like 'idx\\_addresses\\_unique\\_active%'
+            """, String.class, table);
+        if (indexes.size() != 1 || !indexes.get(0).endsWith(SUFFIX)) {
+            return false;
+        }
+
+        String replacement = indexes.get(0);
+        String index = replacement.substring(0, replacement.length() - SUFFIX.length());
+        jdbcTemplate.execute("alter index " + replacement + " rename to " + index);
+        log.info("Address fingerprint: renamed {} left by an earlier run to {}", replacement, index);
+        return true;
+    }
+
+    /**
+     * Name of the current idx_addresses_unique_active* index of a table (or partition)
+     */
+    private String uniqueActiveIndex(JdbcTemplate jdbcTemplate, String table) {
+        return jdbcTemplate.queryForObject("""
+            select c.relname
+              from pg_index i
+              join pg_class c on c.oid = i.indexrelid
+             where i.indrelid = ?::regclass
+               and c.relname like 'idx\\_addresses\\_unique\\_active%'
+               and c.relname not like '%\\_fp'
+            """, String.class, table);
+    }
+}
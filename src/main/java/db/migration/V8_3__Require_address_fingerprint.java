@@ -0,0 +1,49 @@
+package db.migration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.List;
+
+/**
+ * Makes address_fingerprint NOT NULL without a long exclusive lock
+ *
+ * <p>SET NOT NULL on its own scans the whole table under an ACCESS EXCLUSIVE lock. Instead a
+ * CHECK constraint is added NOT VALID (catalog only), validated (a scan that does not block
+ * writes), and SET NOT NULL then relies on it and skips the scan. Each step commits on its
+ * own, so no lock is held across the validation.
+ *
+ * <p>The V8 trigger fills the column on every write, so no NULL can appear after the backfill.
+ */
+@Slf4j
+public class V8_3__Require_address_fingerprint extends BaseJavaMigration {
+
+    private static final List<String> TABLES = List.of("addresses", "addresses_partitioned");
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+
+        for (String table : TABLES) {
+            if (jdbcTemplate.queryForObject("select to_regclass(?)::text", String.class, table) == null) {
+                continue;
+            }
+
+            String constraint = table + "_fingerprint_not_null";
+            jdbcTemplate.execute("alter table " + table + " add constraint " + constraint
+                + " check (address_fingerprint is not null) not valid");
+            jdbcTemplate.execute("alter table " + table + " validate constraint " + constraint);
+            jdbcTemplate.execute("alter table " + table + " alter column address_fingerprint set not null");
+            jdbcTemplate.execute("alter table " + table + " drop constraint " + constraint);
+            log.info("Address fingerprint: {}.address_fingerprint is now NOT NULL", table);
+        }
+    }
+}
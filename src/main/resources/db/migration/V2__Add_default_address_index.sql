@@ -0,0 +1,9 @@
+-- Default Address Index Migration
+-- Supports GET /api/v1/address/default as a single-row lookup
+
+-- Partial index covering only active default addresses (at most one per user).
+-- Much smaller than the full (user_id, tenant_id, deleted) index, and its predicate
+-- matches findFirstByUserIdAndTenantIdAndIsDefaultTrueAndDeletedFalse exactly.
+create index idx_addresses_default_active
+    on addresses(tenant_id, user_id)
+    where is_default = true and deleted = false;
@@ -0,0 +1,28 @@
+-- Single Default Address Migration
+-- Lets the database guarantee at most one active default address per user
+
+-- Existing data may contain several defaults per user (the previous read-modify-write
+-- in Java was not atomic). Keep the most recently updated one.
+update addresses a
+   set is_default = false,
+       updated_at = current_timestamp
+ where a.is_default = true
+   and a.deleted = false
+   and exists (
+       select 1
+         from addresses b
+        where b.user_id = a.user_id
+          and b.tenant_id = a.tenant_id
+          and b.is_default = true
+          and b.deleted = false
+          and (b.updated_at, b.id) > (a.updated_at, a.id)
+   );
+
+-- Replaces the non-unique idx_addresses_default_active: same predicate, so it still
+-- serves the single-row default lookup, and concurrent default switches can no
+-- longer leave two defaults behind.
+create unique index idx_addresses_default_unique
+    on addresses(user_id, tenant_id)
+    where is_default = true and deleted = false;
+
+drop index idx_addresses_default_active;
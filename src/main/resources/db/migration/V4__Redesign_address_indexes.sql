@@ -0,0 +1,30 @@
+-- Index Redesign Migration
+-- Replaces the overlapping V1 indexes with a small set matched to AddressRepository queries
+--
+-- Query                                      Served by
+-- ----------------------------------------   --------------------------------------------
+-- findActiveResponses (user, tenant)         idx_addresses_unique_active (leading columns)
+-- findByTenantIdAndUserIdInAndDeletedFalse   idx_addresses_unique_active (index-only scan)
+-- duplicate detection on insert/update       idx_addresses_unique_active
+-- findDefaultResponse, clear*Default*        idx_addresses_default_unique
+-- findAllResponses (admin, incl. deleted)    BitmapOr of idx_addresses_unique_active and
+--                                            idx_addresses_deleted_user (see repository)
+-- find*ById*, lookup by ID                   primary key
+--
+-- Every remaining index is partial, so each row is maintained in at most two of them
+-- (plus the primary key) instead of six.
+
+-- Rows of soft-deleted addresses, for the admin include-deleted view
+create index idx_addresses_deleted_user
+    on addresses(user_id, tenant_id)
+    where deleted = true;
+
+-- Covered by the leading columns of idx_addresses_unique_active
+drop index if exists idx_addresses_user_id;
+drop index if exists idx_addresses_user_tenant_deleted;
+
+-- No query filters by tenant alone
+drop index if exists idx_addresses_tenant_id;
+
+-- Two distinct values; never selective enough to be used
+drop index if exists idx_addresses_deleted;
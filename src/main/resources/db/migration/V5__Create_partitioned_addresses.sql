@@ -0,0 +1,108 @@
+-- Partitioned Addresses Migration
+-- Prepares an online move of addresses to a table hash-partitioned by tenant_id
+--
+-- This migration only creates the (empty) target table and the SQL used by the
+-- migration tool (AddressPartitionMigrator). Application traffic keeps using
+-- addresses until the tool has copied all rows and performed the cutover:
+--
+--   1. tool installs trg_addresses_mirror: every write to addresses is mirrored
+--   2. tool copies existing rows in id-ordered chunks (resumable)
+--   3. tool removes rows hard-deleted from addresses while copying
+--   4. tool calls addresses_partition_cutover(): renames addresses_partitioned to
+--      addresses under a short ACCESS EXCLUSIVE lock; the old table is kept as
+--      addresses_unpartitioned for rollback and dropped manually later
+--
+-- Later migrations that change addresses must apply the same change to
+-- addresses_partitioned while it exists (guard with to_regclass).
+
+create table addresses_partitioned (like addresses including defaults including comments)
+    partition by hash (tenant_id);
+
+-- The primary key of a partitioned table must contain the partition key
+alter table addresses_partitioned add primary key (id, tenant_id);
+
+-- Parent indexes are created ONLY on the parent and each partition index is created with
+-- an explicit name and attached: unique violations report the partition index name, and
+-- AddressServiceImpl recognises them by the idx_addresses_unique_active /
+-- idx_addresses_default_unique prefix.
+create unique index idx_addresses_unique_active_parted
+    on only addresses_partitioned(user_id, tenant_id, line1, city, postcode, country)
+    where deleted = false;
+
+create unique index idx_addresses_default_unique_parted
+    on only addresses_partitioned(user_id, tenant_id)
+    where is_default = true and deleted = false;
+
+create index idx_addresses_deleted_user_parted
+    on only addresses_partitioned(user_id, tenant_id)
+    where deleted = true;
+
+do $$
+begin
+    for i in 0..15 loop
+        execute format(
+            'create table addresses_p%s partition of addresses_partitioned for values with (modulus 16, remainder %s)',
+            i, i);
+
+        execute format(
+            'create unique index idx_addresses_unique_active_p%s on addresses_p%s(user_id, tenant_id, line1, city, postcode, country) where deleted = false',
+            i, i);
+        execute format('alter index idx_addresses_unique_active_parted attach partition idx_addresses_unique_active_p%s', i);
+
+        execute format(
+            'create unique index idx_addresses_default_unique_p%s on addresses_p%s(user_id, tenant_id) where is_default = true and deleted = false',
+            i, i);
+        execute format('alter index idx_addresses_default_unique_parted attach partition idx_addresses_default_unique_p%s', i);
+
+        execute format(
+            'create index idx_addresses_deleted_user_p%s on addresses_p%s(user_id, tenant_id) where deleted = true',
+            i, i);
+        execute format('alter index idx_addresses_deleted_user_parted attach partition idx_addresses_deleted_user_p%s', i);
+    end loop;
+end
+$$;
+
+-- Mirrors a row change on addresses into addresses_partitioned.
+-- Delete + insert (rather than an upsert column list) keeps it valid when columns are added
+-- to both tables. The chunk copy never races with it on the same row:
+--   * copy first: the copy holds FOR SHARE locks on its source rows until it commits, so
+--     the live write waits, and its delete then sees (and replaces) the copied row
+--   * live write first: the copy waits on the mirrored insert and then skips the row
+--     (on conflict do nothing), so the mirrored (newer) version wins
+create function addresses_mirror_to_partitioned() returns trigger
+language plpgsql as $$
+begin
+    if tg_op in ('UPDATE', 'DELETE') then
+        delete from addresses_partitioned where id = old.id and tenant_id = old.tenant_id;
+    end if;
+    if tg_op in ('INSERT', 'UPDATE') then
+        insert into addresses_partitioned select (new).*;
+    end if;
+    return null;
+end
+$$;
+
+-- Swaps the tables. Called by the migration tool once the copy is complete and reconciled.
+create function addresses_partition_cutover() returns void
+language plpgsql as $$
+begin
+    lock table addresses in access exclusive mode;
+    drop trigger if exists trg_addresses_mirror on addresses;
+    alter table addresses rename to addresses_unpartitioned;
+    alter table addresses_partitioned rename to addresses;
+end
+$$;
+
+-- Resumable progress of the chunked copy (single row)
+create table address_partition_backfill (
+    id int primary key default 1 check (id = 1),
+    last_id uuid, -- Highest addresses.id copied so far (null: not started)
+    copied_rows bigint not null default 0,
+    completed_at timestamp,
+    updated_at timestamp not null default current_timestamp
+);
+
+insert into address_partition_backfill (id) values (1);
+
+comment on table addresses_partitioned is 'Hash-partitioned (tenant_id) copy of addresses, filled by the partition migration tool until cutover';
+comment on table address_partition_backfill is 'Progress of the chunked copy from addresses to addresses_partitioned';
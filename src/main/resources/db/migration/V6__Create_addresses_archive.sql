@@ -0,0 +1,39 @@
+-- Addresses Archive Migration
+-- Cold storage for addresses soft-deleted long ago (moved by AddressArchiver)
+
+create table addresses_archive (
+    id uuid primary key,
+    user_id uuid not null,
+    tenant_id uuid not null,
+    line1 varchar(255) not null,
+    line2 varchar(255),
+    city varchar(100) not null,
+    state varchar(100),
+    postcode varchar(20) not null,
+    country varchar(2) not null,
+    label varchar(50),
+    is_default boolean not null,
+    deleted boolean not null,
+    deleted_at timestamp,
+    created_at timestamp not null,
+    updated_at timestamp not null,
+    archived_at timestamp not null default current_timestamp
+);
+
+-- Admin include-deleted views (union with addresses)
+create index idx_addresses_archive_user_tenant on addresses_archive(user_id, tenant_id);
+
+-- Archiver scan: oldest soft-deleted rows first, without touching active rows
+create index idx_addresses_deleted_at on addresses(deleted_at) where deleted = true;
+
+-- Keep the partitioned copy (V5) in step while it exists
+do $$
+begin
+    if to_regclass('addresses_partitioned') is not null then
+        create index idx_addresses_deleted_at_parted on addresses_partitioned(deleted_at) where deleted = true;
+    end if;
+end
+$$;
+
+comment on table addresses_archive is 'Addresses soft-deleted longer than the retention period, moved out of the hot table. Read by admin include-deleted views.';
+comment on column addresses_archive.archived_at is 'Timestamp when the row was moved from addresses';
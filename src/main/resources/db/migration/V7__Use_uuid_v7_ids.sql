@@ -0,0 +1,36 @@
+-- UUIDv7 Ids Migration
+-- Makes new address ids time-ordered (RFC 9562 version 7)
+--
+-- Random (v4) ids scatter inserts over the whole primary key index, so every insert
+-- dirties a random leaf page and page splits leave the index half full. v7 ids begin
+-- with a millisecond timestamp: new keys land on the right-most leaf pages.
+--
+-- The application generates ids itself (UuidV7Generator); the column default only
+-- covers rows inserted by other clients. Existing v4 ids stay valid and unchanged -
+-- the column type is still uuid and ids remain opaque to clients.
+
+-- Random v4 uuid with its first 48 bits replaced by the Unix time in milliseconds,
+-- and the version nibble changed from 4 (0100) to 7 (0111) by setting bits 52 and 53.
+-- The variant bits of the v4 uuid are already correct.
+create or replace function uuid_generate_v7() returns uuid as $$
+    select encode(
+        set_bit(
+            set_bit(
+                overlay(uuid_send(gen_random_uuid())
+                        placing substring(int8send((extract(epoch from clock_timestamp()) * 1000)::bigint) from 3)
+                        from 1 for 6),
+                52, 1),
+            53, 1),
+        'hex')::uuid;
+$$ language sql volatile;
+
+alter table addresses alter column id set default uuid_generate_v7();
+
+-- Keep the partitioned copy (V5) in step while it exists
+do $$
+begin
+    if to_regclass('addresses_partitioned') is not null then
+        alter table addresses_partitioned alter column id set default uuid_generate_v7();
+    end if;
+end
+$$;
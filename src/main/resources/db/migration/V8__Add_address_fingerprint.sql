@@ -0,0 +1,70 @@
+-- Address Fingerprint Migration
+-- Replaces the wide duplicate-detection key with a 64-bit hash
+--
+-- idx_addresses_unique_active indexed user_id, tenant_id, line1 (up to 255 chars), city,
+-- postcode and country. It is rebuilt on (tenant_id, user_id, address_fingerprint): a fixed
+-- 40-byte key, and findByTenantIdAndUserIdInAndDeletedFalse becomes an index-only scan of it.
+--
+-- The application computes the fingerprint (AddressFingerprint). address_fingerprint()
+-- below is the same function in SQL; the two must stay identical. Normalization is
+-- ASCII-only on purpose, so the result does not depend on the database collation or the
+-- JVM locale.
+--
+-- The change is split so that addresses stays writable throughout:
+--   V8    functions, nullable column, trigger keeping the column filled (this file)
+--   V8_1  backfill of existing rows in short batches (db.migration, non-transactional)
+--   V8_2  dedupe and CREATE UNIQUE INDEX CONCURRENTLY on the fingerprint
+--   V8_3  NOT NULL, proven by a validated CHECK constraint instead of a locked scan
+
+-- Lower-case ASCII letters, collapse runs of space/tab/CR/LF to one space, trim
+create function address_fingerprint_normalize(value text) returns text
+language sql immutable strict as $$
+    select btrim(regexp_replace(
+               translate(value, 'ABCDEFGHIJKLMNOPQRSTUVWXYZ', 'abcdefghijklmnopqrstuvwxyz'),
+               '[ \t\r\n]+', ' ', 'g'), ' ');
+$$;
+
+create function address_fingerprint(line1 text, city text, postcode text, country text) returns bigint
+language sql immutable strict as $$
+    select ('x' || left(encode(sha256(convert_to(
+               address_fingerprint_normalize(line1) || chr(31) ||
+               address_fingerprint_normalize(city) || chr(31) ||
+               address_fingerprint_normalize(postcode) || chr(31) ||
+               address_fingerprint_normalize(country), 'UTF8')), 'hex'), 16))::bit(64)::bigint;
+$$;
+
+-- Keeps the fingerprint in step with the address fields for every writer: application
+-- instances still running the previous release during a rolling deploy, the mirror
+-- trigger (V5) and the backfill. Writes by the application set the same value.
+create function addresses_set_fingerprint() returns trigger
+language plpgsql as $$
+begin
+    new.address_fingerprint := address_fingerprint(new.line1, new.city, new.postcode, new.country);
+    return new;
+end
+$$;
+
+-- Adding a nullable column without a default only changes the catalog (no table rewrite).
+-- Partitioned copy (V5) first: once addresses has the column, the mirror trigger
+-- inserts rows with it.
+do $$
+begin
+    if to_regclass('addresses_partitioned') is not null then
+        alter table addresses_partitioned add column address_fingerprint bigint;
+        create trigger trg_addresses_partitioned_fingerprint
+            before insert or update of line1, city, postcode, country, address_fingerprint
+            on addresses_partitioned
+            for each row execute function addresses_set_fingerprint();
+    end if;
+end
+$$;
+
+alter table addresses add column address_fingerprint bigint;
+alter table addresses_archive add column address_fingerprint bigint;
+
+create trigger trg_addresses_fingerprint
+    before insert or update of line1, city, postcode, country, address_fingerprint
+    on addresses
+    for each row execute function addresses_set_fingerprint();
+
+comment on column addresses.address_fingerprint is 'First 64 bits of SHA-256 over the normalized line1, city, postcode and country (see address_fingerprint())';
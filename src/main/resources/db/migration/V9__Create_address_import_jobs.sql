@@ -0,0 +1,37 @@
+-- Address Import Migration
+-- Bookkeeping for bulk imports of legacy address books (AddressImporter)
+--
+-- Each import of a source file into a tenant is one job. The file is processed in chunks;
+-- a chunk's rows, rejects and the job's progress are committed in one transaction, so a
+-- restarted import resumes after the last committed chunk without loading rows twice.
+-- Rows are staged per chunk in a temporary table (created by the importer), not here.
+
+create table address_import_jobs (
+    id uuid primary key default uuid_generate_v7(),
+    tenant_id uuid not null,
+    source varchar(1024) not null, -- Path of the imported file
+    source_size bigint not null, -- File size at the first run; a changed file cannot be resumed
+    format varchar(10) not null, -- NDJSON or CSV
+    status varchar(20) not null, -- RUNNING, COMPLETED or FAILED
+    processed_records bigint not null default 0, -- Records of the file committed so far (resume point)
+    imported_rows bigint not null default 0,
+    duplicate_rows bigint not null default 0, -- Already present (active) or repeated within the file
+    rejected_rows bigint not null default 0, -- Failed parsing or validation (see address_import_rejects)
+    error text, -- Failure of the last run
+    created_at timestamp not null default current_timestamp,
+    updated_at timestamp not null default current_timestamp,
+    completed_at timestamp
+);
+
+-- One job per (tenant, file): re-running the same import resumes it
+create unique index idx_address_import_jobs_source on address_import_jobs(tenant_id, source);
+
+create table address_import_rejects (
+    job_id uuid not null references address_import_jobs(id) on delete cascade,
+    record_no bigint not null, -- 1-based record number in the file (CSV header excluded)
+    reason varchar(1000) not null,
+    primary key (job_id, record_no)
+);
+
+comment on table address_import_jobs is 'Bulk imports of legacy address books, one row per (tenant, source file)';
+comment on table address_import_rejects is 'Records of an import that failed parsing or AddressRequest validation';
@@ -0,0 +1,47 @@
+package com.ecom.addressbook;
+
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.UUID;
+
+/**
+ * Base class of the integration tests running against PostgreSQL
+ *
+ * <p>One postgres:15 container is started for the whole test run and shared by every
+ * subclass (Testcontainers stops it when the JVM exits). Spring test contexts point
+ * spring.datasource at it; Flyway migrates it in the first context and finds nothing
+ * to do in the next ones. Tests roll back or write under their own users or tenants,
+ * so they do not see each other's rows.
+ *
+ * <p>The JDBC URL enables reWriteBatchedInserts, as application.yml does.
+ *
+ * <p>Some subclasses also measure what they test. Statement and entity counts follow
+ * from the code and are asserted; elapsed times and allocated bytes depend on the
+ * machine and JVM, so they are only logged, for comparing runs (see TESTING_GUIDE.md).
+ */
+public abstract class PostgresIT {
+
+    protected static final UUID TENANT_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+
+    protected static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15")
+        .withDatabaseName("test_db")
+        .withUsername("test")
+        .withPassword("test");
+
+    static {
+        POSTGRES.start();
+    }
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", PostgresIT::jdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    protected static String jdbcUrl() {
+        return POSTGRES.getJdbcUrl() + "&reWriteBatchedInserts=true";
+    }
+}
@@ -0,0 +1,94 @@
+package com.ecom.addressbook.cache;
+
+import com.ecom.addressbook.model.response.AddressResponse;
+import com.ecom.response.dto.ApiResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * GET /api/v1/address body: cached bytes (AddressBookResponseCache hit) against
+ * encoding the ApiResponse with Jackson on every request
+ *
+ * <p>Run with the GC profiler, so each benchmark reports its latency (avgt, us/op)
+ * and the bytes it allocates per operation (gc.alloc.rate.norm, B/op); see
+ * TESTING_GUIDE.md for the command.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AddressBookResponseCacheBenchmark {
+
+    private static final String MESSAGE = "Addresses retrieved successfully";
+
+    /**
+     * Addresses in the book
+     */
+    @Param({"1", "10", "50"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private AddressBookResponseCache cache;
+    private AddressBookCacheKey key;
+    private Versioned<List<AddressResponse>> book;
+
+    @Setup
+    public void setUp() {
+        UUID tenantId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+        List<AddressResponse> addresses = IntStream.range(0, size)
+            .mapToObj(i -> new AddressResponse(UUID.randomUUID(), userId, tenantId, i + " Main Street",
+                "Apartment " + i, "New York", "NY", "10001", "US", "Home", i == 0, false, null, now, now))
+            .toList();
+
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        cache = new AddressBookResponseCache(objectMapper, Duration.ofMinutes(5), 1 << 20, new SimpleMeterRegistry());
+        key = new AddressBookCacheKey(tenantId, userId, false);
+        book = new Versioned<>(1L, addresses);
+        cache.getBody(key, book, MESSAGE);
+    }
+
+    @Benchmark
+    public byte[] jackson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ApiResponse.success(book.value(), MESSAGE));
+    }
+
+    @Benchmark
+    public byte[] cachedBody() {
+        return cache.getBody(key, book, MESSAGE);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(AddressBookResponseCacheBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build()).run();
+    }
+}
@@ -0,0 +1,99 @@
+package com.ecom.addressbook.cache;
+
+import com.ecom.addressbook.model.response.AddressResponse;
+import com.ecom.response.dto.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Encoded GET /api/v1/address bodies: identical to Jackson's output, cached per version
+ */
+class AddressBookResponseCacheTest {
+
+    private static final UUID TENANT_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+    private static final UUID USER_ID = UUID.randomUUID();
+    private static final AddressBookCacheKey KEY = new AddressBookCacheKey(TENANT_ID, USER_ID, false);
+    private static final String MESSAGE = "Addresses retrieved successfully";
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AddressBookResponseCache cache =
+        new AddressBookResponseCache(objectMapper, Duration.ofMinutes(5), 1 << 20, meterRegistry);
+
+    @Test
+    void getBody_MatchesWhatJacksonWouldWrite() throws Exception {
+        List<AddressResponse> addresses = List.of(address("1 Main St"), address("2 Side St"));
+
+        byte[] body = cache.getBody(KEY, new Versioned<>(1L, addresses), MESSAGE);
+
+        assertThat(body).isEqualTo(objectMapper.writeValueAsBytes(ApiResponse.success(addresses, MESSAGE)));
+    }
+
+    @Test
+    void getBody_EncodesOncePerVersion() {
+        List<AddressResponse> addresses = List.of(address("1 Main St"));
+
+        byte[] first = cache.getBody(KEY, new Versioned<>(1L, addresses), MESSAGE);
+        byte[] second = cache.getBody(KEY, new Versioned<>(1L, addresses), MESSAGE);
+
+        assertThat(second).isSameAs(first);
+        assertThat(gets("miss")).isEqualTo(1);
+        assertThat(gets("hit")).isEqualTo(1);
+    }
+
+    @Test
+    void getBody_NewVersionIsEncodedAgain() {
+        byte[] before = cache.getBody(KEY, new Versioned<>(1L, List.of(address("Old St"))), MESSAGE);
+        byte[] after = cache.getBody(KEY, new Versioned<>(2L, List.of(address("New St"))), MESSAGE);
+
+        assertThat(after).isNotEqualTo(before);
+        assertThat(new String(after)).contains("New St");
+        assertThat(gets("miss")).isEqualTo(2);
+    }
+
+    @Test
+    void getBody_UnversionedBooksAreNotCached() {
+        List<AddressResponse> addresses = List.of(address("1 Main St"));
+
+        byte[] first = cache.getBody(KEY, new Versioned<>(AddressBookCache.UNVERSIONED, addresses), MESSAGE);
+        byte[] second = cache.getBody(KEY, new Versioned<>(AddressBookCache.UNVERSIONED, addresses), MESSAGE);
+
+        assertThat(second).isNotSameAs(first).isEqualTo(first);
+        assertThat(cache.getBodyIfPresent(KEY, AddressBookCache.UNVERSIONED)).isNull();
+        assertThat(gets("miss") + gets("hit")).isZero();
+    }
+
+    @Test
+    void getBodyIfPresent_ReturnsOnlyBodiesOfThatVersion() {
+        assertThat(cache.getBodyIfPresent(KEY, 1L)).isNull();
+
+        byte[] body = cache.getBody(KEY, new Versioned<>(1L, List.of(address("1 Main St"))), MESSAGE);
+
+        assertThat(cache.getBodyIfPresent(KEY, 1L)).isSameAs(body);
+        assertThat(cache.getBodyIfPresent(KEY, 2L)).isNull();
+        assertThat(cache.getBodyIfPresent(new AddressBookCacheKey(TENANT_ID, USER_ID, true), 1L)).isNull();
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("address.cache.gets")
+            .tag("cache", "address-book-response")
+            .tag("result", result)
+            .counter()
+            .count();
+    }
+
+    private static AddressResponse address(String line1) {
+        LocalDateTime now = LocalDateTime.now();
+        return new AddressResponse(UUID.randomUUID(), USER_ID, TENANT_ID, line1, null, "New York", "NY",
+            "10001", "US", "Home", false, false, null, now, now);
+    }
+}
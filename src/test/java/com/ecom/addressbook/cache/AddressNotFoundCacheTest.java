@@ -0,0 +1,175 @@
+package com.ecom.addressbook.cache;
+
+import com.ecom.addressbook.config.ReplicaDataSourceProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tenant scoping, expiry, the Redis tier and commit-time forgetting of the negative cache
+ */
+@ExtendWith(MockitoExtension.class)
+class AddressNotFoundCacheTest {
+
+    private static final UUID TENANT_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+    private static final UUID OTHER_TENANT_ID = UUID.randomUUID();
+    private static final UUID ADDRESS_ID = UUID.randomUUID();
+    private static final Duration TTL = Duration.ofSeconds(30);
+    private static final String CHANNEL = "address-not-found-invalidations";
+    private static final String REDIS_KEY = "address-book:missing:" + TENANT_ID + ":" + ADDRESS_ID;
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void markMissing_IsScopedToTheTenant() {
+        AddressNotFoundCache cache = localCache(TTL);
+
+        cache.markMissing(TENANT_ID, ADDRESS_ID);
+
+        assertThat(cache.isKnownMissing(TENANT_ID, ADDRESS_ID)).isTrue();
+        assertThat(cache.isKnownMissing(OTHER_TENANT_ID, ADDRESS_ID)).isFalse();
+        assertThat(cache.isKnownMissing(TENANT_ID, UUID.randomUUID())).isFalse();
+    }
+
+    @Test
+    void markMissing_ExpiresAfterTheTtl() throws InterruptedException {
+        AddressNotFoundCache cache = localCache(Duration.ofMillis(50));
+        cache.markMissing(TENANT_ID, ADDRESS_ID);
+
+        TimeUnit.MILLISECONDS.sleep(100);
+
+        assertThat(cache.isKnownMissing(TENANT_ID, ADDRESS_ID)).isFalse();
+    }
+
+    @Test
+    void disabled_NeverRemembers() {
+        AddressNotFoundCache cache = new AddressNotFoundCache(false, TTL, 1_000, null, CHANNEL, meterRegistry);
+
+        cache.markMissing(TENANT_ID, ADDRESS_ID);
+
+        assertThat(cache.isKnownMissing(TENANT_ID, ADDRESS_ID)).isFalse();
+    }
+
+    @Test
+    void markMissing_WritesTheTenantQualifiedRedisKeyWithTheTtl() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+
+        redisCache().markMissing(TENANT_ID, ADDRESS_ID);
+
+        verify(valueOperations).set(REDIS_KEY, "1", TTL);
+    }
+
+    @Test
+    void isKnownMissing_HitInRedis_IsCopiedToTheLocalTier() {
+        when(redisTemplate.hasKey(REDIS_KEY)).thenReturn(true);
+        AddressNotFoundCache cache = redisCache();
+
+        assertThat(cache.isKnownMissing(TENANT_ID, ADDRESS_ID)).isTrue();
+        assertThat(cache.isKnownMissing(TENANT_ID, ADDRESS_ID)).isTrue();
+
+        verify(redisTemplate).hasKey(REDIS_KEY);
+        assertThat(meterRegistry.get("address.cache.gets").tag("tier", "l2").tag("result", "hit").counter().count())
+            .isEqualTo(1);
+        assertThat(meterRegistry.get("address.cache.gets").tag("tier", "l1").tag("result", "hit").counter().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void isKnownMissing_RedisFailure_IsAMiss() {
+        when(redisTemplate.hasKey(REDIS_KEY)).thenThrow(new IllegalStateException("Connection refused"));
+
+        assertThat(redisCache().isKnownMissing(TENANT_ID, ADDRESS_ID)).isFalse();
+    }
+
+    @Test
+    void forget_DeletesFromRedisAndTellsTheOtherNodes() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        AddressNotFoundCache cache = redisCache();
+        cache.markMissing(TENANT_ID, ADDRESS_ID);
+
+        cache.forget(TENANT_ID, ADDRESS_ID);
+
+        verify(redisTemplate).delete(REDIS_KEY);
+        verify(redisTemplate).convertAndSend(CHANNEL, TENANT_ID + ":" + ADDRESS_ID);
+        when(redisTemplate.hasKey(REDIS_KEY)).thenReturn(false);
+        assertThat(cache.isKnownMissing(TENANT_ID, ADDRESS_ID)).isFalse();
+    }
+
+    @Test
+    void onMessage_ForgetsTheLocalEntryOfThatTenantOnly() {
+        AddressNotFoundCache cache = localCache(TTL);
+        cache.markMissing(TENANT_ID, ADDRESS_ID);
+        cache.markMissing(OTHER_TENANT_ID, ADDRESS_ID);
+
+        cache.onMessage(message(TENANT_ID + ":" + ADDRESS_ID), null);
+        cache.onMessage(message("malformed"), null);
+
+        assertThat(cache.isKnownMissing(TENANT_ID, ADDRESS_ID)).isFalse();
+        assertThat(cache.isKnownMissing(OTHER_TENANT_ID, ADDRESS_ID)).isTrue();
+    }
+
+    @Test
+    void forgetNotFoundAfterCommit_ClearsTheEntryOnlyOnceCommitted() {
+        AddressNotFoundCache cache = localCache(TTL);
+        cache.markMissing(TENANT_ID, ADDRESS_ID);
+        AddressBookCacheInvalidator invalidator = new AddressBookCacheInvalidator(
+            new NoOpAddressBookCache(), cache, new ReplicaDataSourceProperties(), taskScheduler);
+        TransactionSynchronizationManager.initSynchronization();
+
+        invalidator.forgetNotFoundAfterCommit(TENANT_ID, ADDRESS_ID);
+        assertThat(cache.isKnownMissing(TENANT_ID, ADDRESS_ID)).isTrue();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(cache.isKnownMissing(TENANT_ID, ADDRESS_ID)).isFalse();
+        verify(taskScheduler, never()).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    private AddressNotFoundCache localCache(Duration ttl) {
+        return new AddressNotFoundCache(true, ttl, 1_000, null, CHANNEL, meterRegistry);
+    }
+
+    private AddressNotFoundCache redisCache() {
+        return new AddressNotFoundCache(true, TTL, 1_000, redisTemplate, CHANNEL, meterRegistry);
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+    }
+}
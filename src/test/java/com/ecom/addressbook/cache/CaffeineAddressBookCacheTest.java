@@ -0,0 +1,253 @@
+package com.ecom.addressbook.cache;
+
+import com.ecom.addressbook.model.response.AddressResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Read-through, single-flight and invalidation behaviour of the single-node cache
+ */
+@Timeout(10)
+class CaffeineAddressBookCacheTest {
+
+    private static final UUID TENANT_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+    private static final UUID USER_ID = UUID.randomUUID();
+    private static final AddressBookCacheKey KEY = new AddressBookCacheKey(TENANT_ID, USER_ID, false);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private CaffeineAddressBookCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new CaffeineAddressBookCache(Duration.ofMinutes(5), 1_000, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void getAddresses_LoadsOnMissThenServesFromCache() {
+        CountingLoader loader = new CountingLoader(List.of(address("1 Main St")));
+
+        Versioned<List<AddressResponse>> first = cache.getAddresses(KEY, loader);
+        Versioned<List<AddressResponse>> second = cache.getAddresses(KEY, loader);
+
+        assertThat(loader.calls()).isEqualTo(1);
+        assertThat(second.value()).isEqualTo(first.value());
+        assertThat(second.version()).isEqualTo(first.version());
+        assertThat(first.hasVersion()).isTrue();
+        assertThat(gets("miss")).isEqualTo(1);
+        assertThat(gets("hit")).isEqualTo(1);
+    }
+
+    @Test
+    void getAddresses_CachesActiveAndIncludeDeletedViewsSeparately() {
+        CountingLoader loader = new CountingLoader(List.of(address("1 Main St")));
+
+        cache.getAddresses(KEY, loader);
+        cache.getAddresses(new AddressBookCacheKey(TENANT_ID, USER_ID, true), loader);
+
+        assertThat(loader.calls()).isEqualTo(2);
+    }
+
+    @Test
+    void invalidate_DropsEntriesAndAdvancesVersion() {
+        CountingLoader loader = new CountingLoader(List.of(address("1 Main St")));
+        long before = cache.getAddresses(KEY, loader).version();
+
+        cache.invalidate(TENANT_ID, USER_ID);
+        Versioned<List<AddressResponse>> reloaded = cache.getAddresses(KEY, loader);
+
+        assertThat(loader.calls()).isEqualTo(2);
+        assertThat(reloaded.version()).isGreaterThan(before);
+        assertThat(cache.getVersion(TENANT_ID, USER_ID)).isEqualTo(reloaded.version());
+    }
+
+    @Test
+    void getAddresses_FailedLoadIsNotCached() {
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<List<AddressResponse>> failing = () -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("database unavailable");
+        };
+
+        assertThatThrownBy(() -> cache.getAddresses(KEY, failing)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> cache.getAddresses(KEY, failing)).isInstanceOf(IllegalStateException.class);
+
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void getAddresses_ConcurrentMissesShareOneLoad() throws Exception {
+        BlockingLoader loader = new BlockingLoader(List.of(address("1 Main St")));
+        Future<Versioned<List<AddressResponse>>> leader = executor.submit(() -> cache.getAddresses(KEY, loader));
+        loader.awaitStarted();
+
+        int followers = 8;
+        List<Future<Versioned<List<AddressResponse>>>> joined = new ArrayList<>();
+        for (int i = 0; i < followers; i++) {
+            joined.add(executor.submit(() -> cache.getAddresses(KEY, loader)));
+        }
+        awaitGets("coalesced", followers);
+        loader.release();
+
+        Versioned<List<AddressResponse>> loaded = leader.get();
+        for (Future<Versioned<List<AddressResponse>>> follower : joined) {
+            assertThat(follower.get()).isEqualTo(loaded);
+        }
+        assertThat(loader.calls()).isEqualTo(1);
+    }
+
+    @Test
+    void getAddresses_FailedLoadIsRethrownToEveryJoinedReader() throws Exception {
+        BlockingLoader loader = new BlockingLoader(null);
+        Future<?> leader = executor.submit(() -> cache.getAddresses(KEY, loader));
+        loader.awaitStarted();
+        Future<?> follower = executor.submit(() -> cache.getAddresses(KEY, loader));
+        awaitGets("coalesced", 1);
+        loader.release();
+
+        assertThatThrownBy(leader::get).hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(follower::get).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(loader.calls()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidate_DuringLoadKeepsTheLoadedValueOutOfTheCache() throws Exception {
+        BlockingLoader stale = new BlockingLoader(List.of(address("Old St")));
+        Future<Versioned<List<AddressResponse>>> inFlight = executor.submit(() -> cache.getAddresses(KEY, stale));
+        stale.awaitStarted();
+
+        cache.invalidate(TENANT_ID, USER_ID);
+        stale.release();
+        assertThat(inFlight.get().value()).extracting(AddressResponse::line1).containsExactly("Old St");
+
+        CountingLoader fresh = new CountingLoader(List.of(address("New St")));
+        Versioned<List<AddressResponse>> next = cache.getAddresses(KEY, fresh);
+
+        assertThat(fresh.calls()).isEqualTo(1);
+        assertThat(next.value()).extracting(AddressResponse::line1).containsExactly("New St");
+    }
+
+    @Test
+    void getDefaultAddress_CachesAbsentDefault() {
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<Optional<AddressResponse>> loader = () -> {
+            calls.incrementAndGet();
+            return Optional.empty();
+        };
+
+        assertThat(cache.getDefaultAddress(TENANT_ID, USER_ID, loader)).isEmpty();
+        assertThat(cache.getDefaultAddress(TENANT_ID, USER_ID, loader)).isEmpty();
+        assertThat(calls.get()).isEqualTo(1);
+
+        cache.invalidate(TENANT_ID, USER_ID);
+        cache.getDefaultAddress(TENANT_ID, USER_ID, loader);
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("address.cache.gets").tag("tier", "l1").tag("result", result).counter().count();
+    }
+
+    private void awaitGets(String result, int count) throws InterruptedException {
+        while (gets(result) < count) {
+            TimeUnit.MILLISECONDS.sleep(5);
+        }
+    }
+
+    private static AddressResponse address(String line1) {
+        LocalDateTime now = LocalDateTime.now();
+        return new AddressResponse(UUID.randomUUID(), USER_ID, TENANT_ID, line1, null, "New York", "NY",
+            "10001", "US", "Home", false, false, null, now, now);
+    }
+
+    /**
+     * Loader returning a fixed list and counting its invocations
+     */
+    private static final class CountingLoader implements Supplier<List<AddressResponse>> {
+
+        private final List<AddressResponse> value;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        CountingLoader(List<AddressResponse> value) {
+            this.value = value;
+        }
+
+        @Override
+        public List<AddressResponse> get() {
+            calls.incrementAndGet();
+            return value;
+        }
+
+        int calls() {
+            return calls.get();
+        }
+    }
+
+    /**
+     * Loader that blocks until released, then returns its list (or fails if it has none)
+     */
+    private static final class BlockingLoader implements Supplier<List<AddressResponse>> {
+
+        private final List<AddressResponse> value;
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch released = new CountDownLatch(1);
+        private final AtomicInteger calls = new AtomicInteger();
+
+        BlockingLoader(List<AddressResponse> value) {
+            this.value = value;
+        }
+
+        @Override
+        public List<AddressResponse> get() {
+            calls.incrementAndGet();
+            started.countDown();
+            try {
+                released.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            if (value == null) {
+                throw new IllegalStateException("load failed");
+            }
+            return value;
+        }
+
+        void awaitStarted() throws InterruptedException {
+            started.await();
+        }
+
+        void release() {
+            released.countDown();
+        }
+
+        int calls() {
+            return calls.get();
+        }
+    }
+}
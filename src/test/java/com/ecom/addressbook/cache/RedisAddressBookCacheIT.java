@@ -0,0 +1,205 @@
+package com.ecom.addressbook.cache;
+
+import com.ecom.addressbook.model.response.AddressResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Shared (L2) tier and pub/sub invalidation against a real Redis
+ *
+ * <p>Exercises the Lua scripts (PUT_IF_GENERATION_UNCHANGED, GET_OR_INIT_GENERATION,
+ * INVALIDATE) as Redis runs them, and two TwoTierAddressBookCache nodes sharing one
+ * Redis the way replicas do. Each test uses its own user, so tests do not share keys.
+ */
+@Testcontainers
+@Timeout(30)
+class RedisAddressBookCacheIT {
+
+    private static final UUID TENANT_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+    private static final Duration TTL = Duration.ofMinutes(5);
+    private static final String CHANNEL = "address-book-invalidations";
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>("redis:7").withExposedPorts(6379);
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final List<RedisMessageListenerContainer> listenerContainers = new ArrayList<>();
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private UUID userId;
+    private AddressBookCacheKey key;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory(
+            new RedisStandaloneConfiguration(redis.getHost(), redis.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        userId = UUID.randomUUID();
+        key = new AddressBookCacheKey(TENANT_ID, userId, false);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (RedisMessageListenerContainer container : listenerContainers) {
+            container.destroy();
+        }
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void getAddresses_MissIsWrittenBackAndServedToAnotherNode() {
+        CountingLoader loader = new CountingLoader(List.of(address("1 Main St")));
+
+        Versioned<List<AddressResponse>> first = redisCache().getAddresses(key, loader);
+        Versioned<List<AddressResponse>> second = redisCache().getAddresses(key, loader);
+
+        assertThat(loader.calls()).isEqualTo(1);
+        assertThat(second).isEqualTo(first);
+        assertThat(redisTemplate.opsForHash().hasKey(hashKey(), "active")).isTrue();
+        assertThat(redisTemplate.getExpire(hashKey())).isPositive();
+    }
+
+    @Test
+    void getVersion_InitializesTheGenerationOnce() {
+        RedisAddressBookCache cache = redisCache();
+
+        long version = cache.getVersion(TENANT_ID, userId);
+
+        assertThat(version).isNotEqualTo(AddressBookCache.UNVERSIONED);
+        assertThat(redisCache().getVersion(TENANT_ID, userId)).isEqualTo(version);
+        assertThat(redisTemplate.opsForHash().get(hashKey(), "gen")).isEqualTo(String.valueOf(version));
+    }
+
+    @Test
+    void invalidate_BumpsTheGenerationAndDropsEveryView() {
+        RedisAddressBookCache cache = redisCache();
+        Versioned<List<AddressResponse>> before = cache.getAddresses(key, () -> List.of(address("1 Main St")));
+        cache.getDefaultAddress(TENANT_ID, userId, Optional::empty);
+
+        cache.invalidate(TENANT_ID, userId);
+
+        assertThat(redisTemplate.<String, String>opsForHash().keys(hashKey())).containsExactly("gen");
+        CountingLoader loader = new CountingLoader(List.of(address("2 Side St")));
+        Versioned<List<AddressResponse>> after = cache.getAddresses(key, loader);
+        assertThat(loader.calls()).isEqualTo(1);
+        assertThat(after.version()).isGreaterThan(before.version());
+    }
+
+    @Test
+    void writeBack_AfterAnInvalidationDuringTheLoad_IsRejected() {
+        RedisAddressBookCache cache = redisCache();
+        long version = cache.getVersion(TENANT_ID, userId);
+
+        // A write commits (and invalidates) while this reader is still loading
+        Versioned<List<AddressResponse>> stale = cache.getAddresses(key, () -> {
+            redisCache().invalidate(TENANT_ID, userId);
+            return List.of(address("Before the write"));
+        });
+
+        assertThat(stale.version()).isEqualTo(version);
+        assertThat(redisTemplate.opsForHash().hasKey(hashKey(), "active")).isFalse();
+        CountingLoader loader = new CountingLoader(List.of(address("After the write")));
+        Versioned<List<AddressResponse>> fresh = cache.getAddresses(key, loader);
+        assertThat(loader.calls()).isEqualTo(1);
+        assertThat(fresh.version()).isGreaterThan(version);
+        assertThat(fresh.value()).extracting(AddressResponse::line1).containsExactly("After the write");
+    }
+
+    @Test
+    void invalidate_OnOneNode_EvictsTheL1OfAnother() throws InterruptedException {
+        SimpleMeterRegistry otherRegistry = new SimpleMeterRegistry();
+        TwoTierAddressBookCache writer = twoTierCache(new SimpleMeterRegistry());
+        TwoTierAddressBookCache other = twoTierCache(otherRegistry);
+        Versioned<List<AddressResponse>> before = writer.getAddresses(key, () -> List.of(address("1 Main St")));
+        assertThat(other.getAddresses(key, () -> List.of(address("Not loaded")))).isEqualTo(before);
+
+        writer.invalidate(TENANT_ID, userId);
+
+        // other keeps serving its L1 entry until the message arrives
+        Supplier<List<AddressResponse>> afterWrite = () -> List.of(address("2 Side St"));
+        Versioned<List<AddressResponse>> after = other.getAddresses(key, afterWrite);
+        while (after.equals(before)) {
+            Thread.sleep(10);
+            after = other.getAddresses(key, afterWrite);
+        }
+        assertThat(after.version()).isGreaterThan(before.version());
+        assertThat(after.value()).extracting(AddressResponse::line1).containsExactly("2 Side St");
+        assertThat(otherRegistry.get("address.cache.invalidation.messages").counter().count()).isGreaterThanOrEqualTo(1);
+    }
+
+    private RedisAddressBookCache redisCache() {
+        return new RedisAddressBookCache(redisTemplate, objectMapper, TTL, new SimpleMeterRegistry());
+    }
+
+    /**
+     * A node: Caffeine L1 over the shared Redis tier, subscribed to the invalidation channel
+     */
+    private TwoTierAddressBookCache twoTierCache(SimpleMeterRegistry meterRegistry) {
+        CaffeineAddressBookCache local = new CaffeineAddressBookCache(TTL, 1_000, meterRegistry,
+            new RedisAddressBookCache(redisTemplate, objectMapper, TTL, meterRegistry));
+        TwoTierAddressBookCache cache = new TwoTierAddressBookCache(local, redisTemplate, CHANNEL, meterRegistry);
+
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cache, new ChannelTopic(CHANNEL));
+        container.afterPropertiesSet();
+        container.start();
+        listenerContainers.add(container);
+        return cache;
+    }
+
+    private String hashKey() {
+        return "address-book:" + TENANT_ID + ":" + userId;
+    }
+
+    private AddressResponse address(String line1) {
+        LocalDateTime now = LocalDateTime.now();
+        return new AddressResponse(UUID.randomUUID(), userId, TENANT_ID, line1, null, "New York", "NY",
+            "10001", "US", "Home", false, false, null, now, now);
+    }
+
+    private static final class CountingLoader implements Supplier<List<AddressResponse>> {
+
+        private final List<AddressResponse> result;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        CountingLoader(List<AddressResponse> result) {
+            this.result = result;
+        }
+
+        @Override
+        public List<AddressResponse> get() {
+            calls.incrementAndGet();
+            return result;
+        }
+
+        int calls() {
+            return calls.get();
+        }
+    }
+}
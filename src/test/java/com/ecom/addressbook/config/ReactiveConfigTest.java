@@ -0,0 +1,80 @@
+package com.ecom.addressbook.config;
+
+import com.ecom.addressbook.controller.AddressReadHandler;
+import com.ecom.addressbook.datasource.ConsistencyToken;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.ServerRequest;
+import org.springframework.web.servlet.function.ServerResponse;
+import org.springframework.web.util.ServletRequestPathUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Which requests the reactive route takes; all others fall through to AddressController
+ */
+class ReactiveConfigTest {
+
+    private final RouterFunction<ServerResponse> routes =
+        new ReactiveConfig().reactiveAddressRoutes(mock(AddressReadHandler.class));
+
+    @Test
+    void plainActiveListRead_IsRouted() {
+        assertThat(routes(get("/api/v1/address"))).isTrue();
+    }
+
+    @Test
+    void userIdAndIncludeDeletedFalse_AreRouted() {
+        MockHttpServletRequest request = get("/api/v1/address");
+        request.addParameter("userId", UUID.randomUUID().toString());
+        request.addParameter("includeDeleted", "false");
+
+        assertThat(routes(request)).isTrue();
+    }
+
+    @Test
+    void includeDeleted_FallsThrough() {
+        MockHttpServletRequest request = get("/api/v1/address");
+        request.addParameter("includeDeleted", "true");
+
+        assertThat(routes(request)).isFalse();
+    }
+
+    @Test
+    void consistencyToken_FallsThrough() {
+        MockHttpServletRequest request = get("/api/v1/address");
+        request.addHeader(ConsistencyToken.HEADER, "token");
+
+        assertThat(routes(request)).isFalse();
+    }
+
+    @Test
+    void malformedUserId_FallsThrough() {
+        MockHttpServletRequest request = get("/api/v1/address");
+        request.addParameter("userId", "not-a-uuid");
+
+        assertThat(routes(request)).isFalse();
+    }
+
+    @Test
+    void otherMethodsAndPaths_FallThrough() {
+        assertThat(routes(new MockHttpServletRequest("POST", "/api/v1/address"))).isFalse();
+        assertThat(routes(get("/api/v1/address/default"))).isFalse();
+        assertThat(routes(get("/api/v1/address/" + UUID.randomUUID()))).isFalse();
+    }
+
+    private boolean routes(MockHttpServletRequest request) {
+        ServletRequestPathUtils.parseAndCache(request);
+        return routes.route(ServerRequest.create(request, List.of(new ByteArrayHttpMessageConverter()))).isPresent();
+    }
+
+    private static MockHttpServletRequest get(String path) {
+        return new MockHttpServletRequest("GET", path);
+    }
+}
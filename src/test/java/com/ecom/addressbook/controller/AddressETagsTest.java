@@ -0,0 +1,33 @@
+package com.ecom.addressbook.controller;
+
+import com.ecom.addressbook.cache.AddressBookCache;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AddressETagsTest {
+
+    @Test
+    void of_IsWeakAndNullWhenUnversioned() {
+        assertThat(AddressETags.of(42L)).isEqualTo("W/\"42\"");
+        assertThat(AddressETags.of(AddressBookCache.UNVERSIONED)).isNull();
+    }
+
+    @Test
+    void isNotModified_ComparesWeaklyAcrossTheList() {
+        String etag = AddressETags.of(42L);
+
+        assertThat(AddressETags.isNotModified("W/\"42\"", etag)).isTrue();
+        assertThat(AddressETags.isNotModified("\"42\"", etag)).isTrue();
+        assertThat(AddressETags.isNotModified("W/\"41\", W/\"42\"", etag)).isTrue();
+        assertThat(AddressETags.isNotModified("W/\"41\"", etag)).isFalse();
+        assertThat(AddressETags.isNotModified("W/\"420\"", etag)).isFalse();
+    }
+
+    @Test
+    void isNotModified_IgnoresWildcardAndMissingValues() {
+        assertThat(AddressETags.isNotModified("*", AddressETags.of(42L))).isFalse();
+        assertThat(AddressETags.isNotModified(null, AddressETags.of(42L))).isFalse();
+        assertThat(AddressETags.isNotModified("W/\"42\"", null)).isFalse();
+    }
+}
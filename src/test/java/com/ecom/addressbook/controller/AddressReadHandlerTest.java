@@ -0,0 +1,175 @@
+package com.ecom.addressbook.controller;
+
+import com.ecom.addressbook.cache.AddressBookCache;
+import com.ecom.addressbook.cache.AddressBookCacheKey;
+import com.ecom.addressbook.cache.AddressBookResponseCache;
+import com.ecom.addressbook.cache.Versioned;
+import com.ecom.addressbook.model.response.AddressResponse;
+import com.ecom.addressbook.repository.ReactiveAddressRepository;
+import com.ecom.addressbook.security.JwtAuthenticationToken;
+import com.ecom.error.exception.BusinessException;
+import com.ecom.response.dto.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.function.AsyncServerResponse;
+import org.springframework.web.servlet.function.ServerRequest;
+import org.springframework.web.servlet.function.ServerResponse;
+import org.springframework.web.util.ServletRequestPathUtils;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AddressReadHandlerTest {
+
+    private static final UUID TENANT_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+    private static final UUID USER_ID = UUID.randomUUID();
+    private static final AddressBookCacheKey KEY = new AddressBookCacheKey(TENANT_ID, USER_ID, false);
+    private static final String MESSAGE = "Addresses retrieved successfully";
+
+    @Mock
+    private ReactiveAddressRepository reactiveAddressRepository;
+
+    @Mock
+    private AddressBookCache addressBookCache;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final AddressBookResponseCache addressBookResponseCache =
+        new AddressBookResponseCache(objectMapper, Duration.ofMinutes(5), 1 << 20, new SimpleMeterRegistry());
+
+    @Test
+    void getUserAddresses_MatchingIfNoneMatch_Returns304WithoutQuerying() throws Exception {
+        when(addressBookCache.getVersion(TENANT_ID, USER_ID)).thenReturn(7L);
+        MockHttpServletRequest request = request(USER_ID, "CUSTOMER");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "W/\"6\", W/\"7\"");
+
+        MockHttpServletResponse response = write(handler().getUserAddresses(serverRequest(request)), request);
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("W/\"7\"");
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("no-cache, private");
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        verify(reactiveAddressRepository, never()).findActiveResponses(any(), any());
+    }
+
+    @Test
+    void getUserAddresses_CachedBody_IsServedWithoutQuerying() throws Exception {
+        when(addressBookCache.getVersion(TENANT_ID, USER_ID)).thenReturn(7L);
+        byte[] cached = addressBookResponseCache.getBody(KEY, new Versioned<>(7L, List.of(address("1 Main St"))), MESSAGE);
+        MockHttpServletRequest request = request(USER_ID, "CUSTOMER");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "W/\"6\"");
+
+        MockHttpServletResponse response = write(handler().getUserAddresses(serverRequest(request)), request);
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("W/\"7\"");
+        assertThat(response.getContentAsByteArray()).isEqualTo(cached);
+        verify(reactiveAddressRepository, never()).findActiveResponses(any(), any());
+    }
+
+    @Test
+    void getUserAddresses_BodyCacheMiss_QueriesAndCachesTheEncodedBody() throws Exception {
+        List<AddressResponse> addresses = List.of(address("1 Main St"), address("2 Side St"));
+        when(addressBookCache.getVersion(TENANT_ID, USER_ID)).thenReturn(7L);
+        when(reactiveAddressRepository.findActiveResponses(USER_ID, TENANT_ID)).thenReturn(Flux.fromIterable(addresses));
+        MockHttpServletRequest request = request(USER_ID, "CUSTOMER");
+
+        ServerResponse async = handler().getUserAddresses(serverRequest(request));
+        MockHttpServletResponse response = write(((AsyncServerResponse) async).block(), request);
+
+        byte[] expected = objectMapper.writeValueAsBytes(ApiResponse.success(addresses, MESSAGE));
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("W/\"7\"");
+        assertThat(response.getContentAsByteArray()).isEqualTo(expected);
+        assertThat(addressBookResponseCache.getBodyIfPresent(KEY, 7L)).isEqualTo(expected);
+    }
+
+    @Test
+    void getUserAddresses_Unversioned_HasNoETagAndIsNotCached() throws Exception {
+        when(addressBookCache.getVersion(TENANT_ID, USER_ID)).thenReturn(AddressBookCache.UNVERSIONED);
+        when(reactiveAddressRepository.findActiveResponses(USER_ID, TENANT_ID))
+            .thenReturn(Flux.just(address("1 Main St")));
+        MockHttpServletRequest request = request(USER_ID, "CUSTOMER");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "*");
+
+        ServerResponse async = handler().getUserAddresses(serverRequest(request));
+        MockHttpServletResponse response = write(((AsyncServerResponse) async).block(), request);
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isNull();
+        assertThat(addressBookResponseCache.getBodyIfPresent(KEY, AddressBookCache.UNVERSIONED)).isNull();
+    }
+
+    @Test
+    void getUserAddresses_OtherUserWithoutAdminRole_IsUnauthorized() {
+        MockHttpServletRequest request = request(USER_ID, "CUSTOMER");
+        request.addParameter("userId", UUID.randomUUID().toString());
+
+        assertThatThrownBy(() -> handler().getUserAddresses(serverRequest(request)))
+            .isInstanceOf(BusinessException.class)
+            .hasMessageContaining("You can only view your own addresses");
+        verify(reactiveAddressRepository, never()).findActiveResponses(any(), any());
+    }
+
+    @Test
+    void getUserAddresses_AdminReadsOtherUser() throws Exception {
+        UUID adminId = UUID.randomUUID();
+        when(addressBookCache.getVersion(TENANT_ID, USER_ID)).thenReturn(3L);
+        when(reactiveAddressRepository.findActiveResponses(USER_ID, TENANT_ID)).thenReturn(Flux.empty());
+        MockHttpServletRequest request = request(adminId, "ADMIN");
+        request.addParameter("userId", USER_ID.toString());
+
+        ServerResponse async = handler().getUserAddresses(serverRequest(request));
+        MockHttpServletResponse response = write(((AsyncServerResponse) async).block(), request);
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("W/\"3\"");
+    }
+
+    private AddressReadHandler handler() {
+        return new AddressReadHandler(reactiveAddressRepository, addressBookCache, addressBookResponseCache);
+    }
+
+    private static MockHttpServletRequest request(UUID userId, String role) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/address");
+        request.setUserPrincipal(new JwtAuthenticationToken(userId.toString(), TENANT_ID.toString(), List.of(role), "token"));
+        return request;
+    }
+
+    private static ServerRequest serverRequest(MockHttpServletRequest request) {
+        ServletRequestPathUtils.parseAndCache(request);
+        return ServerRequest.create(request, List.of(new ByteArrayHttpMessageConverter()));
+    }
+
+    private static MockHttpServletResponse write(ServerResponse response, MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+        response.writeTo(request, servletResponse, () -> List.of(new ByteArrayHttpMessageConverter()));
+        return servletResponse;
+    }
+
+    private static AddressResponse address(String line1) {
+        LocalDateTime now = LocalDateTime.now();
+        return new AddressResponse(UUID.randomUUID(), USER_ID, TENANT_ID, line1, null, "New York", "NY",
+            "10001", "US", "Home", false, false, null, now, now);
+    }
+}
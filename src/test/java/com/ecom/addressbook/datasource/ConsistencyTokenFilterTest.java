@@ -0,0 +1,116 @@
+package com.ecom.addressbook.datasource;
+
+import com.ecom.addressbook.config.ReplicaDataSourceProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * How the X-Consistency-Token of a request steers its reads, and that nothing of it
+ * outlives the request
+ */
+class ConsistencyTokenFilterTest {
+
+    private static final String REPLAYED = "0/3000000";
+
+    private final ReplicaDataSourceProperties replicaProperties = new ReplicaDataSourceProperties();
+    private final ReplicaLagMonitor lagMonitor = mock(ReplicaLagMonitor.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+    private final List<Connection> connections = new ArrayList<>();
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        replicaProperties.setEnabled(true);
+        DataSource primary = mock(DataSource.class);
+        DataSource replica = mock(DataSource.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        when(lagMonitor.isReplicaUsable()).thenReturn(true);
+        when(lagMonitor.hasReplayed(ConsistencyToken.parseLsn(REPLAYED))).thenReturn(true);
+        routing = new ReplicaRoutingDataSource(primary, replica, lagMonitor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        DataSourceRouting.clearRequiredReplay();
+    }
+
+    @Test
+    void tokenReplayedByTheReplica_ReadsFromTheReplica() throws Exception {
+        filter(request(ConsistencyToken.encode(REPLAYED)));
+
+        assertThat(connections).containsExactly(replicaConnection);
+        assertThat(DataSourceRouting.isReplayRequired()).isFalse();
+    }
+
+    @Test
+    void tokenAheadOfTheReplica_ReadsFromThePrimary() throws Exception {
+        filter(request(ConsistencyToken.encode("0/3000001")));
+
+        assertThat(connections).containsExactly(primaryConnection);
+        assertThat(DataSourceRouting.isReplayRequired()).isFalse();
+    }
+
+    @Test
+    void malformedToken_IsIgnored() throws Exception {
+        filter(request("not a token"));
+
+        assertThat(connections).containsExactly(replicaConnection);
+    }
+
+    @Test
+    void replicaDisabled_TokenIsIgnored() throws Exception {
+        replicaProperties.setEnabled(false);
+
+        filter(request(ConsistencyToken.encode("0/3000001")));
+
+        assertThat(connections).containsExactly(replicaConnection);
+    }
+
+    @Test
+    void failingRequest_StillClearsTheRequiredReplay() {
+        MockHttpServletRequest request = request(ConsistencyToken.encode("0/3000001"));
+
+        assertThatThrownBy(() -> new ConsistencyTokenFilter(replicaProperties).doFilter(
+                request, new MockHttpServletResponse(), (req, res) -> {
+                    throw new IllegalStateException("Handler failed");
+                }))
+            .isInstanceOf(IllegalStateException.class);
+        assertThat(DataSourceRouting.isReplayRequired()).isFalse();
+    }
+
+    /**
+     * Run the filter around a handler that opens one read-only connection
+     */
+    private void filter(MockHttpServletRequest request) throws Exception {
+        new ConsistencyTokenFilter(replicaProperties).doFilter(request, new MockHttpServletResponse(),
+            (req, res) -> {
+                try {
+                    connections.add(routing.getConnection());
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+    }
+
+    private static MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/address");
+        request.addHeader(ConsistencyToken.HEADER, token);
+        return request;
+    }
+}
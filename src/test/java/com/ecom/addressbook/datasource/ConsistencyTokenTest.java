@@ -0,0 +1,33 @@
+package com.ecom.addressbook.datasource;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConsistencyTokenTest {
+
+    @Test
+    void encode_RoundTripsThroughDecode() {
+        String token = ConsistencyToken.encode("16/B374D848");
+
+        assertThat(token).doesNotContain("/", "=", "+");
+        assertThat(ConsistencyToken.decode(token)).isEqualTo(0x16_B374D848L);
+    }
+
+    @Test
+    void decode_OrdersPositionsAsUnsigned() {
+        long low = ConsistencyToken.decode(ConsistencyToken.encode("7FFFFFFF/FFFFFFFF"));
+        long high = ConsistencyToken.decode(ConsistencyToken.encode("FFFFFFFF/0"));
+
+        assertThat(high).isNegative();
+        assertThat(Long.compareUnsigned(high, low)).isPositive();
+    }
+
+    @Test
+    void decode_MalformedTokens_AreZero() {
+        assertThat(ConsistencyToken.decode("not base64!")).isZero();
+        assertThat(ConsistencyToken.decode(ConsistencyToken.encode("no separator"))).isZero();
+        assertThat(ConsistencyToken.decode(ConsistencyToken.encode("XYZ/1"))).isZero();
+        assertThat(ConsistencyToken.decode("")).isZero();
+    }
+}
@@ -0,0 +1,129 @@
+package com.ecom.addressbook.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * When the replica may serve reads, from the lag and replay position it reports
+ */
+@ExtendWith(MockitoExtension.class)
+class ReplicaLagMonitorTest {
+
+    private static final Duration MAX_LAG = Duration.ofSeconds(5);
+
+    @Mock
+    private DataSource replica;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void beforeTheFirstCheck_ReplicaIsNotUsable() {
+        ReplicaLagMonitor monitor = monitor();
+
+        assertThat(monitor.isReplicaUsable()).isFalse();
+        assertThat(monitor.health().getDetails()).containsEntry("routing", "primary");
+        assertThat(meterRegistry.get("address.datasource.replica.lag").gauge().value()).isEqualTo(-1);
+    }
+
+    @Test
+    void check_LagWithinMaxLag_MakesTheReplicaUsable() throws SQLException {
+        replicaReports(1.5, "0/3000000");
+        ReplicaLagMonitor monitor = monitor();
+
+        monitor.check();
+
+        assertThat(monitor.isReplicaUsable()).isTrue();
+        assertThat(monitor.health().getDetails()).containsEntry("routing", "replica");
+        assertThat(meterRegistry.get("address.datasource.replica.lag").gauge().value()).isEqualTo(1.5);
+        assertThat(meterRegistry.get("address.datasource.replica.routing").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void check_LagOverMaxLag_FallsBackToThePrimary() throws SQLException {
+        replicaReports(7.0, "0/3000000");
+        ReplicaLagMonitor monitor = monitor();
+
+        monitor.check();
+
+        assertThat(monitor.isReplicaUsable()).isFalse();
+        assertThat(meterRegistry.get("address.datasource.replica.routing").gauge().value()).isZero();
+    }
+
+    @Test
+    void check_Failure_FallsBackToThePrimary() throws SQLException {
+        replicaReports(0.0, "0/3000000");
+        ReplicaLagMonitor monitor = monitor();
+        monitor.check();
+        assertThat(monitor.isReplicaUsable()).isTrue();
+
+        when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+        monitor.check();
+
+        assertThat(monitor.isReplicaUsable()).isFalse();
+        assertThat(meterRegistry.get("address.datasource.replica.lag").gauge().value()).isEqualTo(-1);
+    }
+
+    @Test
+    void hasReplayed_ComparesWithTheLastKnownPositionThenAsksTheReplica() throws SQLException {
+        replicaReports(0.0, "0/3000000");
+        ReplicaLagMonitor monitor = monitor();
+        monitor.check();
+
+        assertThat(monitor.hasReplayed(ConsistencyToken.parseLsn("0/2FFFFFF"))).isTrue();
+        assertThat(monitor.hasReplayed(ConsistencyToken.parseLsn("0/3000000"))).isTrue();
+        assertThat(monitor.hasReplayed(ConsistencyToken.parseLsn("0/3000001"))).isFalse();
+
+        replicaReports(0.0, "1/0");
+        assertThat(monitor.hasReplayed(ConsistencyToken.parseLsn("0/3000001"))).isTrue();
+    }
+
+    private ReplicaLagMonitor monitor() {
+        return new ReplicaLagMonitor(replica, MAX_LAG, meterRegistry);
+    }
+
+    /**
+     * Make every connection to the replica answer the lag query with lagSeconds and the
+     * replay position query with replayLsn
+     */
+    private void replicaReports(double lagSeconds, String replayLsn) throws SQLException {
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        lenient().when(replica.getConnection()).thenReturn(connection);
+        lenient().when(connection.createStatement()).thenReturn(statement);
+        lenient().when(statement.executeQuery(anyString())).thenAnswer(invocation -> {
+            ResultSet resultSet = singleRow();
+            if (invocation.<String>getArgument(0).contains("pg_last_wal_replay_lsn()::text")) {
+                when(resultSet.getString(1)).thenReturn(replayLsn);
+            } else {
+                when(resultSet.getDouble(1)).thenReturn(lagSeconds);
+            }
+            return resultSet;
+        });
+    }
+
+    private static ResultSet singleRow() throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(1);
+        when(resultSet.next()).thenReturn(true, false);
+        return resultSet;
+    }
+}
@@ -0,0 +1,156 @@
+package com.ecom.addressbook.datasource;
+
+import com.ecom.addressbook.cache.AddressBookCacheInvalidator;
+import com.ecom.addressbook.cache.AddressNotFoundCache;
+import com.ecom.addressbook.cache.NoOpAddressBookCache;
+import com.ecom.addressbook.model.response.AddressResponse;
+import com.ecom.addressbook.repository.AddressRepository;
+import com.ecom.addressbook.repository.ArchivedAddressRepository;
+import com.ecom.addressbook.service.impl.AddressServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Where ReplicaRoutingDataSource sends a read-only connection
+ */
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+
+    private static final UUID TENANT_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+    private static final long REPLAYED_LSN = ConsistencyToken.parseLsn("0/3000000");
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica;
+
+    @Mock
+    private ReplicaLagMonitor lagMonitor;
+
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        lenient().when(primary.getConnection()).thenReturn(primaryConnection);
+        lenient().when(replica.getConnection()).thenReturn(replicaConnection);
+        routing = new ReplicaRoutingDataSource(primary, replica, lagMonitor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        DataSourceRouting.clearRequiredReplay();
+    }
+
+    @Test
+    void usableReplica_ServesReads() throws SQLException {
+        when(lagMonitor.isReplicaUsable()).thenReturn(true);
+
+        assertThat(routing.getConnection()).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void unusableReplica_FallsBackToThePrimary() throws SQLException {
+        // Lag over max-lag, a failed check and no check yet all leave the monitor unusable
+        when(lagMonitor.isReplicaUsable()).thenReturn(false);
+
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void onPrimary_PinsReadsToThePrimaryForItsDurationOnly() throws SQLException {
+        lenient().when(lagMonitor.isReplicaUsable()).thenReturn(true);
+
+        Connection forced = DataSourceRouting.onPrimary(this::connection);
+        Connection nested = DataSourceRouting.onPrimary(() -> DataSourceRouting.onPrimary(this::connection));
+
+        assertThat(forced).isSameAs(primaryConnection);
+        assertThat(nested).isSameAs(primaryConnection);
+        assertThat(DataSourceRouting.isPrimaryForced()).isFalse();
+        assertThat(routing.getConnection()).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void consistencyToken_UsesTheReplicaOnlyOnceReplayed() throws SQLException {
+        when(lagMonitor.isReplicaUsable()).thenReturn(true);
+        when(lagMonitor.hasReplayed(REPLAYED_LSN)).thenReturn(true);
+        when(lagMonitor.hasReplayed(REPLAYED_LSN + 1)).thenReturn(false);
+
+        DataSourceRouting.requireReplayed(REPLAYED_LSN);
+        assertThat(routing.getConnection()).isSameAs(replicaConnection);
+
+        DataSourceRouting.requireReplayed(REPLAYED_LSN + 1);
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void includeDeletedReads_ArePinnedToThePrimary() {
+        lenient().when(lagMonitor.isReplicaUsable()).thenReturn(true);
+        AddressRepository addressRepository = mock(AddressRepository.class);
+        ArchivedAddressRepository archivedAddressRepository = mock(ArchivedAddressRepository.class);
+        AddressServiceImpl addressService = new AddressServiceImpl(addressRepository, archivedAddressRepository,
+            new NoOpAddressBookCache(), mock(AddressBookCacheInvalidator.class), mock(AddressNotFoundCache.class),
+            mock(PlatformTransactionManager.class));
+        UUID userId = UUID.randomUUID();
+        AddressResponse address = address(userId);
+        List<Connection> connections = new ArrayList<>();
+        when(addressRepository.findAllResponses(userId, TENANT_ID)).thenAnswer(invocation -> {
+            connections.add(connection());
+            return List.of(address);
+        });
+        when(archivedAddressRepository.findResponses(userId, TENANT_ID)).thenAnswer(invocation -> {
+            connections.add(connection());
+            return List.of();
+        });
+        when(addressRepository.findResponseByIdAndTenantId(address.id(), TENANT_ID)).thenAnswer(invocation -> {
+            connections.add(connection());
+            return Optional.of(address);
+        });
+        when(addressRepository.findActiveResponses(userId, TENANT_ID)).thenAnswer(invocation -> {
+            connections.add(connection());
+            return List.of(address);
+        });
+
+        addressService.getUserAddresses(userId, TENANT_ID, UUID.randomUUID(), List.of("ADMIN"), true);
+        addressService.getAddressById(address.id(), UUID.randomUUID(), TENANT_ID, List.of("ADMIN"), true);
+        assertThat(connections).containsOnly(primaryConnection).hasSize(3);
+
+        addressService.getUserAddresses(userId, TENANT_ID, userId, List.of("CUSTOMER"), false);
+        assertThat(connections).last().isSameAs(replicaConnection);
+    }
+
+    private Connection connection() {
+        try {
+            return routing.getConnection();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static AddressResponse address(UUID userId) {
+        LocalDateTime now = LocalDateTime.now();
+        return new AddressResponse(UUID.randomUUID(), userId, TENANT_ID, "1 Main St", null, "New York", "NY",
+            "10001", "US", "Home", false, true, now, now, now);
+    }
+}
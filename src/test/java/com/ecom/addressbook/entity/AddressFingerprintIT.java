@@ -0,0 +1,63 @@
+package com.ecom.addressbook.entity;
+
+import com.ecom.addressbook.PostgresIT;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * AddressFingerprint and the SQL function address_fingerprint() (V8) must agree
+ *
+ * <p>The application computes fingerprints on writes, the V8 trigger recomputes them in
+ * the database, and the backfill only used SQL. Any drift between the two would let
+ * duplicates through idx_addresses_unique_active or reject distinct addresses.
+ */
+@JdbcTest(properties = "spring.cloud.config.enabled=false")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class AddressFingerprintIT extends PostgresIT {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void sqlFunction_MatchesJava() {
+        List<String[]> addresses = List.of(
+            new String[] {"12 Main St", "New York", "10001", "US"},
+            new String[] {"  12\tMAIN \r\n st  ", "new   york", " 10001", "us "},
+            new String[] {"Flat 3, 221B Baker Street", "London", "NW1 6XE", "GB"},
+            new String[] {"1 Rue \u00c9glise", "Paris", "75001", "FR"},
+            new String[] {"\u6771\u4eac\u90fd 1-1", "Tokyo", "100-0001", "JP"},
+            new String[] {"x", "y", "z", "ZZ"}
+        );
+
+        for (String[] address : addresses) {
+            Long sql = jdbcTemplate.queryForObject(
+                "select address_fingerprint(?, ?, ?, ?)", Long.class, (Object[]) address);
+
+            assertThat(sql).as("address_fingerprint(%s)", String.join(", ", address))
+                .isEqualTo(AddressFingerprint.of(address[0], address[1], address[2], address[3]));
+        }
+    }
+
+    @Test
+    void trigger_OverridesTheValueWrittenByTheClient() {
+        UUID id = jdbcTemplate.queryForObject("""
+            insert into addresses (user_id, tenant_id, line1, city, postcode, country, is_default, deleted,
+                                   address_fingerprint, created_at, updated_at)
+            values (?, ?, '12 Main St', 'New York', '10001', 'US', false, false, 42, current_timestamp, current_timestamp)
+            returning id
+            """, UUID.class, UUID.randomUUID(), UUID.randomUUID());
+
+        Long stored = jdbcTemplate.queryForObject(
+            "select address_fingerprint from addresses where id = ?", Long.class, id);
+
+        assertThat(stored).isEqualTo(AddressFingerprint.of("12 Main St", "New York", "10001", "US"));
+    }
+}
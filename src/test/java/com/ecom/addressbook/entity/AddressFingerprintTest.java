@@ -0,0 +1,42 @@
+package com.ecom.addressbook.entity;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AddressFingerprintTest {
+
+    @Test
+    void of_IsTheFirst64BitsOfSha256OverTheNormalizedFields() {
+        // sha256("12 main st" 0x1f "new york" 0x1f "10001" 0x1f "us"), first 8 bytes as a signed long
+        assertThat(AddressFingerprint.of("12 Main St", "New York", "10001", "US")).isEqualTo(5630712013825276368L);
+    }
+
+    @Test
+    void of_IgnoresAsciiCaseAndWhitespaceRuns() {
+        long fingerprint = AddressFingerprint.of("12 Main St", "New York", "10001", "US");
+
+        assertThat(AddressFingerprint.of("12 MAIN ST", "new york", "10001", "us")).isEqualTo(fingerprint);
+        assertThat(AddressFingerprint.of("  12\tMain \r\n St  ", "New   York", " 10001", "US ")).isEqualTo(fingerprint);
+    }
+
+    @Test
+    void of_KeepsFieldBoundaries() {
+        assertThat(AddressFingerprint.of("12 Main St", "New York", "10001", "US"))
+            .isNotEqualTo(AddressFingerprint.of("12 Main", "St New York", "10001", "US"));
+    }
+
+    @Test
+    void of_DoesNotFoldNonAsciiLetters() {
+        // ASCII-only, like address_fingerprint() in SQL, so neither side depends on a locale
+        assertThat(AddressFingerprint.of("1 Rue \u00c9glise", "Paris", "75001", "FR"))
+            .isNotEqualTo(AddressFingerprint.of("1 rue \u00e9glise", "Paris", "75001", "FR"));
+    }
+
+    @Test
+    void of_DistinguishesDifferentAddresses() {
+        assertThat(AddressFingerprint.of("12 Main St", "New York", "10001", "US"))
+            .isNotEqualTo(AddressFingerprint.of("13 Main St", "New York", "10001", "US"))
+            .isNotEqualTo(AddressFingerprint.of("12 Main St", "New York", "10002", "US"));
+    }
+}
@@ -0,0 +1,80 @@
+package com.ecom.addressbook.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UuidV7GeneratorTest {
+
+    @Test
+    void next_HasVersion7AndRfcVariant() {
+        UUID id = UuidV7Generator.next();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+    }
+
+    @Test
+    void next_EmbedsTheCurrentUnixTimeInMilliseconds() {
+        long before = System.currentTimeMillis();
+        UUID id = UuidV7Generator.next();
+        long after = System.currentTimeMillis();
+
+        // Issued timestamps run ahead of the clock only while bursts of more than 4096 ids per
+        // millisecond (as in the other tests) carry into the timestamp
+        assertThat(id.getMostSignificantBits() >>> 16).isBetween(before, after + 1_000);
+    }
+
+    @Test
+    void next_SortsInIssueOrderAsPostgresComparesUuids() {
+        // More than 4096 ids, so the 12-bit sequence overflows within a millisecond
+        UUID previous = UuidV7Generator.next();
+        for (int i = 0; i < 20_000; i++) {
+            UUID id = UuidV7Generator.next();
+            assertThat(compareBytewise(id, previous)).as("id %d sorts after its predecessor", i).isPositive();
+            previous = id;
+        }
+    }
+
+    @Test
+    void next_IsUniqueAcrossThreads() throws Exception {
+        int threads = 8;
+        int idsPerThread = 20_000;
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                tasks.add(executor.submit(() -> {
+                    for (int i = 0; i < idsPerThread; i++) {
+                        ids.add(UuidV7Generator.next());
+                    }
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(ids).hasSize(threads * idsPerThread);
+    }
+
+    /**
+     * Unsigned byte-by-byte comparison (UUID.compareTo compares signed longs)
+     */
+    private static int compareBytewise(UUID a, UUID b) {
+        int most = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return most != 0 ? most : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+}
@@ -0,0 +1,62 @@
+package com.ecom.addressbook.entity;
+
+import com.ecom.addressbook.PostgresIT;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Primary key index size and insert time with UUIDv7 against random (v4) ids
+ *
+ * <p>Random ids land on arbitrary leaf pages of the primary key index and split them
+ * half full, settling around 70% leaf fill; time-ordered ids append to the rightmost
+ * page, which Postgres splits leaving the left page at its 90% fillfactor. After the
+ * same inserts the v7 index must therefore be smaller by well over a tenth.
+ */
+@Slf4j
+class UuidV7IndexSizeIT extends PostgresIT {
+
+    private static final int ROWS = 200_000;
+    private static final int BATCH_SIZE = 1_000;
+
+    @Test
+    void uuidV7PrimaryKeyIndex_IsSmallerThanRandomUuidIndex() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+            jdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword()));
+
+        long v4Bytes = insertAndMeasure(jdbcTemplate, "ids_v4", UUID::randomUUID);
+        long v7Bytes = insertAndMeasure(jdbcTemplate, "ids_v7", UuidV7Generator::next);
+
+        assertThat(v7Bytes).isLessThan(v4Bytes * 9 / 10);
+    }
+
+    /**
+     * Insert ROWS ids into a fresh table and return the size of its primary key index
+     */
+    private long insertAndMeasure(JdbcTemplate jdbcTemplate, String table, Supplier<UUID> ids) {
+        jdbcTemplate.execute("create table " + table + " (id uuid primary key, payload varchar(64) not null)");
+
+        long start = System.nanoTime();
+        for (int inserted = 0; inserted < ROWS; inserted += BATCH_SIZE) {
+            List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                batch.add(new Object[] {ids.get(), "Line " + (inserted + i)});
+            }
+            jdbcTemplate.batchUpdate("insert into " + table + " (id, payload) values (?, ?)", batch);
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        long indexBytes = jdbcTemplate.queryForObject(
+            "select pg_relation_size(?::regclass)", Long.class, table + "_pkey");
+        log.info("{}: {} rows inserted in {} ms, primary key index {} kB", table, ROWS, millis, indexBytes / 1024);
+        return indexBytes;
+    }
+}
@@ -0,0 +1,150 @@
+package com.ecom.addressbook.export;
+
+import com.ecom.addressbook.PostgresIT;
+import com.ecom.addressbook.config.ExportProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * What AddressExporter writes, read back from PostgreSQL
+ *
+ * <p>Rows are inserted in the test transaction, which the export joins and which is
+ * rolled back afterwards. A fetch size of 1 makes the cursor fetch once per row.
+ */
+@DataJpaTest(properties = "spring.cloud.config.enabled=false")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class AddressExporterIT extends PostgresIT {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2026, 1, 2, 3, 4, 5);
+    private static final String LINE1 = "12 Rue \"Haute\", Apt 3";
+    private static final String LINE2 = "Back door\r\nRing twice";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void csv_QuotesCommasQuotesAndLineBreaks() throws IOException {
+        UUID tenantId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        UUID id = insertAddress(tenantId, userId, LINE1, LINE2, false);
+
+        String csv = export(tenantId, AddressExportFormat.CSV, false);
+
+        assertThat(csv).isEqualTo(
+            "id,userId,tenantId,line1,line2,city,state,postcode,country,label,isDefault,deleted,deletedAt,"
+                + "createdAt,updatedAt\r\n"
+                + String.join(",", id.toString(), userId.toString(), tenantId.toString(),
+                    "\"12 Rue \"\"Haute\"\", Apt 3\"", "\"Back door\r\nRing twice\"", "NYC", "", "10001", "US",
+                    "Home", "true", "false", "", "2026-01-02T03:04:05", "2026-01-02T03:04:05")
+                + "\r\n");
+    }
+
+    @Test
+    void ndjson_WritesOneAddressResponseObjectPerLine() throws IOException {
+        UUID tenantId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        UUID id = insertAddress(tenantId, userId, LINE1, LINE2, false);
+
+        List<JsonNode> rows = ndjson(export(tenantId, AddressExportFormat.NDJSON, false));
+
+        assertThat(rows).hasSize(1);
+        JsonNode row = rows.get(0);
+        List<String> fields = new ArrayList<>();
+        row.fieldNames().forEachRemaining(fields::add);
+        assertThat(fields).containsExactly("id", "userId", "tenantId", "line1", "line2", "city", "state",
+            "postcode", "country", "label", "isDefault", "deleted", "deletedAt", "createdAt", "updatedAt");
+        assertThat(row.get("id").asText()).isEqualTo(id.toString());
+        assertThat(row.get("line1").asText()).isEqualTo(LINE1);
+        assertThat(row.get("line2").asText()).isEqualTo(LINE2);
+        assertThat(row.get("state").isNull()).isTrue();
+        assertThat(row.get("isDefault").isBoolean()).isTrue();
+        assertThat(row.get("isDefault").asBoolean()).isTrue();
+        assertThat(row.get("deletedAt").isNull()).isTrue();
+        assertThat(row.get("createdAt").asText()).isEqualTo("2026-01-02T03:04:05");
+    }
+
+    @Test
+    void includeDeleted_AppendsTheArchiveToSoftDeletedAndActiveRows() throws IOException {
+        UUID tenantId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        UUID active = insertAddress(tenantId, userId, "1 Active St", null, false);
+        UUID softDeleted = insertAddress(tenantId, userId, "2 Deleted St", null, true);
+        UUID archived = insertArchivedAddress(tenantId, userId, "3 Archived St");
+        insertAddress(UUID.randomUUID(), userId, "4 Other Tenant St", null, false);
+
+        List<JsonNode> activeRows = ndjson(export(tenantId, AddressExportFormat.NDJSON, false));
+        List<JsonNode> allRows = ndjson(export(tenantId, AddressExportFormat.NDJSON, true));
+
+        assertThat(activeRows).extracting(row -> row.get("id").asText()).containsExactly(active.toString());
+        assertThat(allRows).extracting(row -> row.get("id").asText())
+            .containsExactlyInAnyOrder(active.toString(), softDeleted.toString(), archived.toString());
+        assertThat(allRows.get(allRows.size() - 1).get("id").asText()).isEqualTo(archived.toString());
+        assertThat(meterRegistry.get("address.export.rows").tag("format", "ndjson").counter().count()).isEqualTo(4);
+    }
+
+    private String export(UUID tenantId, AddressExportFormat format, boolean includeDeleted) throws IOException {
+        ExportProperties properties = new ExportProperties();
+        properties.setFetchSize(1);
+        AddressExporter exporter =
+            new AddressExporter(jdbcTemplate, transactionManager, objectMapper, properties, meterRegistry);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.export(tenantId, format, includeDeleted, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private List<JsonNode> ndjson(String output) throws IOException {
+        assertThat(output).endsWith("\n");
+        List<JsonNode> rows = new ArrayList<>();
+        for (String line : output.split("\n")) {
+            rows.add(objectMapper.readTree(line));
+        }
+        return rows;
+    }
+
+    /**
+     * Insert a default address labelled Home, soft-deleted if deleted
+     */
+    private UUID insertAddress(UUID tenantId, UUID userId, String line1, String line2, boolean deleted) {
+        return jdbcTemplate.queryForObject("""
+            insert into addresses (user_id, tenant_id, line1, line2, city, postcode, country, label, is_default,
+                                   deleted, deleted_at, address_fingerprint, created_at, updated_at)
+            values (?, ?, ?, ?, 'NYC', '10001', 'US', 'Home', ?, ?, ?, address_fingerprint(?, 'NYC', '10001', 'US'),
+                    ?, ?)
+            returning id
+            """, UUID.class, userId, tenantId, line1, line2, !deleted, deleted, deleted ? CREATED_AT : null, line1,
+            CREATED_AT, CREATED_AT);
+    }
+
+    private UUID insertArchivedAddress(UUID tenantId, UUID userId, String line1) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("""
+            insert into addresses_archive (id, user_id, tenant_id, line1, city, postcode, country, is_default,
+                                           deleted, deleted_at, created_at, updated_at)
+            values (?, ?, ?, ?, 'NYC', '10001', 'US', false, true, ?, ?, ?)
+            """, id, userId, tenantId, line1, CREATED_AT, CREATED_AT, CREATED_AT);
+        return id;
+    }
+}
@@ -0,0 +1,149 @@
+package com.ecom.addressbook.maintenance;
+
+import com.ecom.addressbook.PostgresIT;
+import com.ecom.addressbook.cache.AddressBookCacheInvalidator;
+import com.ecom.addressbook.cache.AddressNotFoundCache;
+import com.ecom.addressbook.cache.NoOpAddressBookCache;
+import com.ecom.addressbook.config.ArchiveProperties;
+import com.ecom.addressbook.model.response.AddressResponse;
+import com.ecom.addressbook.repository.AddressRepository;
+import com.ecom.addressbook.repository.ArchivedAddressRepository;
+import com.ecom.addressbook.service.impl.AddressServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * AddressArchiver against PostgreSQL, and include-deleted views racing it
+ *
+ * <p>Tests run outside a test transaction, as the archiver commits one transaction per
+ * chunk; each test writes under its own tenant.
+ */
+@DataJpaTest(properties = "spring.cloud.config.enabled=false")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AddressArchiverIT extends PostgresIT {
+
+    private static final Duration RETENTION = Duration.ofDays(30);
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private ArchivedAddressRepository archivedAddressRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void archive_MovesOnlyAddressesDeletedBeforeTheRetention() {
+        UUID tenantId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        UUID active = insertAddress(tenantId, userId, "Active St", null);
+        UUID recentlyDeleted = insertAddress(tenantId, userId, "Recent St", LocalDateTime.now().minusDays(1));
+        List<UUID> expired = List.of(
+            insertAddress(tenantId, userId, "Old St 1", LocalDateTime.now().minusDays(40)),
+            insertAddress(tenantId, userId, "Old St 2", LocalDateTime.now().minusDays(41)),
+            insertAddress(tenantId, userId, "Old St 3", LocalDateTime.now().minusDays(42)));
+
+        archiver(2, 10).archive();
+
+        assertThat(ids("addresses", tenantId)).containsExactlyInAnyOrder(active, recentlyDeleted);
+        assertThat(ids("addresses_archive", tenantId)).containsExactlyInAnyOrderElementsOf(expired);
+        assertThat(jdbcTemplate.queryForObject("""
+            select count(*)
+              from addresses_archive
+             where tenant_id = ? and deleted and deleted_at is not null and line1 like 'Old St %'
+               and address_fingerprint = address_fingerprint(line1, city, postcode, country)
+            """, Integer.class, tenantId)).isEqualTo(3);
+    }
+
+    @Test
+    void archive_StopsAfterMaxChunksPerRun() {
+        UUID tenantId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        for (int i = 0; i < 5; i++) {
+            insertAddress(tenantId, userId, "Old St " + i, LocalDateTime.now().minusDays(40 + i));
+        }
+
+        archiver(2, 1).archive();
+        assertThat(ids("addresses_archive", tenantId)).hasSize(2);
+
+        archiver(2, 10).archive();
+        assertThat(ids("addresses_archive", tenantId)).hasSize(5);
+        assertThat(ids("addresses", tenantId)).isEmpty();
+    }
+
+    @Test
+    void includeDeletedView_FindsAnAddressArchivedBetweenItsQueries() {
+        UUID tenantId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        UUID active = insertAddress(tenantId, userId, "Active St", null);
+        UUID expired = insertAddress(tenantId, userId, "Old St", LocalDateTime.now().minusDays(40));
+
+        // The archiver moves the expired row after addresses was read, before addresses_archive is
+        AddressArchiver archiver = archiver(10, 1);
+        ArchivedAddressRepository racingArchive = mock(ArchivedAddressRepository.class, delegatesTo(archivedAddressRepository));
+        doAnswer(invocation -> {
+            CompletableFuture.runAsync(archiver::archive).join();
+            return archivedAddressRepository.findResponses(invocation.getArgument(0), invocation.getArgument(1));
+        }).when(racingArchive).findResponses(any(), any());
+        AddressServiceImpl addressService = new AddressServiceImpl(addressRepository, racingArchive,
+            new NoOpAddressBookCache(), mock(AddressBookCacheInvalidator.class), mock(AddressNotFoundCache.class),
+            transactionManager);
+
+        List<AddressResponse> addresses =
+            addressService.getUserAddresses(userId, tenantId, UUID.randomUUID(), List.of("ADMIN"), true).value();
+
+        assertThat(ids("addresses_archive", tenantId)).containsExactly(expired);
+        assertThat(addresses).extracting(AddressResponse::id).containsExactlyInAnyOrder(active, expired);
+    }
+
+    private AddressArchiver archiver(int chunkSize, int maxChunksPerRun) {
+        ArchiveProperties properties = new ArchiveProperties();
+        properties.setRetention(RETENTION);
+        properties.setChunkSize(chunkSize);
+        properties.setMaxChunksPerRun(maxChunksPerRun);
+        return new AddressArchiver(jdbcTemplate, new TransactionTemplate(transactionManager), properties,
+            new SimpleMeterRegistry());
+    }
+
+    /**
+     * Insert an address, soft-deleted at deletedAt unless that is null
+     */
+    private UUID insertAddress(UUID tenantId, UUID userId, String line1, LocalDateTime deletedAt) {
+        return jdbcTemplate.queryForObject("""
+            insert into addresses (user_id, tenant_id, line1, city, postcode, country, is_default, deleted,
+                                   deleted_at, address_fingerprint, created_at, updated_at)
+            values (?, ?, ?, 'NYC', '10001', 'US', false, ?, ?, address_fingerprint(?, 'NYC', '10001', 'US'),
+                    current_timestamp, current_timestamp)
+            returning id
+            """, UUID.class, userId, tenantId, line1, deletedAt != null, deletedAt, line1);
+    }
+
+    private List<UUID> ids(String table, UUID tenantId) {
+        return jdbcTemplate.queryForList("select id from " + table + " where tenant_id = ?", UUID.class, tenantId);
+    }
+}
@@ -0,0 +1,225 @@
+package com.ecom.addressbook.maintenance;
+
+import com.ecom.addressbook.PostgresIT;
+import com.ecom.addressbook.cache.AddressBookCacheInvalidator;
+import com.ecom.addressbook.config.ImportProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * AddressImporter against PostgreSQL: COPY staging, merge deduplication, rejects, resume
+ *
+ * <p>Tests run outside a test transaction, as the importer commits one transaction per
+ * chunk; each test imports into its own tenant.
+ */
+@JdbcTest(properties = "spring.cloud.config.enabled=false")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Slf4j
+class AddressImporterIT extends PostgresIT {
+
+    private static final UUID USER_1 = UUID.randomUUID();
+    private static final UUID USER_2 = UUID.randomUUID();
+
+    /**
+     * Nine records over three chunks of four:
+     * 1 imported as default (line2 spans two lines), 2 duplicate of 1 (case and whitespace),
+     * 3 imported but not default (second default of user 1), 4 duplicate of an existing address,
+     * 5-7 rejected, 8 imported as default of user 2, 9 duplicate of 1 in a later chunk
+     */
+    private static final String CSV = """
+        userId,line1,line2,city,state,postcode,country,label,isDefault
+        %1$s,1 Main St,"Flat 2
+        Back entrance",New York,NY,10001,us,Home,true
+        %1$s,  1 MAIN st ,,new york,,10001,US,,false
+        %1$s,2 Side St,,New York,NY,10001,US,Office,true
+        %2$s,9 Existing Rd,,Boston,MA,02101,US,,false
+        %2$s,,,Boston,MA,02101,US,,false
+        not-a-uuid,5 Pier Rd,,Boston,MA,02101,US,,false
+        %2$s,3 Harbor Way,,Boston,MA,02101,US,,maybe
+
+        %2$s,4 Quay St,,Boston,MA,02101,US,,true
+        %1$s,1 main st,,New York,NY,10001,US,,false
+        """.formatted(USER_1, USER_2);
+
+    @TempDir
+    private Path dir;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final AddressBookCacheInvalidator addressBookCacheInvalidator = mock(AddressBookCacheInvalidator.class);
+
+    @Test
+    void run_Csv_MergesDeduplicatesAndRecordsRejects() throws Exception {
+        UUID tenantId = UUID.randomUUID();
+        insertAddress(tenantId, USER_2, "9 Existing Rd", "Boston", "02101");
+        Path file = Files.writeString(dir.resolve("addresses.csv"), CSV);
+
+        importer(tenantId, file, AddressImportFormat.CSV, 4).run(new DefaultApplicationArguments());
+
+        assertThat(job(tenantId)).containsEntry("status", "COMPLETED")
+            .containsEntry("processed_records", 9L)
+            .containsEntry("imported_rows", 3L)
+            .containsEntry("duplicate_rows", 3L)
+            .containsEntry("rejected_rows", 3L);
+        assertThat(rejects(tenantId)).containsOnlyKeys(5L, 6L, 7L);
+        assertThat(rejects(tenantId).get(5L)).contains("Line1 is required");
+        assertThat(rejects(tenantId).get(6L)).startsWith("Unparseable record");
+        assertThat(rejects(tenantId).get(7L)).contains("isDefault must be true or false");
+
+        assertThat(jdbcTemplate.queryForList(
+            "select line1 from addresses where tenant_id = ? and user_id = ? order by line1",
+            String.class, tenantId, USER_1)).containsExactly("1 Main St", "2 Side St");
+        assertThat(jdbcTemplate.queryForMap(
+            "select line2, country from addresses where tenant_id = ? and user_id = ? and is_default",
+            tenantId, USER_1)).containsEntry("line2", "Flat 2\nBack entrance").containsEntry("country", "US");
+        assertThat(defaultLine1(tenantId, USER_2)).containsExactly("4 Quay St");
+
+        verify(addressBookCacheInvalidator).invalidateAfterCommit(tenantId, USER_1);
+        verify(addressBookCacheInvalidator).invalidateAfterCommit(tenantId, USER_2);
+    }
+
+    @Test
+    void run_CompletedImportIsNotRunAgain() throws Exception {
+        UUID tenantId = UUID.randomUUID();
+        Path file = Files.writeString(dir.resolve("addresses.csv"), CSV);
+
+        importer(tenantId, file, AddressImportFormat.CSV, 4).run(new DefaultApplicationArguments());
+        importer(tenantId, file, AddressImportFormat.CSV, 4).run(new DefaultApplicationArguments());
+
+        assertThat(countAddresses(tenantId)).isEqualTo(4);
+        assertThat(job(tenantId)).containsEntry("imported_rows", 4L);
+    }
+
+    @Test
+    void run_ResumesAfterTheLastCommittedChunk() throws Exception {
+        UUID tenantId = UUID.randomUUID();
+        Path file = Files.writeString(dir.resolve("addresses.csv"), CSV);
+        // An earlier run failed after committing the first chunk (records 1-4)
+        jdbcTemplate.update("""
+            insert into address_import_jobs (tenant_id, source, source_size, format, status, processed_records)
+            values (?, ?, ?, 'CSV', 'FAILED', 4)
+            """, tenantId, file.toAbsolutePath().toString(), Files.size(file));
+
+        importer(tenantId, file, AddressImportFormat.CSV, 4).run(new DefaultApplicationArguments());
+
+        // Records 8 and 9 only; 9 is no duplicate here, as record 1 was never loaded
+        assertThat(jdbcTemplate.queryForList(
+            "select line1 from addresses where tenant_id = ? order by line1", String.class, tenantId))
+            .containsExactly("1 main st", "4 Quay St");
+        assertThat(job(tenantId)).containsEntry("status", "COMPLETED")
+            .containsEntry("processed_records", 9L)
+            .containsEntry("rejected_rows", 3L);
+    }
+
+    @Test
+    void run_Ndjson_ImportsInBulk() throws Exception {
+        UUID tenantId = UUID.randomUUID();
+        int records = 20_000;
+        List<UUID> users = IntStream.range(0, records / 10).mapToObj(i -> UUID.randomUUID()).toList();
+        // Every tenth record repeats the one before it
+        String ndjson = IntStream.range(0, records)
+            .mapToObj(i -> {
+                int address = i % 10 == 9 ? i - 1 : i;
+                return """
+                    {"userId":"%s","line1":"%d Import St","city":"New York","postcode":"10001","country":"US","isDefault":%b}"""
+                    .formatted(users.get(address / 10), address, address % 10 == 0);
+            })
+            .collect(Collectors.joining("\n"));
+        Path file = Files.writeString(dir.resolve("addresses.ndjson"), ndjson);
+
+        long start = System.nanoTime();
+        importer(tenantId, file, AddressImportFormat.NDJSON, 5_000).run(new DefaultApplicationArguments());
+        long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+
+        log.info("Imported {} records in {} ms ({} records/s)", records, millis, records * 1_000L / millis);
+        assertThat(job(tenantId)).containsEntry("imported_rows", (long) records * 9 / 10)
+            .containsEntry("duplicate_rows", (long) records / 10)
+            .containsEntry("rejected_rows", 0L);
+        assertThat(countAddresses(tenantId)).isEqualTo(records * 9 / 10);
+        assertThat(jdbcTemplate.queryForObject(
+            "select count(*) from addresses where tenant_id = ? and is_default", Long.class, tenantId))
+            .isEqualTo(users.size());
+    }
+
+    private AddressImporter importer(UUID tenantId, Path file, AddressImportFormat format, int chunkSize) {
+        ImportProperties properties = new ImportProperties();
+        properties.setEnabled(true);
+        properties.setFile(file.toString());
+        properties.setFormat(format);
+        properties.setTenantId(tenantId);
+        properties.setChunkSize(chunkSize);
+        properties.setParallelism(2);
+        return new AddressImporter(jdbcTemplate, new TransactionTemplate(transactionManager), objectMapper,
+            Validation.buildDefaultValidatorFactory().getValidator(), addressBookCacheInvalidator, properties,
+            new SimpleMeterRegistry());
+    }
+
+    private void insertAddress(UUID tenantId, UUID userId, String line1, String city, String postcode) {
+        jdbcTemplate.update("""
+            insert into addresses (user_id, tenant_id, line1, city, postcode, country, is_default, deleted,
+                                   address_fingerprint, created_at, updated_at)
+            values (?, ?, ?, ?, ?, 'US', false, false, address_fingerprint(?, ?, ?, 'US'),
+                    current_timestamp, current_timestamp)
+            """, userId, tenantId, line1, city, postcode, line1, city, postcode);
+    }
+
+    private Map<String, Object> job(UUID tenantId) {
+        return jdbcTemplate.queryForMap("""
+            select status, processed_records, imported_rows, duplicate_rows, rejected_rows
+              from address_import_jobs
+             where tenant_id = ?
+            """, tenantId);
+    }
+
+    private Map<Long, String> rejects(UUID tenantId) {
+        return jdbcTemplate.queryForList("""
+            select r.record_no, r.reason
+              from address_import_rejects r
+              join address_import_jobs j on j.id = r.job_id
+             where j.tenant_id = ?
+            """, tenantId).stream()
+            .collect(Collectors.toMap(row -> (Long) row.get("record_no"), row -> (String) row.get("reason")));
+    }
+
+    private List<String> defaultLine1(UUID tenantId, UUID userId) {
+        return jdbcTemplate.queryForList(
+            "select line1 from addresses where tenant_id = ? and user_id = ? and is_default and not deleted",
+            String.class, tenantId, userId);
+    }
+
+    private int countAddresses(UUID tenantId) {
+        return jdbcTemplate.queryForObject("select count(*) from addresses where tenant_id = ?", Integer.class, tenantId);
+    }
+}
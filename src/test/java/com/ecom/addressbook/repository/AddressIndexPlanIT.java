@@ -0,0 +1,202 @@
+package com.ecom.addressbook.repository;
+
+import com.ecom.addressbook.PostgresIT;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pins the index each AddressRepository read query is planned with
+ *
+ * <p>V4 dropped the plain (user_id, tenant_id) indexes and relies on partial indexes
+ * matching the query predicates. A query rewrite, a Hibernate upgrade rendering the
+ * predicates differently, or an index change can silently turn these into sequential
+ * scans. Each test runs the repository method, captures the SQL Hibernate generated
+ * and EXPLAINs it with the same arguments against the Flyway schema.
+ *
+ * <p>Sequential scans are disabled for the session, so the assertions check which
+ * index the planner can use for the predicate, independent of the (small) test data.
+ */
+@DataJpaTest(properties = {
+    "spring.cloud.config.enabled=false",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.ecom.addressbook.repository.AddressIndexPlanIT$CapturingStatementInspector"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class AddressIndexPlanIT extends PostgresIT {
+
+    private static final UUID USER_ID = userId(1);
+    private static final UUID OTHER_USER_ID = userId(2);
+    private static final int USERS = 1_000;
+    private static final int ROWS = 20_000;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        // USERS users with ROWS / USERS addresses each: the first one is the default,
+        // every fourth one is soft-deleted (rolled back after each test)
+        jdbcTemplate.update("""
+            insert into addresses (user_id, tenant_id, line1, city, postcode, country,
+                                   is_default, deleted, deleted_at, address_fingerprint)
+            select ('00000000-0000-0000-0000-' || lpad((g % ?)::text, 12, '0'))::uuid,
+                   ?, 'Line ' || g, 'City', '10001', 'US',
+                   g < ?, (g / ?) % 4 = 3, case when (g / ?) % 4 = 3 then current_timestamp end,
+                   address_fingerprint('Line ' || g, 'City', '10001', 'US')
+              from generate_series(0, ? - 1) g
+            """, USERS, TENANT_ID, USERS, USERS, USERS, ROWS);
+        jdbcTemplate.execute("analyze addresses");
+        jdbcTemplate.execute("set local enable_seqscan = off");
+        CapturingStatementInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    void findActiveResponses_usesUniqueActiveIndex() {
+        addressRepository.findActiveResponses(USER_ID, TENANT_ID);
+
+        Plan plan = explainLastQuery(USER_ID, TENANT_ID);
+
+        assertThat(plan.indexes()).containsExactly("idx_addresses_unique_active");
+    }
+
+    @Test
+    void findAllResponses_combinesBothPartialIndexesWithBitmapOr() {
+        addressRepository.findAllResponses(USER_ID, TENANT_ID);
+
+        Plan plan = explainLastQuery(USER_ID, TENANT_ID);
+
+        assertThat(plan.nodeTypes()).contains("BitmapOr");
+        assertThat(plan.indexes()).containsExactlyInAnyOrder("idx_addresses_unique_active", "idx_addresses_deleted_user");
+    }
+
+    @Test
+    void findDefaultResponse_usesDefaultUniqueIndex() {
+        addressRepository.findDefaultResponse(USER_ID, TENANT_ID);
+
+        Plan plan = explainLastQuery(USER_ID, TENANT_ID);
+
+        assertThat(plan.indexes()).containsExactly("idx_addresses_default_unique");
+    }
+
+    @Test
+    void findActiveResponseByIdAndTenantId_usesPrimaryKey() {
+        UUID id = anyAddressId();
+        addressRepository.findActiveResponseByIdAndTenantId(id, TENANT_ID);
+
+        Plan plan = explainLastQuery(id, TENANT_ID);
+
+        assertThat(plan.indexes()).containsExactly("addresses_pkey");
+    }
+
+    @Test
+    void findResponseByIdAndTenantId_usesPrimaryKey() {
+        UUID id = anyAddressId();
+        addressRepository.findResponseByIdAndTenantId(id, TENANT_ID);
+
+        Plan plan = explainLastQuery(id, TENANT_ID);
+
+        assertThat(plan.indexes()).containsExactly("addresses_pkey");
+    }
+
+    @Test
+    void findActiveResponsesByIdIn_usesPrimaryKey() {
+        UUID first = anyAddressId();
+        UUID second = UUID.randomUUID();
+        addressRepository.findActiveResponsesByIdIn(List.of(first, second), TENANT_ID);
+
+        Plan plan = explainLastQuery(TENANT_ID, first, second);
+
+        assertThat(plan.indexes()).containsExactly("addresses_pkey");
+    }
+
+    @Test
+    void findByTenantIdAndUserIdInAndDeletedFalse_usesUniqueActiveIndex() {
+        addressRepository.findByTenantIdAndUserIdInAndDeletedFalse(TENANT_ID, List.of(USER_ID, OTHER_USER_ID));
+
+        Plan plan = explainLastQuery(TENANT_ID, USER_ID, OTHER_USER_ID);
+
+        assertThat(plan.indexes()).containsExactly("idx_addresses_unique_active");
+    }
+
+    private UUID anyAddressId() {
+        return jdbcTemplate.queryForObject(
+            "select id from addresses where user_id = ? and deleted = false limit 1", UUID.class, USER_ID);
+    }
+
+    /**
+     * EXPLAIN the last query Hibernate issued, with its arguments in statement order
+     */
+    private Plan explainLastQuery(Object... args) {
+        List<String> statements = CapturingStatementInspector.STATEMENTS;
+        assertThat(statements).as("captured SQL").isNotEmpty();
+        String sql = statements.get(statements.size() - 1);
+
+        String json = jdbcTemplate.queryForObject("explain (format json) " + sql, String.class, args);
+        try {
+            Plan plan = new Plan(new ArrayList<>(), new HashSet<>());
+            collect(objectMapper.readTree(json).get(0).get("Plan"), plan);
+            assertThat(plan.nodeTypes()).as("plan of: %s", sql).doesNotContain("Seq Scan");
+            return plan;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable plan: " + json, e);
+        }
+    }
+
+    private static void collect(JsonNode node, Plan plan) {
+        plan.nodeTypes().add(node.get("Node Type").asText());
+        if (node.has("Index Name")) {
+            plan.indexes().add(node.get("Index Name").asText());
+        }
+        if (node.has("Plans")) {
+            for (JsonNode child : node.get("Plans")) {
+                collect(child, plan);
+            }
+        }
+    }
+
+    private static UUID userId(int n) {
+        return UUID.fromString(String.format("00000000-0000-0000-0000-%012d", n));
+    }
+
+    /**
+     * Node types and index names found in a plan tree
+     */
+    private record Plan(List<String> indexes, Set<String> nodeTypes) {
+    }
+
+    /**
+     * Records every SQL statement Hibernate prepares
+     */
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
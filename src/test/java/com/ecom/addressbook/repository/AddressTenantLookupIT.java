@@ -0,0 +1,103 @@
+package com.ecom.addressbook.repository;
+
+import com.ecom.addressbook.PostgresIT;
+import com.ecom.addressbook.entity.Address;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cross-tenant id probes: the tenant-qualified lookup against the previous
+ * id-then-tenant check
+ *
+ * <p>getAddressById, updateAddress and deleteAddress used to load the active address
+ * by id alone (findByIdAndDeletedFalse) and compare its tenant afterwards, so a probe
+ * for another tenant's id fetched and materialized the full row. The tenant-qualified
+ * query carries tenant_id in the predicate and must find nothing, loading no entity.
+ */
+@DataJpaTest(properties = {
+    "spring.cloud.config.enabled=false",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Slf4j
+class AddressTenantLookupIT extends PostgresIT {
+
+    private static final int PROBES = 500;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void crossTenantProbe_LoadsNoEntityWithTheTenantQualifiedLookup() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        UUID otherTenantId = UUID.randomUUID();
+        UUID addressId = jdbcTemplate.queryForObject("""
+            insert into addresses (user_id, tenant_id, line1, city, postcode, country, is_default, deleted,
+                                   address_fingerprint, created_at, updated_at)
+            values (?, ?, 'Probe St', 'NYC', '10001', 'US', false, false,
+                    address_fingerprint('Probe St', 'NYC', '10001', 'US'), current_timestamp, current_timestamp)
+            returning id
+            """, UUID.class, UUID.randomUUID(), otherTenantId);
+
+        // Previous shape: load the active address by id, then compare its tenant
+        Probe twoStep = probe(statistics, () -> entityManager.createQuery(
+                "select a from Address a where a.id = :id and a.deleted = false", Address.class)
+            .setParameter("id", addressId)
+            .getResultStream()
+            .findFirst()
+            .filter(address -> address.getTenantId().equals(TENANT_ID)));
+
+        Probe tenantQualified = probe(statistics, () ->
+            addressRepository.findActiveResponseByIdAndTenantId(addressId, TENANT_ID));
+
+        log.info("{} cross-tenant probes: id then tenant {} statements, {} entity loads in {} us; "
+                + "tenant-qualified {} statements, {} entity loads in {} us",
+            PROBES, twoStep.statements(), twoStep.entityLoads(), twoStep.micros(),
+            tenantQualified.statements(), tenantQualified.entityLoads(), tenantQualified.micros());
+
+        assertThat(twoStep.entityLoads()).isEqualTo(PROBES);
+        assertThat(tenantQualified.entityLoads()).isZero();
+        assertThat(tenantQualified.statements()).isLessThanOrEqualTo(twoStep.statements());
+    }
+
+    /**
+     * Run a lookup PROBES times with an empty persistence context, asserting it never
+     * finds the other tenant's address
+     */
+    private Probe probe(Statistics statistics, Supplier<Optional<?>> lookup) {
+        statistics.clear();
+        long start = System.nanoTime();
+        for (int i = 0; i < PROBES; i++) {
+            entityManager.clear();
+            assertThat(lookup.get()).isEmpty();
+        }
+        long micros = (System.nanoTime() - start) / 1_000;
+        return new Probe(statistics.getPrepareStatementCount(), statistics.getEntityLoadCount(), micros);
+    }
+
+    private record Probe(long statements, long entityLoads, long micros) {
+    }
+}
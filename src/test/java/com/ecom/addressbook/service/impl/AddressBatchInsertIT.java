@@ -0,0 +1,107 @@
+package com.ecom.addressbook.service.impl;
+
+import com.ecom.addressbook.PostgresIT;
+import com.ecom.addressbook.cache.AddressBookCache;
+import com.ecom.addressbook.cache.AddressBookCacheInvalidator;
+import com.ecom.addressbook.cache.AddressNotFoundCache;
+import com.ecom.addressbook.model.request.AddressRequest;
+import com.ecom.addressbook.model.response.BatchAddressResponse;
+import com.ecom.addressbook.service.AddressService;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Batch address creation against one createAddress call per address
+ *
+ * <p>The batch endpoint inserts through JDBC statement batching (hibernate.jdbc.batch_size,
+ * reWriteBatchedInserts as in application.yml), so it must prepare a small fraction of
+ * the statements the per-address path does.
+ */
+@DataJpaTest(properties = {
+    "spring.cloud.config.enabled=false",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(AddressServiceImpl.class)
+@Slf4j
+class AddressBatchInsertIT extends PostgresIT {
+
+    private static final List<String> ADMIN = List.of("ADMIN");
+    private static final int ADDRESSES = 200;
+
+    @MockitoBean
+    private AddressBookCache addressBookCache;
+
+    @MockitoBean
+    private AddressBookCacheInvalidator addressBookCacheInvalidator;
+
+    @MockitoBean
+    private AddressNotFoundCache addressNotFoundCache;
+
+    @Autowired
+    private AddressService addressService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void createAddresses_PreparesAFractionOfTheStatementsOfSingleCreates() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        UUID adminId = UUID.randomUUID();
+
+        // One createAddress per address, for one set of users
+        List<AddressRequest> singles = requests("Single");
+        statistics.clear();
+        long start = System.nanoTime();
+        singles.forEach(request -> addressService.createAddress(request.userId(), TENANT_ID, adminId, ADMIN, request));
+        long singleMicros = (System.nanoTime() - start) / 1_000;
+        long singleStatements = statistics.getPrepareStatementCount();
+
+        // The same number of addresses through one batch, for another set of users
+        List<AddressRequest> batch = requests("Batch");
+        statistics.clear();
+        start = System.nanoTime();
+        BatchAddressResponse response = addressService.createAddresses(TENANT_ID, adminId, ADMIN, batch);
+        long batchMicros = (System.nanoTime() - start) / 1_000;
+        long batchStatements = statistics.getPrepareStatementCount();
+
+        log.info("{} addresses: single creates {} statements in {} us, batch {} statements in {} us",
+            ADDRESSES, singleStatements, singleMicros, batchStatements, batchMicros);
+
+        assertThat(response.created()).isEqualTo(ADDRESSES);
+        assertThat(jdbcTemplate.queryForObject(
+            "select count(*) from addresses where tenant_id = ? and line1 like 'Batch %'", Long.class, TENANT_ID))
+            .isEqualTo(ADDRESSES);
+        assertThat(singleStatements).isGreaterThanOrEqualTo(ADDRESSES);
+        assertThat(batchStatements).isLessThan(singleStatements / 10);
+    }
+
+    /**
+     * ADDRESSES distinct addresses spread over ADDRESSES / 4 new users
+     */
+    private static List<AddressRequest> requests(String prefix) {
+        List<UUID> users = IntStream.range(0, ADDRESSES / 4).mapToObj(i -> UUID.randomUUID()).toList();
+        return IntStream.range(0, ADDRESSES)
+            .mapToObj(i -> new AddressRequest(users.get(i % users.size()), prefix + " " + i, null, "NYC", "NY",
+                "10001", "US", "Home", false))
+            .toList();
+    }
+}
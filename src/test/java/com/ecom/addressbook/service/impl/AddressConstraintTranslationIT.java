@@ -0,0 +1,145 @@
+package com.ecom.addressbook.service.impl;
+
+import com.ecom.addressbook.PostgresIT;
+import com.ecom.addressbook.cache.AddressBookCache;
+import com.ecom.addressbook.cache.AddressBookCacheInvalidator;
+import com.ecom.addressbook.cache.AddressNotFoundCache;
+import com.ecom.addressbook.model.request.AddressRequest;
+import com.ecom.addressbook.model.response.AddressResponse;
+import com.ecom.addressbook.service.AddressService;
+import com.ecom.error.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unique violations raised by PostgreSQL (SQLState 23505) on createAddress, as the
+ * service translates them
+ *
+ * <p>createAddress has no duplicate pre-check: idx_addresses_unique_active* and
+ * idx_addresses_default_unique* (matched by prefix, so the partition indexes named in
+ * violations on the partitioned table count too) become ADDRESS_DUPLICATE; any other
+ * integrity violation is rethrown unchanged.
+ */
+@DataJpaTest(properties = "spring.cloud.config.enabled=false")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(AddressServiceImpl.class)
+class AddressConstraintTranslationIT extends PostgresIT {
+
+    private static final List<String> CUSTOMER = List.of("CUSTOMER");
+
+    @MockitoBean
+    private AddressBookCache addressBookCache;
+
+    @MockitoBean
+    private AddressBookCacheInvalidator addressBookCacheInvalidator;
+
+    @MockitoBean
+    private AddressNotFoundCache addressNotFoundCache;
+
+    @Autowired
+    private AddressService addressService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void createAddress_SameAddressDifferentlyWritten_IsDuplicate() {
+        UUID userId = UUID.randomUUID();
+        addressService.createAddress(userId, TENANT_ID, userId, CUSTOMER, request("1 Main St", "Home", false));
+
+        assertThatThrownBy(() -> addressService.createAddress(userId, TENANT_ID, userId, CUSTOMER,
+                request("  1 MAIN st ", "Work", false)))
+            .isInstanceOf(BusinessException.class)
+            .hasMessageContaining("An identical address already exists");
+    }
+
+    @Test
+    void createAddress_DuplicateOnThePartitionedTable_IsDuplicate() {
+        // Rolled back with the test: addresses is the hash-partitioned table from here on, and
+        // the violation names the partition index (idx_addresses_unique_active_p<n>)
+        jdbcTemplate.execute("select addresses_partition_cutover()");
+        UUID userId = UUID.randomUUID();
+        addressService.createAddress(userId, TENANT_ID, userId, CUSTOMER, request("1 Main St", "Home", false));
+
+        assertThatThrownBy(() -> addressService.createAddress(userId, TENANT_ID, userId, CUSTOMER,
+                request("1 Main St", "Work", false)))
+            .isInstanceOf(BusinessException.class)
+            .hasMessageContaining("An identical address already exists");
+    }
+
+    @Test
+    void createAddress_OtherUniqueViolation_IsRethrown() {
+        // Rolled back with the test
+        jdbcTemplate.execute("create unique index idx_test_unique_label on addresses(tenant_id, label)");
+        UUID userId = UUID.randomUUID();
+        addressService.createAddress(userId, TENANT_ID, userId, CUSTOMER, request("1 Main St", "Unique", false));
+
+        assertThatThrownBy(() -> addressService.createAddress(userId, TENANT_ID, userId, CUSTOMER,
+                request("2 Side St", "Unique", false)))
+            .isInstanceOf(DataIntegrityViolationException.class)
+            .rootCause()
+            .hasMessageContaining("idx_test_unique_label");
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void createAddress_ConcurrentDefaults_LoserIsDuplicate() {
+        // Committed, under a tenant of its own
+        UUID tenantId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+
+        // The first default is flushed but not committed when the second create clears
+        // defaults (finding none) and inserts: its index entry waits for the first, then collides
+        CompletableFuture<AddressResponse> loser = new TransactionTemplate(transactionManager).execute(status -> {
+            addressService.createAddress(userId, tenantId, userId, CUSTOMER, request("1 Main St", "Home", true));
+            CompletableFuture<AddressResponse> concurrent = CompletableFuture.supplyAsync(() ->
+                addressService.createAddress(userId, tenantId, userId, CUSTOMER, request("2 Side St", "Work", true)));
+            awaitLockWait();
+            return concurrent;
+        });
+
+        assertThatThrownBy(loser::join)
+            .hasCauseInstanceOf(BusinessException.class)
+            .hasMessageContaining("The default address was changed concurrently");
+        assertThat(jdbcTemplate.queryForList(
+            "select line1 from addresses where user_id = ? and tenant_id = ? and not deleted",
+            String.class, userId, tenantId)).containsExactly("1 Main St");
+    }
+
+    /**
+     * Wait until another session is blocked on a lock
+     */
+    private void awaitLockWait() {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (jdbcTemplate.queryForObject(
+                "select count(*) from pg_stat_activity where wait_event_type = 'Lock' and datname = current_database()",
+                Integer.class) == 0) {
+            assertThat(System.nanoTime()).as("waiting for the concurrent create to block").isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+
+    private static AddressRequest request(String line1, String label, boolean isDefault) {
+        return new AddressRequest(null, line1, null, "NYC", "NY", "10001", "US", label, isDefault);
+    }
+}
@@ -0,0 +1,167 @@
+package com.ecom.addressbook.service.impl;
+
+import com.ecom.addressbook.PostgresIT;
+import com.ecom.addressbook.cache.AddressBookCache;
+import com.ecom.addressbook.cache.AddressBookCacheInvalidator;
+import com.ecom.addressbook.cache.AddressNotFoundCache;
+import com.ecom.addressbook.model.request.AddressRequest;
+import com.ecom.addressbook.model.response.AddressResponse;
+import com.ecom.addressbook.service.AddressService;
+import com.ecom.error.exception.BusinessException;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Cost of creating a new default address as the address book grows
+ *
+ * <p>Switching the default used to load every address of the user and save each one
+ * that was flagged. It is now a single bulk UPDATE, so the number of statements must
+ * not depend on how many addresses the user already has.
+ *
+ * <p>Without the read-modify-write, idx_addresses_default_unique is what keeps two
+ * concurrent switches from leaving two defaults; the one that loses must be rejected
+ * as a business error, not surface as a 500.
+ */
+@DataJpaTest(properties = {
+    "spring.cloud.config.enabled=false",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(AddressServiceImpl.class)
+@Slf4j
+class AddressDefaultSwitchIT extends PostgresIT {
+
+    @MockitoBean
+    private AddressBookCache addressBookCache;
+
+    @MockitoBean
+    private AddressBookCacheInvalidator addressBookCacheInvalidator;
+
+    @MockitoBean
+    private AddressNotFoundCache addressNotFoundCache;
+
+    @Autowired
+    private AddressService addressService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void createAddress_AsDefault_StatementCountDoesNotGrowWithTheAddressBook() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<Integer, Long> statements = new LinkedHashMap<>();
+
+        for (int existing : new int[] {1, 10, 100}) {
+            UUID userId = UUID.randomUUID();
+            insertAddresses(userId, TENANT_ID, existing);
+            statistics.clear();
+
+            long start = System.nanoTime();
+            AddressResponse created = addressService.createAddress(
+                userId, TENANT_ID, userId, List.of("CUSTOMER"),
+                new AddressRequest(null, "New default St", null, "NYC", "NY", "10001", "US", "Home", true));
+            long micros = (System.nanoTime() - start) / 1_000;
+
+            statements.put(existing, statistics.getPrepareStatementCount());
+            log.info("New default with {} existing addresses: {} statements, {} entity loads, {} us",
+                existing, statistics.getPrepareStatementCount(), statistics.getEntityLoadCount(), micros);
+
+            assertThat(statistics.getEntityLoadCount()).as("entity loads with %d addresses", existing).isZero();
+            assertThat(defaultIds(userId, TENANT_ID)).containsExactly(created.id());
+        }
+
+        assertThat(statements.values()).as("statements by address book size: %s", statements).containsOnly(statements.get(1));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void setDefaultAddress_ConcurrentSwitches_LeaveOneDefaultAndRejectTheLoser() {
+        // Committed, under a tenant of its own: Line 0 is the default, Line 1 and Line 2 are not
+        UUID tenantId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        insertAddresses(userId, tenantId, 3);
+        UUID first = addressId(userId, tenantId, "Line 1");
+        UUID second = addressId(userId, tenantId, "Line 2");
+
+        // The first switch has cleared Line 0 and flagged Line 1 but not committed when the
+        // second one starts: its clear waits for the lock on Line 0, then finds no other default
+        CompletableFuture<AddressResponse> loser = new TransactionTemplate(transactionManager).execute(status -> {
+            addressService.setDefaultAddress(first, userId, tenantId, List.of("CUSTOMER"));
+            CompletableFuture<AddressResponse> concurrent = CompletableFuture.supplyAsync(() ->
+                addressService.setDefaultAddress(second, userId, tenantId, List.of("CUSTOMER")));
+            awaitLockWait();
+            return concurrent;
+        });
+
+        assertThatThrownBy(loser::join)
+            .hasCauseInstanceOf(BusinessException.class)
+            .hasMessageContaining("The default address was changed concurrently");
+        assertThat(defaultIds(userId, tenantId)).containsExactly(first);
+    }
+
+    /**
+     * Wait until another session is blocked on a row lock
+     */
+    private void awaitLockWait() {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (jdbcTemplate.queryForObject(
+                "select count(*) from pg_stat_activity where wait_event_type = 'Lock' and datname = current_database()",
+                Integer.class) == 0) {
+            assertThat(System.nanoTime()).as("waiting for the concurrent switch to block").isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+
+    private UUID addressId(UUID userId, UUID tenantId, String line1) {
+        return jdbcTemplate.queryForObject(
+            "select id from addresses where user_id = ? and tenant_id = ? and line1 = ?",
+            UUID.class, userId, tenantId, line1);
+    }
+
+    /**
+     * Insert addresses for a user, the first one being the current default
+     */
+    private void insertAddresses(UUID userId, UUID tenantId, int count) {
+        jdbcTemplate.update("""
+            insert into addresses (user_id, tenant_id, line1, city, postcode, country, is_default, deleted,
+                                   address_fingerprint, created_at, updated_at)
+            select ?, ?, 'Line ' || g, 'NYC', '10001', 'US', g = 0, false,
+                   address_fingerprint('Line ' || g, 'NYC', '10001', 'US'), current_timestamp, current_timestamp
+              from generate_series(0, ? - 1) g
+            """, userId, tenantId, count);
+    }
+
+    private List<UUID> defaultIds(UUID userId, UUID tenantId) {
+        return jdbcTemplate.queryForList(
+            "select id from addresses where user_id = ? and tenant_id = ? and is_default and not deleted",
+            UUID.class, userId, tenantId);
+    }
+}
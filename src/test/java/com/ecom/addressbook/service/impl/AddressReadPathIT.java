@@ -0,0 +1,197 @@
+package com.ecom.addressbook.service.impl;
+
+import com.ecom.addressbook.PostgresIT;
+import com.ecom.addressbook.cache.AddressBookCacheInvalidator;
+import com.ecom.addressbook.cache.AddressNotFoundCache;
+import com.ecom.addressbook.cache.NoOpAddressBookCache;
+import com.ecom.addressbook.entity.Address;
+import com.ecom.addressbook.model.response.AddressLookupResult;
+import com.ecom.addressbook.model.response.AddressResponse;
+import com.ecom.addressbook.repository.AddressRepository;
+import com.ecom.addressbook.service.AddressService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * GET paths are served from DTO projections, without materializing Address entities
+ *
+ * <p>Each read path runs with caching disabled (NoOpAddressBookCache) so it reaches the
+ * database, and must leave Hibernate's entity load and fetch counts at zero. The by-id
+ * and list reads are also measured against the entity path they replaced (load managed
+ * Address entities, then toResponse), logging allocation and latency per read for both.
+ */
+@DataJpaTest(properties = {
+    "spring.cloud.config.enabled=false",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({AddressServiceImpl.class, NoOpAddressBookCache.class})
+@Slf4j
+class AddressReadPathIT extends PostgresIT {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+    private static final List<String> CUSTOMER = List.of("CUSTOMER");
+    private static final List<String> ADMIN = List.of("ADMIN");
+    private static final int ADDRESSES = 50;
+    private static final int ITERATIONS = 200;
+
+    @MockitoBean
+    private AddressBookCacheInvalidator addressBookCacheInvalidator;
+
+    @MockitoBean
+    private AddressNotFoundCache addressNotFoundCache;
+
+    @Autowired
+    private AddressService addressService;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+    private UUID addressId;
+
+    @BeforeEach
+    void setUp() {
+        // ADDRESSES addresses, the first one the default, every fifth one soft-deleted
+        jdbcTemplate.update("""
+            insert into addresses (user_id, tenant_id, line1, city, postcode, country, is_default, deleted,
+                                   deleted_at, address_fingerprint, created_at, updated_at)
+            select ?, ?, 'Line ' || g, 'NYC', '10001', 'US', g = 0, g % 5 = 4,
+                   case when g % 5 = 4 then current_timestamp end,
+                   address_fingerprint('Line ' || g, 'NYC', '10001', 'US'), current_timestamp, current_timestamp
+              from generate_series(0, ? - 1) g
+            """, USER_ID, TENANT_ID, ADDRESSES);
+        addressId = jdbcTemplate.queryForObject(
+            "select id from addresses where user_id = ? and is_default", UUID.class, USER_ID);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void getUserAddresses_LoadsNoEntities() {
+        int size = measureProjection("getUserAddresses", () ->
+            addressService.getUserAddresses(USER_ID, TENANT_ID, USER_ID, CUSTOMER, false).value().size());
+
+        assertThat(size).isEqualTo(ADDRESSES - ADDRESSES / 5);
+
+        int entities = measure("entity list + toResponse", () -> entityManager.createQuery("""
+                select a from Address a where a.userId = :userId and a.tenantId = :tenantId and a.deleted = false
+                """, Address.class)
+            .setParameter("userId", USER_ID)
+            .setParameter("tenantId", TENANT_ID)
+            .getResultList()
+            .stream()
+            .map(AddressServiceImpl::toResponse)
+            .toList()
+            .size()).entityLoads();
+
+        assertThat(entities).isEqualTo(size * ITERATIONS);
+    }
+
+    @Test
+    void getUserAddresses_IncludeDeleted_LoadsNoEntities() {
+        int size = measureProjection("getUserAddresses(includeDeleted)", () ->
+            addressService.getUserAddresses(USER_ID, TENANT_ID, UUID.randomUUID(), ADMIN, true).value().size());
+
+        assertThat(size).isEqualTo(ADDRESSES);
+    }
+
+    @Test
+    void getDefaultAddress_LoadsNoEntities() {
+        UUID id = measureProjection("getDefaultAddress", () ->
+            addressService.getDefaultAddress(USER_ID, TENANT_ID, USER_ID, CUSTOMER).id());
+
+        assertThat(id).isEqualTo(addressId);
+    }
+
+    @Test
+    void getAddressById_LoadsNoEntities() {
+        UUID id = measureProjection("getAddressById", () ->
+            addressService.getAddressById(addressId, USER_ID, TENANT_ID, CUSTOMER, false).id());
+
+        assertThat(id).isEqualTo(addressId);
+
+        Measurement<AddressResponse> entity = measure("findByIdAndTenantIdAndDeletedFalse + toResponse", () ->
+            AddressServiceImpl.toResponse(
+                addressRepository.findByIdAndTenantIdAndDeletedFalse(addressId, TENANT_ID).orElseThrow()));
+
+        assertThat(entity.result().id()).isEqualTo(addressId);
+        assertThat(entity.entityLoads()).isEqualTo(ITERATIONS);
+    }
+
+    @Test
+    void lookupAddresses_LoadsNoEntities() {
+        int found = measureProjection("lookupAddresses", () ->
+            (int) addressService.lookupAddresses(List.of(addressId, UUID.randomUUID()), USER_ID, TENANT_ID, CUSTOMER)
+                .stream()
+                .filter(AddressLookupResult::found)
+                .count());
+
+        assertThat(found).isEqualTo(1);
+    }
+
+    /**
+     * Measure a projection read path and assert it loaded no entities
+     */
+    private <T> T measureProjection(String path, Supplier<T> read) {
+        Measurement<T> measurement = measure(path, read);
+        assertThat(measurement.entityLoads()).as("%s entity loads", path).isZero();
+        assertThat(measurement.entityFetches()).as("%s entity fetches", path).isZero();
+        return measurement.result();
+    }
+
+    /**
+     * Run a read ITERATIONS times after one warm-up run, each with an empty persistence
+     * context, and log its statements, allocation and latency per read
+     */
+    private <T> Measurement<T> measure(String path, Supplier<T> read) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        entityManager.clear();
+        read.get();
+        statistics.clear();
+
+        T result = null;
+        long allocated = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            entityManager.clear();
+            result = read.get();
+        }
+        long nanos = System.nanoTime() - start;
+        allocated = threads.getThreadAllocatedBytes(threadId) - allocated;
+
+        log.info("{}: {} statements, {} bytes allocated, {} us per read", path,
+            statistics.getPrepareStatementCount() / ITERATIONS, allocated / ITERATIONS, nanos / ITERATIONS / 1_000.0);
+        return new Measurement<>(result, (int) statistics.getEntityLoadCount(), (int) statistics.getEntityFetchCount());
+    }
+
+    private record Measurement<T>(T result, int entityLoads, int entityFetches) {
+    }
+}
@@ -0,0 +1,360 @@
+package com.ecom.addressbook.service.impl;
+
+import com.ecom.addressbook.cache.AddressBookCache;
+import com.ecom.addressbook.cache.AddressBookCacheInvalidator;
+import com.ecom.addressbook.cache.AddressNotFoundCache;
+import com.ecom.addressbook.entity.Address;
+import com.ecom.addressbook.entity.AddressFingerprint;
+import com.ecom.addressbook.model.request.AddressRequest;
+import com.ecom.addressbook.model.response.AddressLookupResult;
+import com.ecom.addressbook.model.response.AddressResponse;
+import com.ecom.addressbook.model.response.BatchAddressResponse;
+import com.ecom.addressbook.model.response.BatchAddressResult;
+import com.ecom.addressbook.repository.AddressRepository;
+import com.ecom.addressbook.repository.ArchivedAddressRepository;
+import com.ecom.error.exception.BusinessException;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AddressServiceImplTest {
+
+    private static final UUID TENANT_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+    private static final List<String> CUSTOMER = List.of("CUSTOMER");
+
+    @Mock
+    private AddressRepository addressRepository;
+
+    @Mock
+    private ArchivedAddressRepository archivedAddressRepository;
+
+    @Mock
+    private AddressBookCache addressBookCache;
+
+    @Mock
+    private AddressBookCacheInvalidator addressBookCacheInvalidator;
+
+    @Mock
+    private AddressNotFoundCache addressNotFoundCache;
+
+    @InjectMocks
+    private AddressServiceImpl addressService;
+
+    @Test
+    void createAddress_Success() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        AddressRequest request = request("123 Main St", false);
+        when(addressRepository.saveAndFlush(any(Address.class)))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        AddressResponse response = addressService.createAddress(userId, TENANT_ID, userId, CUSTOMER, request);
+
+        // Then
+        assertThat(response.line1()).isEqualTo("123 Main St");
+        assertThat(response.isDefault()).isFalse();
+        verify(addressRepository, never()).clearDefaultAddresses(any(), any(), any());
+        verify(addressBookCacheInvalidator).invalidateAfterCommit(TENANT_ID, userId);
+    }
+
+    @Test
+    void createAddress_AsDefault_ClearsPreviousDefaultWithOneBulkUpdate() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        when(addressRepository.saveAndFlush(any(Address.class)))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        AddressResponse response = addressService.createAddress(
+            userId, TENANT_ID, userId, CUSTOMER, request("123 Main St", true));
+
+        // Then: a single UPDATE before the insert, no address is loaded
+        assertThat(response.isDefault()).isTrue();
+        InOrder order = inOrder(addressRepository);
+        order.verify(addressRepository).clearDefaultAddresses(eq(userId), eq(TENANT_ID), any(LocalDateTime.class));
+        order.verify(addressRepository).saveAndFlush(any(Address.class));
+        verify(addressRepository, never()).findByIdAndTenantIdAndDeletedFalse(any(), any());
+    }
+
+    @Test
+    void updateAddress_ToDefault_ClearsOtherDefaultsWithOneBulkUpdate() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        Address address = existingAddress(userId, false);
+        when(addressRepository.findByIdAndTenantIdAndDeletedFalse(address.getId(), TENANT_ID))
+            .thenReturn(Optional.of(address));
+        when(addressRepository.saveAndFlush(address)).thenReturn(address);
+
+        // When
+        AddressResponse response = addressService.updateAddress(
+            address.getId(), userId, TENANT_ID, CUSTOMER, request("1 New St", true));
+
+        // Then
+        assertThat(response.isDefault()).isTrue();
+        InOrder order = inOrder(addressRepository);
+        order.verify(addressRepository).clearOtherDefaultAddresses(
+            eq(userId), eq(TENANT_ID), eq(address.getId()), any(LocalDateTime.class));
+        order.verify(addressRepository).saveAndFlush(address);
+    }
+
+    @Test
+    void updateAddress_AlreadyDefault_DoesNotClearDefaults() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        Address address = existingAddress(userId, true);
+        when(addressRepository.findByIdAndTenantIdAndDeletedFalse(address.getId(), TENANT_ID))
+            .thenReturn(Optional.of(address));
+        when(addressRepository.saveAndFlush(address)).thenReturn(address);
+
+        // When
+        addressService.updateAddress(address.getId(), userId, TENANT_ID, CUSTOMER, request("1 New St", true));
+
+        // Then
+        verify(addressRepository, never()).clearOtherDefaultAddresses(any(), any(), any(), any());
+    }
+
+    @Test
+    void setDefaultAddress_AlreadyDefault_WritesNothing() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        Address address = existingAddress(userId, true);
+        when(addressRepository.findByIdAndTenantIdAndDeletedFalse(address.getId(), TENANT_ID))
+            .thenReturn(Optional.of(address));
+
+        // When
+        AddressResponse response = addressService.setDefaultAddress(address.getId(), userId, TENANT_ID, CUSTOMER);
+
+        // Then: no UPDATE, no flush, nothing to invalidate
+        assertThat(response.isDefault()).isTrue();
+        verify(addressRepository, never()).clearOtherDefaultAddresses(any(), any(), any(), any());
+        verify(addressRepository, never()).saveAndFlush(any());
+        verify(addressBookCacheInvalidator, never()).invalidateAfterCommit(any(), any());
+    }
+
+    @Test
+    void setDefaultAddress_ClearsTheOtherDefaultBeforeFlaggingThisOne() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        Address address = existingAddress(userId, false);
+        when(addressRepository.findByIdAndTenantIdAndDeletedFalse(address.getId(), TENANT_ID))
+            .thenReturn(Optional.of(address));
+        when(addressRepository.saveAndFlush(address)).thenReturn(address);
+
+        // When
+        AddressResponse response = addressService.setDefaultAddress(address.getId(), userId, TENANT_ID, CUSTOMER);
+
+        // Then: the previous default is cleared first, so the flush never meets it in idx_addresses_default_unique
+        assertThat(response.isDefault()).isTrue();
+        InOrder order = inOrder(addressRepository);
+        order.verify(addressRepository).clearOtherDefaultAddresses(
+            eq(userId), eq(TENANT_ID), eq(address.getId()), any(LocalDateTime.class));
+        order.verify(addressRepository).saveAndFlush(argThat(Address::getIsDefault));
+        verify(addressBookCacheInvalidator).invalidateAfterCommit(TENANT_ID, userId);
+    }
+
+    @Test
+    void setDefaultAddress_ConcurrentSwitchRejectedByTheIndex_IsDuplicate() {
+        // Given: another transaction committed a different default between the clear and the flush
+        UUID userId = UUID.randomUUID();
+        Address address = existingAddress(userId, false);
+        when(addressRepository.findByIdAndTenantIdAndDeletedFalse(address.getId(), TENANT_ID))
+            .thenReturn(Optional.of(address));
+        when(addressRepository.saveAndFlush(address)).thenThrow(uniqueViolation("idx_addresses_default_unique_p3"));
+
+        // When / Then
+        assertThatThrownBy(() -> addressService.setDefaultAddress(address.getId(), userId, TENANT_ID, CUSTOMER))
+            .isInstanceOf(BusinessException.class)
+            .hasMessageContaining("changed concurrently");
+        verify(addressBookCacheInvalidator, never()).invalidateAfterCommit(any(), any());
+    }
+
+    @Test
+    void createAddresses_ReportsResultPerItem() {
+        // Given: one address the user already has, one from another user, two identical in the batch
+        UUID userId = UUID.randomUUID();
+        UUID otherUserId = UUID.randomUUID();
+        List<AddressRequest> requests = List.of(
+            request("1 Main St", false),
+            new AddressRequest(otherUserId, "2 Main St", null, "NYC", "NY", "10001", "US", "Home", false),
+            request("9 Existing St", false),
+            request("1 MAIN ST ", false)
+        );
+        when(addressRepository.findByTenantIdAndUserIdInAndDeletedFalse(TENANT_ID, Set.of(userId)))
+            .thenReturn(List.of(activeKey(userId, AddressFingerprint.of("9 Existing St", "NYC", "10001", "US"))));
+        when(addressRepository.saveAllAndFlush(anyList()))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        BatchAddressResponse response = addressService.createAddresses(TENANT_ID, userId, CUSTOMER, requests);
+
+        // Then: results stay in request order, only the first address is inserted
+        assertThat(response.created()).isEqualTo(1);
+        assertThat(response.rejected()).isEqualTo(3);
+        assertThat(response.results()).extracting(BatchAddressResult::status).containsExactly(
+            BatchAddressResult.Status.CREATED,
+            BatchAddressResult.Status.UNAUTHORIZED,
+            BatchAddressResult.Status.DUPLICATE,
+            BatchAddressResult.Status.DUPLICATE
+        );
+        assertThat(response.results().get(0).address().line1()).isEqualTo("1 Main St");
+        verify(addressRepository).saveAllAndFlush(argThat(addresses -> addresses.spliterator().getExactSizeIfKnown() == 1));
+        verify(addressRepository, never()).clearDefaultAddressesForUsers(any(), any(), any());
+        verify(addressBookCacheInvalidator).invalidateAfterCommit(TENANT_ID, userId);
+    }
+
+    @Test
+    void createAddresses_LastDefaultInBatchWins() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        when(addressRepository.findByTenantIdAndUserIdInAndDeletedFalse(TENANT_ID, Set.of(userId)))
+            .thenReturn(List.of());
+        when(addressRepository.saveAllAndFlush(anyList()))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        BatchAddressResponse response = addressService.createAddresses(
+            TENANT_ID, userId, CUSTOMER, List.of(request("1 Main St", true), request("2 Main St", true)));
+
+        // Then: previous defaults cleared once, before the insert
+        assertThat(response.results()).extracting(result -> result.address().isDefault()).containsExactly(false, true);
+        InOrder order = inOrder(addressRepository);
+        order.verify(addressRepository).clearDefaultAddressesForUsers(eq(TENANT_ID), eq(Set.of(userId)), any(LocalDateTime.class));
+        order.verify(addressRepository).saveAllAndFlush(anyList());
+    }
+
+    @Test
+    void getAddressById_AddressOfAnotherTenant_IsNotFound() {
+        // Given: the tenant-qualified lookup finds nothing for an ID that exists in another tenant
+        UUID userId = UUID.randomUUID();
+        UUID addressId = UUID.randomUUID();
+        when(addressRepository.findActiveResponseByIdAndTenantId(addressId, TENANT_ID)).thenReturn(Optional.empty());
+
+        // When / Then: indistinguishable from a missing address, and remembered as missing for this tenant only
+        assertThatThrownBy(() -> addressService.getAddressById(addressId, userId, TENANT_ID, CUSTOMER, false))
+            .isInstanceOf(BusinessException.class)
+            .hasMessageContaining("Address not found");
+        verify(addressNotFoundCache).markMissing(TENANT_ID, addressId);
+    }
+
+    @Test
+    void updateAddress_AddressOfAnotherTenant_IsNotFound() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        UUID addressId = UUID.randomUUID();
+        when(addressRepository.findByIdAndTenantIdAndDeletedFalse(addressId, TENANT_ID)).thenReturn(Optional.empty());
+
+        // When / Then
+        assertThatThrownBy(() -> addressService.updateAddress(addressId, userId, TENANT_ID, CUSTOMER, request("1 New St", false)))
+            .isInstanceOf(BusinessException.class)
+            .hasMessageContaining("Address not found");
+        verify(addressRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void deleteAddress_AddressOfAnotherTenant_IsNotFound() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        UUID addressId = UUID.randomUUID();
+        when(addressRepository.findByIdAndTenantIdAndDeletedFalse(addressId, TENANT_ID)).thenReturn(Optional.empty());
+
+        // When / Then
+        assertThatThrownBy(() -> addressService.deleteAddress(addressId, userId, TENANT_ID, CUSTOMER))
+            .isInstanceOf(BusinessException.class)
+            .hasMessageContaining("Address not found");
+        verify(addressRepository, never()).save(any());
+    }
+
+    @Test
+    void lookupAddresses_AddressesOfAnotherTenantAreReportedAsNotFound() {
+        // Given: only the caller's own address is returned by the tenant-qualified IN query
+        UUID userId = UUID.randomUUID();
+        Address own = existingAddress(userId, false);
+        UUID otherTenantAddressId = UUID.randomUUID();
+        when(addressRepository.findActiveResponsesByIdIn(Set.of(own.getId(), otherTenantAddressId), TENANT_ID))
+            .thenReturn(List.of(response(own)));
+
+        // When
+        List<AddressLookupResult> results = addressService.lookupAddresses(
+            List.of(own.getId(), otherTenantAddressId), userId, TENANT_ID, CUSTOMER);
+
+        // Then
+        assertThat(results).extracting(AddressLookupResult::found).containsExactly(true, false);
+        assertThat(results.get(1).address()).isNull();
+    }
+
+    private static AddressRepository.ActiveAddressKey activeKey(UUID userId, long fingerprint) {
+        return new AddressRepository.ActiveAddressKey() {
+            @Override
+            public UUID getUserId() {
+                return userId;
+            }
+
+            @Override
+            public long getAddressFingerprint() {
+                return fingerprint;
+            }
+        };
+    }
+
+    /**
+     * What Spring translates a PostgreSQL unique violation (23505) on the given index into
+     */
+    private static DataIntegrityViolationException uniqueViolation(String index) {
+        SQLException sqlException = new SQLException(
+            "duplicate key value violates unique constraint \"" + index + "\"", "23505");
+        return new DataIntegrityViolationException("could not execute statement",
+            new ConstraintViolationException("could not execute statement", sqlException, index));
+    }
+
+    private static AddressRequest request(String line1, boolean isDefault) {
+        return new AddressRequest(null, line1, null, "NYC", "NY", "10001", "US", "Home", isDefault);
+    }
+
+    private static AddressResponse response(Address address) {
+        return new AddressResponse(address.getId(), address.getUserId(), address.getTenantId(), address.getLine1(),
+            null, address.getCity(), null, address.getPostcode(), address.getCountry(), null, address.getIsDefault(),
+            false, null, address.getCreatedAt(), address.getUpdatedAt());
+    }
+
+    private static Address existingAddress(UUID userId, boolean isDefault) {
+        LocalDateTime created = LocalDateTime.now().minusDays(1);
+        return Address.builder()
+            .id(UUID.randomUUID())
+            .userId(userId)
+            .tenantId(TENANT_ID)
+            .line1("1 Old St")
+            .city("NYC")
+            .postcode("10001")
+            .country("US")
+            .addressFingerprint(1L)
+            .isDefault(isDefault)
+            .createdAt(created)
+            .updatedAt(created)
+            .build();
+    }
+}